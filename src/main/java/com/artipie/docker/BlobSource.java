@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Source of blob that could be saved to {@link Storage} at desired location.
+ *
+ * @since 0.6
+ */
+public interface BlobSource {
+
+    /**
+     * Blob digest.
+     *
+     * @return Digest.
+     */
+    Digest digest();
+
+    /**
+     * Save blob to storage.
+     *
+     * @param storage Storage.
+     * @param key Destination for blob content.
+     * @return Completion of save operation.
+     */
+    CompletionStage<Void> saveTo(Storage storage, Key key);
+
+    /**
+     * Check if source saves verified blob to storage atomically,
+     * so store may save it straight to blob key without staging.
+     * Not atomic by default.
+     *
+     * @param storage Storage.
+     * @return True if saving to storage is atomic.
+     */
+    default CompletionStage<Boolean> atomic(final Storage storage) {
+        return CompletableFuture.completedFuture(false);
+    }
+
+    /**
+     * Notify source that it is not saved by store, as blob is already stored
+     * or being stored from another source, so source may release its content.
+     * Does nothing by default.
+     */
+    default void skip() {
+        // nothing to release by default
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker;
+
+import com.artipie.asto.Content;
+import com.artipie.docker.misc.StreamedJson;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+/**
+ * Docker registry repositories catalog page.
+ * See <a href="https://docs.docker.com/registry/spec/api/#catalog">Catalog</a>.
+ *
+ * @since 0.6
+ */
+public interface Catalog {
+
+    /**
+     * Catalog in JSON format: <code>{"repositories":[&lt;name&gt;,...]}</code>.
+     *
+     * @return Catalog JSON.
+     */
+    Content json();
+
+    /**
+     * Repository name to continue listing from, which is the last name of this page.
+     *
+     * @return Last name of this page if there are more repositories after it, empty otherwise.
+     */
+    Optional<RepoName> next();
+
+    /**
+     * Catalog page from sorted repository names.
+     * JSON is streamed by batches of names, see {@link StreamedJson}.
+     *
+     * @since 0.6
+     */
+    final class From implements Catalog {
+
+        /**
+         * Sorted repository names.
+         */
+        private final Iterable<RepoName> names;
+
+        /**
+         * Repository name to continue listing from.
+         */
+        private final Optional<RepoName> nxt;
+
+        /**
+         * Ctor.
+         *
+         * @param names Sorted repository names.
+         * @param nxt Name to continue listing from, empty if there are no more repositories.
+         */
+        public From(final Iterable<RepoName> names, final Optional<RepoName> nxt) {
+            this.names = names;
+            this.nxt = nxt;
+        }
+
+        @Override
+        public Content json() {
+            return new StreamedJson(
+                "repositories",
+                () -> StreamSupport.stream(this.names.spliterator(), false)
+                    .map(RepoName::value)
+                    .iterator()
+            ).content();
+        }
+
+        @Override
+        public Optional<RepoName> next() {
+            return this.nxt;
+        }
+    }
+}
@@ -24,6 +24,9 @@
 
 package com.artipie.docker;
 
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
 /**
  * Docker registry storage main object.
  * @see com.artipie.docker.asto.AstoDocker
@@ -37,4 +40,12 @@ public interface Docker {
      * @return Repository object
      */
     Repo repo(RepoName name);
+
+    /**
+     * Docker repositories catalog page.
+     * @param from Repository name to list repositories after, empty to list from the beginning
+     * @param limit Maximum number of repositories to list
+     * @return Catalog page
+     */
+    CompletionStage<Catalog> catalog(Optional<RepoName> from, int limit);
 }
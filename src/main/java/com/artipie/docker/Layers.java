@@ -24,7 +24,6 @@
 
 package com.artipie.docker;
 
-import com.artipie.asto.Content;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
@@ -38,11 +37,10 @@ public interface Layers {
     /**
      * Add layer to repository.
      *
-     * @param content Layer content.
-     * @param digest Layer digest.
+     * @param source Layer source.
      * @return Added layer blob.
      */
-    CompletionStage<Blob> put(Content content, Digest digest);
+    CompletionStage<Blob> put(BlobSource source);
 
     /**
      * Find layer by digest.
@@ -52,6 +50,25 @@ public interface Layers {
      */
     CompletionStage<Optional<Blob>> get(Digest digest);
 
+    /**
+     * Find layer by digest in order to read its content.
+     * Unlike {@link #get(Digest)} implementation may start reading content right away,
+     * so content of found blob is expected to be read.
+     *
+     * @param digest Layer digest.
+     * @return Flow with blob, or empty if absent
+     */
+    CompletionStage<Optional<Blob>> pull(Digest digest);
+
+    /**
+     * Delete layer by digest.
+     * Read-only layers fail with {@link com.artipie.docker.error.ReadOnlyException}.
+     *
+     * @param digest Layer digest.
+     * @return Completion of deletion.
+     */
+    CompletionStage<Void> delete(Digest digest);
+
     /**
      * Abstract decorator for Layers.
      *
@@ -74,13 +91,23 @@ public interface Layers {
         }
 
         @Override
-        public final CompletionStage<Blob> put(final Content content, final Digest digest) {
-            return this.layers.put(content, digest);
+        public final CompletionStage<Blob> put(final BlobSource source) {
+            return this.layers.put(source);
         }
 
         @Override
         public final CompletionStage<Optional<Blob>> get(final Digest digest) {
             return this.layers.get(digest);
         }
+
+        @Override
+        public final CompletionStage<Optional<Blob>> pull(final Digest digest) {
+            return this.layers.pull(digest);
+        }
+
+        @Override
+        public final CompletionStage<Void> delete(final Digest digest) {
+            return this.layers.delete(digest);
+        }
     }
 }
@@ -28,6 +28,7 @@ import com.artipie.asto.Content;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -54,6 +55,54 @@ public interface Manifests {
      */
     CompletionStage<Optional<Manifest>> get(ManifestRef ref);
 
+    /**
+     * List tags in lexical order.
+     *
+     * @param from Tag to list tags after, empty to list from the beginning.
+     * @param limit Maximum number of tags to list.
+     * @return Tags page.
+     */
+    CompletionStage<Tags> tags(Optional<Tag> from, int limit);
+
+    /**
+     * Delete manifest by reference.
+     * Deleting by tag removes the tag only, deleting by digest removes manifest revision
+     * together with all tags pointing to it.
+     * Read-only manifests fail with {@link com.artipie.docker.error.ReadOnlyException}.
+     *
+     * @param ref Manifest reference.
+     * @return Completion of deletion.
+     */
+    CompletionStage<Void> delete(ManifestRef ref);
+
+    /**
+     * Save manifest converted to other format, so it may be pulled by its digest.
+     * Converted manifest is not a revision of repository, it is found by
+     * {@link #getConverted(Digest)} only while its original manifest exists and,
+     * if it was converted from manifest found by tag, while the tag points to it.
+     * Repositories not storing converted manifests complete without saving.
+     *
+     * @param ref Reference original manifest was found by.
+     * @param origin Original manifest digest.
+     * @param converted Converted manifest.
+     * @return Completion of saving.
+     */
+    default CompletionStage<Void> putConverted(
+        final ManifestRef ref, final Digest origin, final Manifest converted
+    ) {
+        return CompletableFuture.allOf();
+    }
+
+    /**
+     * Get converted manifest by its digest.
+     *
+     * @param digest Converted manifest digest.
+     * @return Converted manifest, empty if absent or its original manifest has changed.
+     */
+    default CompletionStage<Optional<Manifest>> getConverted(final Digest digest) {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
     /**
      * Abstract decorator for Manifests.
      *
@@ -84,5 +133,27 @@ public interface Manifests {
         public final CompletionStage<Optional<Manifest>> get(final ManifestRef ref) {
             return this.manifests.get(ref);
         }
+
+        @Override
+        public final CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+            return this.manifests.tags(from, limit);
+        }
+
+        @Override
+        public final CompletionStage<Void> delete(final ManifestRef ref) {
+            return this.manifests.delete(ref);
+        }
+
+        @Override
+        public final CompletionStage<Void> putConverted(
+            final ManifestRef ref, final Digest origin, final Manifest converted
+        ) {
+            return this.manifests.putConverted(ref, origin, converted);
+        }
+
+        @Override
+        public final CompletionStage<Optional<Manifest>> getConverted(final Digest digest) {
+            return this.manifests.getConverted(digest);
+        }
     }
 }
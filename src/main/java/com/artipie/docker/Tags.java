@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker;
+
+import com.artipie.asto.Content;
+import com.artipie.docker.misc.StreamedJson;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+/**
+ * Docker repository tags page.
+ * See <a href="https://docs.docker.com/registry/spec/api/#listing-image-tags">Listing Image Tags</a>.
+ *
+ * @since 0.6
+ */
+public interface Tags {
+
+    /**
+     * Tags in JSON format: <code>{"name":"&lt;name&gt;","tags":[&lt;tag&gt;,...]}</code>.
+     *
+     * @return Tags JSON.
+     */
+    Content json();
+
+    /**
+     * Tag to continue listing from, which is the last tag of this page.
+     *
+     * @return Last tag of this page if there are more tags after it, empty otherwise.
+     */
+    Optional<Tag> next();
+
+    /**
+     * Tags page from sorted tags.
+     * JSON is streamed by batches of tags, see {@link StreamedJson}.
+     *
+     * @since 0.6
+     */
+    final class From implements Tags {
+
+        /**
+         * Repository name.
+         */
+        private final RepoName name;
+
+        /**
+         * Sorted tags.
+         */
+        private final Iterable<Tag> tags;
+
+        /**
+         * Tag to continue listing from.
+         */
+        private final Optional<Tag> nxt;
+
+        /**
+         * Ctor.
+         *
+         * @param name Repository name.
+         * @param tags Sorted tags.
+         * @param nxt Tag to continue listing from, empty if there are no more tags.
+         */
+        public From(final RepoName name, final Iterable<Tag> tags, final Optional<Tag> nxt) {
+            this.name = name;
+            this.tags = tags;
+            this.nxt = nxt;
+        }
+
+        @Override
+        public Content json() {
+            return new StreamedJson(
+                String.format("\"name\":\"%s\",", this.name.value()),
+                "tags",
+                () -> StreamSupport.stream(this.tags.spliterator(), false)
+                    .map(Tag::value)
+                    .iterator()
+            ).content();
+        }
+
+        @Override
+        public Optional<Tag> next() {
+            return this.nxt;
+        }
+    }
+}
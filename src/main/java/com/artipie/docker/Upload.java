@@ -58,6 +58,15 @@ public interface Upload {
      */
     CompletionStage<Long> append(Publisher<ByteBuffer> chunk);
 
+    /**
+     * Put uploaded content to layers, checking it against expected digest.
+     *
+     * @param layers Layers to put uploaded content to.
+     * @param digest Expected digest of uploaded content.
+     * @return Completion or error signal.
+     */
+    CompletionStage<Void> putTo(Layers layers, Digest digest);
+
     /**
      * Get uploaded content.
      *
@@ -27,6 +27,7 @@ import com.artipie.asto.Content;
 import com.artipie.asto.Storage;
 import com.artipie.docker.Blob;
 import com.artipie.docker.Digest;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -69,6 +70,10 @@ public final class AstoBlob implements Blob {
 
     @Override
     public CompletionStage<Content> content() {
-        return this.storage.value(new BlobKey(this.dig));
+        return this.storage.value(new BlobKey(this.dig)).thenCompose(
+            content -> content.size()
+                .<CompletionStage<Content>>map(size -> CompletableFuture.completedFuture(content))
+                .orElseGet(() -> this.size().thenApply(size -> new Content.From(size, content)))
+        );
     }
 }
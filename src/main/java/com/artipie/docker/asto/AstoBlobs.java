@@ -25,48 +25,99 @@
 package com.artipie.docker.asto;
 
 import com.artipie.asto.Content;
-import com.artipie.asto.Remaining;
+import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
-import com.artipie.asto.ext.Digests;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
-import io.reactivex.Flowable;
-import java.nio.ByteBuffer;
-import java.security.MessageDigest;
+import com.artipie.docker.misc.BoundedCache;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import org.cactoos.io.BytesOf;
-import org.cactoos.text.HexOf;
-import org.reactivestreams.Publisher;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 /**
  * Asto {@link BlobStore} implementation.
+ * Blob is written to a staging key first and moved to its digest key
+ * only after it was saved and verified successfully,
+ * so a partial or corrupted blob is never visible by its digest.
+ * Source which saves verified data atomically, such as single chunk upload
+ * moved within the same storage, is saved straight to its digest key.
+ * Concurrent writes of the same digest are coalesced: the first one
+ * writes the blob while others wait for its result and fail if it fails,
+ * as their sources were already skipped,
+ * and a blob that already exists is not written again.
+ * Source which is not written is notified by {@link BlobSource#skip()}.
+ * Existence of blobs is cached, so repeated checks do not hit the storage.
+ * Found and re-pushed blobs are touched for {@link BlobsGc}, so blob checked
+ * before its manifest push is not deleted as unreferenced meanwhile.
+ * Touch marker keeps time of the touch, it is rewritten at most once
+ * per touch interval by this instance, so collector treats blob as used
+ * for touch interval after marker time.
  * @since 0.1
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class AstoBlobs implements BlobStore {
 
+    /**
+     * Minimal interval between touches of a blob.
+     */
+    static final Duration INTERVAL = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of remembered touches.
+     */
+    private static final int TOUCHES = 10_000;
+
     /**
      * Storage.
      */
     private final Storage asto;
 
+    /**
+     * Blob writes in progress by digest.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Blob>> inflight;
+
+    /**
+     * Blob existence cache.
+     */
+    private final ExistenceCache cache;
+
+    /**
+     * Time of last touch in milliseconds by digest.
+     */
+    private final BoundedCache<String, Long> touched;
+
     /**
      * Ctor.
      * @param asto Storage
      */
     public AstoBlobs(final Storage asto) {
         this.asto = asto;
+        this.inflight = new ConcurrentHashMap<>();
+        this.cache = new ExistenceCache();
+        this.touched = new BoundedCache<>(AstoBlobs.TOUCHES);
     }
 
     @Override
     public CompletionStage<Optional<Blob>> blob(final Digest digest) {
-        return this.asto.exists(new BlobKey(digest)).thenApply(
+        return this.cache.exists(
+            digest, () -> this.asto.exists(new BlobKey(digest))
+        ).thenCompose(
             exists -> {
-                final Optional<Blob> blob;
+                final CompletionStage<Optional<Blob>> blob;
                 if (exists) {
-                    blob = Optional.of(new AstoBlob(this.asto, digest));
+                    blob = this.touch(digest).thenApply(
+                        nothing -> Optional.of(new AstoBlob(this.asto, digest))
+                    );
                 } else {
-                    blob = Optional.empty();
+                    blob = CompletableFuture.completedFuture(Optional.empty());
                 }
                 return blob;
             }
@@ -74,24 +125,114 @@ public final class AstoBlobs implements BlobStore {
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content blob, final Digest digest) {
-        final MessageDigest sha = Digests.SHA256.get();
-        final Publisher<ByteBuffer> checked = Flowable.fromPublisher(blob).map(
-            buf -> {
-                sha.update(new Remaining(buf, true).bytes());
-                return buf;
-            }
-        ).doOnTerminate(
-            () -> {
-                final String calculated = new HexOf(new BytesOf(sha.digest())).asString();
-                if (!digest.hex().equals(calculated)) {
-                    throw new IllegalArgumentException("Digests differ");
+    public CompletionStage<Blob> put(final BlobSource source) {
+        final Digest digest = source.digest();
+        final CompletableFuture<Blob> write = new CompletableFuture<>();
+        final CompletableFuture<Blob> running = this.inflight.putIfAbsent(digest.string(), write);
+        final CompletionStage<Blob> result;
+        if (running == null) {
+            this.blob(digest).thenCompose(
+                found -> found.<CompletionStage<Blob>>map(
+                    blob -> {
+                        source.skip();
+                        return CompletableFuture.completedFuture(blob);
+                    }
+                ).orElseGet(() -> this.write(source))
+            ).whenComplete(
+                (blob, throwable) -> {
+                    this.inflight.remove(digest.string(), write);
+                    if (throwable == null) {
+                        write.complete(blob);
+                    } else {
+                        write.completeExceptionally(throwable);
+                    }
+                }
+            );
+            result = write;
+        } else {
+            source.skip();
+            result = running;
+        }
+        return result;
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final Digest digest) {
+        return this.asto.delete(new BlobKey(digest)).thenRun(() -> this.cache.remove(digest));
+    }
+
+    /**
+     * Touch blob unless it was touched recently.
+     * Failure to touch is ignored, it must not fail the read.
+     *
+     * @param digest Blob digest.
+     * @return Completion of touch.
+     */
+    private CompletionStage<Void> touch(final Digest digest) {
+        final long now = System.currentTimeMillis();
+        final CompletionStage<Void> res;
+        if (this.touched.get(digest.string()).orElse(0L) + AstoBlobs.INTERVAL.toMillis() > now) {
+            res = CompletableFuture.allOf();
+        } else {
+            this.touched.put(digest.string(), now);
+            res = this.asto.save(
+                new TouchKey(digest),
+                new Content.From(String.valueOf(now).getBytes(StandardCharsets.US_ASCII))
+            ).handle((nothing, throwable) -> nothing);
+        }
+        return res;
+    }
+
+    /**
+     * Write blob to blob key, atomic source is saved there directly.
+     *
+     * @param source Blob source.
+     * @return Written blob.
+     */
+    private CompletionStage<Blob> write(final BlobSource source) {
+        final Digest digest = source.digest();
+        return source.atomic(this.asto).thenCompose(
+            atomic -> {
+                final CompletionStage<Void> res;
+                if (atomic) {
+                    res = source.saveTo(this.asto, new BlobKey(digest));
+                } else {
+                    res = this.staged(source);
                 }
+                return res;
+            }
+        ).thenApply(
+            nothing -> {
+                this.cache.present(digest);
+                return new AstoBlob(this.asto, digest);
             }
         );
-        return this.asto.save(
-            new BlobKey(digest),
-            new Content.From(blob.size(), checked)
-        ).thenApply(ignored -> new AstoBlob(this.asto, digest));
+    }
+
+    /**
+     * Write blob to staging key and move it to blob key after it was saved.
+     *
+     * @param source Blob source.
+     * @return Completion of write.
+     */
+    private CompletionStage<Void> staged(final BlobSource source) {
+        final Key staged = new Key.From(
+            RegistryRoot.V2, "_staging", UUID.randomUUID().toString()
+        );
+        return source.saveTo(this.asto, staged)
+            .thenCompose(nothing -> this.asto.move(staged, new BlobKey(source.digest())))
+            .handle(
+                (nothing, throwable) -> {
+                    final CompletionStage<Void> result;
+                    if (throwable == null) {
+                        result = CompletableFuture.allOf();
+                    } else {
+                        result = this.asto.delete(staged)
+                            .handle((deleted, ignored) -> deleted)
+                            .thenCompose(deleted -> CompletableFuture.failedFuture(throwable));
+                    }
+                    return result;
+                }
+            ).thenCompose(Function.identity());
     }
 }
@@ -25,9 +25,13 @@
 package com.artipie.docker.asto;
 
 import com.artipie.asto.Storage;
+import com.artipie.docker.Catalog;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Asto {@link Docker} implementation.
@@ -40,16 +44,63 @@ public final class AstoDocker implements Docker {
      */
     private final Storage asto;
 
+    /**
+     * Blob store shared by all repositories.
+     */
+    private final BlobStore blobs;
+
+    /**
+     * Manifest links cache shared by all repositories.
+     */
+    private final LinksCache links;
+
+    /**
+     * Repositories index shared by all repositories.
+     */
+    private final RepoIndex repos;
+
     /**
      * Ctor.
      * @param asto Asto storage
      */
     public AstoDocker(final Storage asto) {
+        this(asto, new AstoBlobs(asto), new LinksCache(), new RepoIndex(asto));
+    }
+
+    /**
+     * Ctor.
+     * @param asto Asto storage
+     * @param blobs Blob store shared by all repositories
+     * @param links Manifest links cache shared by all repositories
+     * @param repos Repositories index shared by all repositories
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private AstoDocker(
+        final Storage asto, final BlobStore blobs, final LinksCache links, final RepoIndex repos
+    ) {
         this.asto = asto;
+        this.blobs = blobs;
+        this.links = links;
+        this.repos = repos;
     }
 
     @Override
     public Repo repo(final RepoName name) {
-        return new AstoRepo(this.asto, new AstoBlobs(this.asto), name);
+        return new AstoRepo(this.asto, this.blobs, this.links, this.repos, name);
+    }
+
+    /**
+     * Blobs garbage collector.
+     * @param grace Time unreferenced blob is kept before deletion,
+     *  it should be longer than time between blob upload and manifest push
+     * @return Garbage collector
+     */
+    public BlobsGc collector(final Duration grace) {
+        return new BlobsGc(this.asto, this.blobs, grace);
+    }
+
+    @Override
+    public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+        return this.repos.catalog(from, limit);
     }
 }
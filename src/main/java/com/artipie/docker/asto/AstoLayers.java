@@ -24,8 +24,8 @@
 
 package com.artipie.docker.asto;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
 import java.util.Optional;
@@ -33,6 +33,8 @@ import java.util.concurrent.CompletionStage;
 
 /**
  * Asto implementation of {@link Layers}.
+ * Blobs are stored once per registry and shared by content, so deleting a layer
+ * removes the blob for every repository referencing it.
  *
  * @since 0.3
  */
@@ -53,12 +55,22 @@ public final class AstoLayers implements Layers {
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
-        return this.blobs.put(content, digest);
+    public CompletionStage<Blob> put(final BlobSource source) {
+        return this.blobs.put(source);
     }
 
     @Override
     public CompletionStage<Optional<Blob>> get(final Digest digest) {
         return this.blobs.blob(digest);
     }
+
+    @Override
+    public CompletionStage<Optional<Blob>> pull(final Digest digest) {
+        return this.get(digest);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final Digest digest) {
+        return this.blobs.delete(digest);
+    }
 }
@@ -30,9 +30,13 @@ import com.artipie.asto.ext.PublisherAs;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Manifests;
 import com.artipie.docker.RepoName;
-import com.artipie.docker.manifest.JsonManifest;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
+import com.artipie.docker.TrustedBlobSource;
+import com.artipie.docker.manifest.ChildManifest;
 import com.artipie.docker.manifest.Layer;
 import com.artipie.docker.manifest.Manifest;
+import com.artipie.docker.manifest.ParsedManifest;
 import com.artipie.docker.ref.ManifestRef;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
@@ -42,11 +46,35 @@ import java.util.stream.Stream;
 
 /**
  * Asto implementation of {@link Manifests}.
+ * <p>
+ * Converted manifest content is stored once per registry by its digest
+ * in <code>_converted</code> area, apart from blobs, so it is not taken for unreferenced blob.
+ * Repository keeps link from converted digest to original digest in its
+ * <code>_manifests/_converted</code> directory, with tag original manifest was found by.
+ * Link is checked on read and removed once original revision is deleted or the tag moves.
+ * </p>
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public final class AstoManifests implements Manifests {
 
+    /**
+     * Converted manifests area name.
+     */
+    private static final String AREA = "_converted";
+
+    /**
+     * Converted manifest link file name.
+     */
+    private static final String POINTER = "link";
+
+    /**
+     * Converted manifest source tag file name.
+     */
+    private static final String SOURCE = "tag";
+
     /**
      * Asto storage.
      */
@@ -62,6 +90,16 @@ public final class AstoManifests implements Manifests {
      */
     private final RepoName name;
 
+    /**
+     * Manifest links cache.
+     */
+    private final LinksCache cache;
+
+    /**
+     * Registry repositories index.
+     */
+    private final RepoIndex repos;
+
     /**
      * Ctor.
      *
@@ -70,24 +108,42 @@ public final class AstoManifests implements Manifests {
      * @param name Repository name
      */
     public AstoManifests(final Storage asto, final BlobStore blobs, final RepoName name) {
+        this(asto, blobs, name, new LinksCache(), new RepoIndex(asto));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param asto Asto storage
+     * @param blobs Blobs storage.
+     * @param name Repository name
+     * @param cache Manifest links cache.
+     * @param repos Registry repositories index.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    AstoManifests(
+        final Storage asto, final BlobStore blobs, final RepoName name, final LinksCache cache,
+        final RepoIndex repos
+    ) {
         this.asto = asto;
         this.blobs = blobs;
         this.name = name;
+        this.cache = cache;
+        this.repos = repos;
     }
 
     @Override
     public CompletionStage<Manifest> put(final ManifestRef ref, final Content content) {
         return new PublisherAs(content).bytes().thenCompose(
-            bytes -> {
-                final Digest digest = new Digest.Sha256(bytes);
-                return this.blobs.put(new Content.From(bytes), digest)
-                    .thenApply(blob -> new JsonManifest(digest, bytes))
-                    .thenCompose(
-                        manifest -> this.validate(manifest)
-                            .thenCompose(nothing -> this.addManifestLinks(ref, digest))
-                            .thenApply(nothing -> manifest)
-                    );
-            }
+            bytes -> this.blobs.put(new TrustedBlobSource(bytes))
+                .thenApply(blob -> new ParsedManifest(blob.digest(), bytes))
+                .thenCompose(
+                    manifest -> this.validate(manifest)
+                        .thenCompose(nothing -> this.addManifestLinks(ref, manifest.digest()))
+                        .thenCompose(nothing -> this.index(ref, manifest.digest()))
+                        .thenCompose(nothing -> this.repos.add(this.name))
+                        .thenApply(nothing -> manifest)
+                )
         );
     }
 
@@ -103,7 +159,7 @@ public final class AstoManifests implements Manifests {
                                     .thenApply(PublisherAs::new)
                                     .thenCompose(PublisherAs::bytes)
                                     .<Manifest>thenApply(
-                                        bytes -> new JsonManifest(blob.digest(), bytes)
+                                        bytes -> new ParsedManifest(blob.digest(), bytes)
                                     )
                                     .thenApply(Optional::of)
                             )
@@ -113,17 +169,204 @@ public final class AstoManifests implements Manifests {
         );
     }
 
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        return new TagIndex(this.asto, this.root()).tags(this.name, from, limit);
+    }
+
+    /**
+     * Tag revisions index of repository,
+     * to find tags ever pointed to revision and revisions ever pointed by tag.
+     *
+     * @return Tag revisions.
+     */
+    public TagRevisions revisions() {
+        return new TagRevisions(this.asto, this.root());
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final ManifestRef ref) {
+        final Digest.FromString digest = new Digest.FromString(ref.string());
+        final CompletionStage<Void> res;
+        if (digest.valid()) {
+            res = this.revisions().tags(digest).thenCompose(
+                tags -> CompletableFuture.allOf(
+                    tags.stream()
+                        .map(tag -> this.unlink(tag, digest).toCompletableFuture())
+                        .toArray(CompletableFuture[]::new)
+                )
+            ).thenCompose(nothing -> this.remove(new ManifestRef.FromDigest(digest)))
+                .thenCompose(nothing -> this.prune());
+        } else {
+            res = this.untag(new Tag.Valid(ref.string()));
+        }
+        return res;
+    }
+
+    @Override
+    public CompletionStage<Void> putConverted(
+        final ManifestRef ref, final Digest origin, final Manifest converted
+    ) {
+        final Key root = this.converted(converted.digest());
+        final Key source = new Key.From(root, AstoManifests.SOURCE);
+        final Tag.Valid tag = new Tag.Valid(ref.string());
+        return new PublisherAs(converted.content()).bytes().thenCompose(
+            bytes -> this.asto.save(
+                AstoManifests.data(converted.digest()), new Content.From(bytes)
+            )
+        ).thenCompose(
+            nothing -> {
+                final CompletionStage<Void> res;
+                if (tag.valid()) {
+                    res = this.asto.save(source, AstoManifests.ascii(tag.value()));
+                } else {
+                    res = this.asto.delete(source).handle((deleted, throwable) -> deleted);
+                }
+                return res;
+            }
+        ).thenCompose(
+            nothing -> this.asto.save(
+                new Key.From(root, AstoManifests.POINTER), AstoManifests.ascii(origin.string())
+            )
+        );
+    }
+
+    @Override
+    public CompletionStage<Optional<Manifest>> getConverted(final Digest digest) {
+        final Key root = this.converted(digest);
+        final Key link = new Key.From(root, AstoManifests.POINTER);
+        return this.asto.exists(link).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<Manifest>> res;
+                if (exists) {
+                    res = this.text(link)
+                        .thenCompose(origin -> this.current(root, new Digest.FromString(origin)))
+                        .thenCompose(current -> this.variant(root, digest, current));
+                } else {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Unlink tag from revision being deleted.
+     * Tag is removed if it currently points to revision,
+     * otherwise only revision entry of tag index is removed.
+     *
+     * @param tag Tag.
+     * @param digest Revision digest.
+     * @return Completion of unlinking.
+     */
+    private CompletionStage<Void> unlink(final Tag tag, final Digest digest) {
+        return this.readLink(new ManifestRef.FromTag(tag)).thenCompose(
+            current -> {
+                final CompletionStage<Void> res;
+                if (current.map(Digest::string).equals(Optional.of(digest.string()))) {
+                    res = this.untag(tag);
+                } else {
+                    res = this.revisions().remove(tag, digest);
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Remove tag with its links and index entries.
+     *
+     * @param tag Tag.
+     * @return Completion of removal.
+     */
+    private CompletionStage<Void> untag(final Tag tag) {
+        final Key key = this.link(new ManifestRef.FromTag(tag));
+        return this.revisions().clear(tag)
+            .thenRun(() -> this.cache.remove(key))
+            .thenCompose(nothing -> new TagIndex(this.asto, this.root()).remove(tag));
+    }
+
+    /**
+     * Remove repository from registry repositories index
+     * if no manifest revision is left in it.
+     *
+     * @return Completion of removal.
+     */
+    private CompletionStage<Void> prune() {
+        return this.asto.list(new Key.From(this.root(), "revisions")).thenCompose(
+            keys -> {
+                final CompletionStage<Void> res;
+                if (keys.stream().anyMatch(key -> key.string().endsWith("/link"))) {
+                    res = CompletableFuture.allOf();
+                } else {
+                    res = this.repos.remove(this.name);
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Remove link by manifest reference if exists.
+     *
+     * @param ref Manifest reference.
+     * @return Completion of removal.
+     */
+    private CompletionStage<Void> remove(final ManifestRef ref) {
+        final Key key = this.link(ref);
+        return this.asto.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = this.asto.delete(key);
+                } else {
+                    res = CompletableFuture.allOf();
+                }
+                return res;
+            }
+        ).thenRun(() -> this.cache.remove(key));
+    }
+
+    /**
+     * Add tag to tags index and revision to tag revisions
+     * if manifest reference is a tag.
+     *
+     * @param ref Manifest reference.
+     * @param digest Manifest digest.
+     * @return Completion of index update.
+     */
+    private CompletionStage<Void> index(final ManifestRef ref, final Digest digest) {
+        final Tag.Valid tag = new Tag.Valid(ref.string());
+        final CompletionStage<Void> res;
+        if (tag.valid()) {
+            res = new TagIndex(this.asto, this.root()).add(tag)
+                .thenCompose(nothing -> this.revisions().add(tag, digest));
+        } else {
+            res = CompletableFuture.allOf();
+        }
+        return res;
+    }
+
     /**
      * Validates manifest by checking all referenced blobs exist.
+     * Manifest list or image index references child manifests,
+     * which are checked by digest instead of config and layers.
      *
      * @param manifest Manifest.
      * @return Validation completion.
      */
     private CompletionStage<Void> validate(final Manifest manifest) {
-        final Stream<Digest> digests = Stream.concat(
-            Stream.of(manifest.config()),
-            manifest.layers().stream().filter(layer -> layer.urls().isEmpty()).map(Layer::digest)
-        );
+        final Stream<Digest> digests;
+        if (manifest.manifests().isEmpty()) {
+            digests = Stream.concat(
+                Stream.of(manifest.config()),
+                manifest.layers().stream()
+                    .filter(layer -> layer.urls().isEmpty())
+                    .map(Layer::digest)
+            );
+        } else {
+            digests = manifest.manifests().stream().map(ChildManifest::digest);
+        }
         return CompletableFuture.allOf(
             digests.map(
                 digest -> this.blobs.blob(digest).thenCompose(
@@ -162,38 +405,127 @@ public final class AstoManifests implements Manifests {
      * @return Link key.
      */
     private CompletableFuture<Void> addLink(final ManifestRef ref, final Digest digest) {
+        final Key key = this.link(ref);
         return this.asto.save(
-            this.link(ref),
+            key,
             new Content.From(digest.string().getBytes(StandardCharsets.US_ASCII))
-        ).toCompletableFuture();
+        ).thenRun(() -> this.cache.put(key, digest)).toCompletableFuture();
     }
 
     /**
      * Reads link to blob by manifest reference.
+     * Links found in cache are not read from storage.
      *
      * @param ref Manifest reference.
      * @return Blob digest, empty if no link found.
      */
-    private CompletableFuture<Optional<Digest>> readLink(final ManifestRef ref) {
+    private CompletionStage<Optional<Digest>> readLink(final ManifestRef ref) {
         final Key key = this.link(ref);
-        return this.asto.exists(key).thenCompose(
-            exists -> {
-                final CompletionStage<Optional<Digest>> stage;
-                if (exists) {
-                    stage = this.asto.value(key)
-                        .thenCompose(
-                            pub -> new PublisherAs(pub).asciiString()
-                        )
-                        .<Digest>thenApply(Digest.FromString::new)
-                        .thenApply(Optional::of);
-                } else {
-                    stage = CompletableFuture.completedFuture(Optional.empty());
+        final Optional<Digest> cached = this.cache.get(key);
+        final long version = this.cache.version();
+        final CompletionStage<Optional<Digest>> result;
+        if (cached.isPresent()) {
+            result = CompletableFuture.completedFuture(cached);
+        } else {
+            result = this.asto.exists(key).thenCompose(
+                exists -> {
+                    final CompletionStage<Optional<Digest>> stage;
+                    if (exists) {
+                        stage = this.asto.value(key)
+                            .thenCompose(
+                                pub -> new PublisherAs(pub).asciiString()
+                            )
+                            .<Digest>thenApply(Digest.FromString::new)
+                            .thenApply(
+                                digest -> {
+                                    this.cache.put(key, digest, version);
+                                    return Optional.of(digest);
+                                }
+                            );
+                    } else {
+                        stage = CompletableFuture.completedFuture(Optional.empty());
+                    }
+                    return stage;
                 }
-                return stage;
-            }
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Check converted manifest origin is current:
+     * original revision exists and the tag it was found by, if any, points to it.
+     *
+     * @param root Converted manifest link root.
+     * @param origin Original manifest digest.
+     * @return True if origin is current.
+     */
+    private CompletionStage<Boolean> current(final Key root, final Digest origin) {
+        final Key source = new Key.From(root, AstoManifests.SOURCE);
+        return this.readLink(new ManifestRef.FromDigest(origin)).thenCompose(
+            revision -> this.asto.exists(source).thenCompose(
+                tagged -> {
+                    final CompletionStage<Boolean> res;
+                    if (revision.isPresent() && tagged) {
+                        res = this.text(source).thenCompose(
+                            tag -> this.readLink(new ManifestRef.FromTag(new Tag.Valid(tag)))
+                        ).thenApply(
+                            target -> target.map(Digest::string)
+                                .equals(Optional.of(origin.string()))
+                        );
+                    } else {
+                        res = CompletableFuture.completedFuture(revision.isPresent());
+                    }
+                    return res;
+                }
+            )
         );
     }
 
+    /**
+     * Read converted manifest if its origin is current, otherwise remove its link.
+     *
+     * @param root Converted manifest link root.
+     * @param digest Converted manifest digest.
+     * @param current True if origin is current.
+     * @return Converted manifest, empty if origin is not current.
+     */
+    private CompletionStage<Optional<Manifest>> variant(
+        final Key root, final Digest digest, final boolean current
+    ) {
+        final CompletionStage<Optional<Manifest>> res;
+        if (current) {
+            res = this.asto.value(AstoManifests.data(digest))
+                .thenCompose(content -> new PublisherAs(content).bytes())
+                .thenApply(bytes -> Optional.of(new ParsedManifest(digest, bytes)));
+        } else {
+            res = this.asto.delete(new Key.From(root, AstoManifests.POINTER))
+                .thenCompose(nothing -> this.asto.delete(new Key.From(root, AstoManifests.SOURCE)))
+                .handle((nothing, throwable) -> Optional.<Manifest>empty());
+        }
+        return res;
+    }
+
+    /**
+     * Read ASCII text from storage.
+     *
+     * @param key Key.
+     * @return Text.
+     */
+    private CompletionStage<String> text(final Key key) {
+        return this.asto.value(key).thenCompose(pub -> new PublisherAs(pub).asciiString());
+    }
+
+    /**
+     * Converted manifest link root key.
+     *
+     * @param digest Converted manifest digest.
+     * @return Root key.
+     */
+    private Key converted(final Digest digest) {
+        return new Key.From(this.root(), AstoManifests.AREA, digest.alg(), digest.hex());
+    }
+
     /**
      * Create link key from manifest reference.
      *
@@ -201,9 +533,37 @@ public final class AstoManifests implements Manifests {
      * @return Link key.
      */
     private Key link(final ManifestRef ref) {
+        return new Key.From(this.root(), ref.link().string());
+    }
+
+    /**
+     * Repository manifests root key.
+     *
+     * @return Root key.
+     */
+    private Key root() {
+        return new Key.From(RegistryRoot.V2, "repositories", this.name.value(), "_manifests");
+    }
+
+    /**
+     * Converted manifest content key.
+     *
+     * @param digest Converted manifest digest.
+     * @return Content key.
+     */
+    private static Key data(final Digest digest) {
         return new Key.From(
-            RegistryRoot.V2, "repositories", this.name.value(),
-            "_manifests", ref.link().string()
+            RegistryRoot.V2, AstoManifests.AREA, digest.alg(), digest.hex(), "data"
         );
     }
+
+    /**
+     * ASCII text content.
+     *
+     * @param text Text.
+     * @return Content.
+     */
+    private static Content ascii(final String text) {
+        return new Content.From(text.getBytes(StandardCharsets.US_ASCII));
+    }
 }
@@ -54,6 +54,16 @@ public final class AstoRepo implements Repo {
      */
     private final BlobStore blobs;
 
+    /**
+     * Manifest links cache.
+     */
+    private final LinksCache links;
+
+    /**
+     * Registry repositories index.
+     */
+    private final RepoIndex repos;
+
     /**
      * Ctor.
      *
@@ -62,8 +72,27 @@ public final class AstoRepo implements Repo {
      * @param name Repository name
      */
     public AstoRepo(final Storage asto, final BlobStore blobs, final RepoName name) {
+        this(asto, blobs, new LinksCache(), new RepoIndex(asto), name);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param asto Asto storage
+     * @param blobs Blobs storage.
+     * @param links Manifest links cache.
+     * @param repos Registry repositories index.
+     * @param name Repository name
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    AstoRepo(
+        final Storage asto, final BlobStore blobs, final LinksCache links, final RepoIndex repos,
+        final RepoName name
+    ) {
         this.asto = asto;
         this.blobs = blobs;
+        this.links = links;
+        this.repos = repos;
         this.name = name;
     }
 
@@ -74,7 +103,7 @@ public final class AstoRepo implements Repo {
 
     @Override
     public Manifests manifests() {
-        return new AstoManifests(this.asto, this.blobs, this.name);
+        return new AstoManifests(this.asto, this.blobs, this.name, this.links, this.repos);
     }
 
     @Override
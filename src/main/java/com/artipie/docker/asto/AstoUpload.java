@@ -26,20 +26,34 @@ package com.artipie.docker.asto;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
+import com.artipie.docker.Digest;
+import com.artipie.docker.Layers;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.Upload;
+import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
 import org.reactivestreams.Publisher;
 
 /**
  * Asto implementation of {@link Upload}.
  *
  * @since 0.2
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public final class AstoUpload implements Upload {
 
+    /**
+     * Interval to record activity of append in progress.
+     */
+    private static final Duration PERIOD = Duration.ofMinutes(1);
+
     /**
      * Storage.
      */
@@ -76,31 +90,53 @@ public final class AstoUpload implements Upload {
 
     @Override
     public CompletionStage<Void> start() {
-        return this.storage.save(this.data(), new Content.From(new byte[0]));
+        return this.storage.save(new SessionKey(this.name, this.uuid), AstoUpload.now())
+            .thenCompose(nothing -> this.record(UploadsReaper.STARTED));
     }
 
     @Override
     public CompletionStage<Long> append(final Publisher<ByteBuffer> chunk) {
-        return this.storage.size(this.data()).thenCompose(
-            size -> {
-                if (size > 0) {
-                    throw new UnsupportedOperationException("Multiple chunks are not supported");
+        final UploadChunks chunks = this.chunks();
+        final UploadHashState state = this.state();
+        final AtomicLong active = new AtomicLong(System.currentTimeMillis());
+        return this.record(UploadsReaper.ACTIVE)
+            .thenCompose(nothing -> state.load(chunks))
+            .thenCompose(
+                sha -> chunks.append(
+                    Flowable.fromPublisher(chunk)
+                        .doOnNext(sha::update)
+                        .doOnNext(buf -> this.refresh(active))
+                ).thenCompose(size -> state.save(sha).thenApply(nothing -> size - 1))
+            );
+    }
+
+    @Override
+    public CompletionStage<Void> putTo(final Layers layers, final Digest digest) {
+        final UploadChunks chunks = this.chunks();
+        return this.record(UploadsReaper.ACTIVE)
+            .thenCompose(nothing -> this.state().digest(chunks))
+            .thenCompose(
+                actual -> {
+                    if (!actual.string().equals(digest.string())) {
+                        throw new IllegalArgumentException(
+                            String.format(
+                                "Digests differ: expected %s, but was %s", digest, actual
+                            )
+                        );
+                    }
+                    return layers.put(new UploadBlobSource(this.storage, chunks, digest));
                 }
-                return this.storage.save(this.data(), new Content.From(chunk)).thenCompose(
-                    ignored -> this.storage.size(this.data()).thenApply(updated -> updated - 1)
-                );
-            }
-        );
+            ).<Void>thenApply(blob -> null);
     }
 
     @Override
     public CompletionStage<Content> content() {
-        return this.storage.value(this.data());
+        return this.chunks().content();
     }
 
     @Override
     public CompletionStage<Long> offset() {
-        return this.storage.size(this.data()).thenApply(size -> Math.max(size - 1, 0));
+        return this.chunks().size().thenApply(size -> Math.max(size - 1, 0));
     }
 
     @Override
@@ -111,6 +147,9 @@ public final class AstoUpload implements Upload {
                     list.stream().map(file -> this.storage.delete(file).toCompletableFuture())
                         .toArray(CompletableFuture[]::new)
                 )
+            ).thenCompose(
+                nothing -> this.storage.delete(new SessionKey(this.name, this.uuid))
+                    .handle((deleted, throwable) -> deleted)
             );
     }
 
@@ -124,11 +163,56 @@ public final class AstoUpload implements Upload {
     }
 
     /**
-     * Uploaded data key.
+     * Record current time in upload session file.
+     *
+     * @param file File name.
+     * @return Completion of record.
+     */
+    private CompletionStage<Void> record(final String file) {
+        return this.storage.save(new Key.From(this.root(), file), AstoUpload.now());
+    }
+
+    /**
+     * Record activity of append in progress if it was not recorded for refresh interval,
+     * so long append is not taken for abandoned session.
+     * Failure to record activity is ignored, it must not fail the append.
+     *
+     * @param last Time of last recorded activity in milliseconds.
+     */
+    private void refresh(final AtomicLong last) {
+        final long now = System.currentTimeMillis();
+        final long prev = last.get();
+        if (now - prev >= AstoUpload.PERIOD.toMillis() && last.compareAndSet(prev, now)) {
+            this.record(UploadsReaper.ACTIVE).handle((nothing, throwable) -> nothing);
+        }
+    }
+
+    /**
+     * Saved state of uploaded data digest.
+     *
+     * @return Digest state.
+     */
+    private UploadHashState state() {
+        return new UploadHashState(
+            this.storage, new Key.From(this.root(), "hashstates", "sha256")
+        );
+    }
+
+    /**
+     * Uploaded data chunks.
+     *
+     * @return Chunks.
+     */
+    private UploadChunks chunks() {
+        return new UploadChunks(this.storage, new Key.From(this.root(), "chunks"));
+    }
+
+    /**
+     * Current time content.
      *
-     * @return Key.
+     * @return Content with current time.
      */
-    private Key data() {
-        return new Key.From(this.root(), "data");
+    private static Content now() {
+        return new Content.From(Instant.now().toString().getBytes(StandardCharsets.US_ASCII));
     }
 }
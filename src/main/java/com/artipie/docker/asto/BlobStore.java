@@ -24,8 +24,8 @@
 
 package com.artipie.docker.asto;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
@@ -44,11 +44,19 @@ interface BlobStore {
     CompletionStage<Optional<Blob>> blob(Digest digest);
 
     /**
-     * Put data into blob store and calculate its digest.
-     * @param blob Data flow
-     * @param digest Digest of the data
-     * @return Future with digest
+     * Put blob into the store from source.
+     *
+     * @param source Blob source.
+     * @return Added blob.
      */
-    CompletionStage<Blob> put(Content blob, Digest digest);
+    CompletionStage<Blob> put(BlobSource source);
+
+    /**
+     * Delete blob from the store.
+     *
+     * @param digest Blob digest.
+     * @return Deletion completion.
+     */
+    CompletionStage<Void> delete(Digest digest);
 }
 
@@ -0,0 +1,553 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.docker.Digest;
+import com.artipie.docker.manifest.ChildManifest;
+import com.artipie.docker.manifest.Layer;
+import com.artipie.docker.manifest.Manifest;
+import com.artipie.docker.manifest.ParsedManifest;
+import com.jcabi.log.Logger;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Mark-and-sweep garbage collector of registry blobs.
+ * <p>
+ * Mark phase walks manifest revision links of all repositories
+ * and collects digests of manifests, their configs and layers.
+ * Sweep phase deletes blobs which are not referenced.
+ * </p>
+ * <p>
+ * Collector is safe to run while images are pushed: blob uploaded before
+ * its manifest is not referenced yet, so unreferenced blob is not deleted
+ * at once. It is remembered as a candidate with time it was first seen
+ * unreferenced, and is deleted by later run only when it stays unreferenced
+ * for grace period. Blobs found, mounted or pushed again, including blobs
+ * checked by manifest push, are touched by {@link AstoBlobs}: touch marker
+ * keeps time of the touch and is rewritten at most once per touch interval.
+ * Marker of a candidate is read right before its deletion, and blob
+ * used within grace period is kept with the time it was used, so blob
+ * referenced by manifest pushed while collector runs is not deleted.
+ * Grace period is expected to be much longer than a run and than the time
+ * registry nodes cache blob existence.
+ * </p>
+ * <p>
+ * Staging files left by failed blob writes are collected the same way:
+ * staging file is deleted when it is seen for grace period.
+ * </p>
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class BlobsGc {
+
+    /**
+     * Maximum number of manifests read or blobs deleted in parallel.
+     */
+    private static final int PARALLEL = 16;
+
+    /**
+     * Manifest revision link pattern.
+     */
+    private static final Pattern REVISION = Pattern.compile(
+        "^.*/_manifests/revisions/(?<alg>[^/]+)/(?<hex>[^/]+)/link$"
+    );
+
+    /**
+     * Staging files root key.
+     */
+    private static final Key STAGING = new Key.From(RegistryRoot.V2, "_staging");
+
+    /**
+     * Blob data pattern.
+     */
+    private static final Pattern DATA = Pattern.compile(
+        "^.*/blobs/(?<alg>[^/]+)/[^/]+/(?<hex>[^/]+)/data$"
+    );
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Blob store.
+     */
+    private final BlobStore blobs;
+
+    /**
+     * Time unreferenced blob is kept before deletion.
+     */
+    private final Duration grace;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param blobs Blob store.
+     * @param grace Time unreferenced blob is kept before deletion.
+     */
+    BlobsGc(final Storage storage, final BlobStore blobs, final Duration grace) {
+        this.storage = storage;
+        this.blobs = blobs;
+        this.grace = grace;
+    }
+
+    /**
+     * Collect garbage.
+     *
+     * @return Collection report.
+     */
+    public CompletionStage<Report> collect() {
+        final Instant start = Instant.now();
+        return this.candidates()
+            .thenCompose(previous -> this.unreferenced(previous, start))
+            .thenCompose(current -> this.sweep(current, start))
+            .thenApply(
+                report -> {
+                    Logger.info(this, "Blobs garbage collected: %s", report);
+                    return report;
+                }
+            );
+    }
+
+    /**
+     * Find unreferenced blobs and staging files.
+     *
+     * @param previous Candidates left by previous run.
+     * @param start Run start time.
+     * @return Candidates with time they were first seen unreferenced.
+     */
+    private CompletionStage<Map<String, Instant>> unreferenced(
+        final Map<String, Instant> previous, final Instant start
+    ) {
+        return this.mark().thenCompose(
+            marked -> this.storage.list(new Key.From(RegistryRoot.V2, "blobs")).thenApply(
+                keys -> keys.stream()
+                    .map(key -> BlobsGc.DATA.matcher(key.string()))
+                    .filter(Matcher::matches)
+                    .map(BlobsGc::digest)
+                    .filter(digest -> !marked.contains(digest))
+                    .collect(Collectors.toList())
+            )
+        ).thenCompose(
+            digests -> this.storage.list(BlobsGc.STAGING).thenApply(
+                staged -> {
+                    final Map<String, Instant> current = new HashMap<>();
+                    Stream.concat(digests.stream(), staged.stream().map(Key::string)).forEach(
+                        item -> current.put(item, previous.getOrDefault(item, start))
+                    );
+                    return current;
+                }
+            )
+        );
+    }
+
+    /**
+     * Delete candidates seen for grace period.
+     *
+     * @param current Candidates with time they were first seen unreferenced.
+     * @param start Run start time.
+     * @return Collection report.
+     */
+    private CompletionStage<Report> sweep(
+        final Map<String, Instant> current, final Instant start
+    ) {
+        final Map<String, Instant> left = new ConcurrentHashMap<>(current);
+        final Set<String> expired = current.entrySet().stream()
+            .filter(entry -> !entry.getValue().plus(this.grace).isAfter(start))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+        return BlobsGc.bounded(expired, item -> this.delete(item, left)).thenCompose(
+            sizes -> this.save(left).thenApply(
+                nothing -> new Report(
+                    (int) sizes.stream().filter(Optional::isPresent).count(),
+                    sizes.stream().flatMap(Optional::stream).mapToLong(Long::longValue).sum(),
+                    left.size(),
+                    Duration.between(start, Instant.now())
+                )
+            )
+        );
+    }
+
+    /**
+     * Mark referenced blobs.
+     *
+     * @return Digests of referenced blobs.
+     */
+    private CompletionStage<Set<String>> mark() {
+        return this.storage.list(new Key.From(RegistryRoot.V2, "repositories")).thenCompose(
+            keys -> BlobsGc.bounded(
+                keys.stream()
+                    .map(key -> BlobsGc.REVISION.matcher(key.string()))
+                    .filter(Matcher::matches)
+                    .map(BlobsGc::digest)
+                    .collect(Collectors.toSet()),
+                this::references
+            )
+        ).thenApply(
+            refs -> refs.stream().flatMap(Collection::stream).collect(Collectors.toSet())
+        );
+    }
+
+    /**
+     * Read digests referenced by manifest, including manifest itself.
+     *
+     * @param digest Manifest digest.
+     * @return Referenced digests.
+     */
+    private CompletionStage<Set<String>> references(final String digest) {
+        final Digest manifest = new Digest.FromString(digest);
+        final Key key = new BlobKey(manifest);
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Set<String>> res;
+                if (exists) {
+                    res = this.storage.value(key)
+                        .thenCompose(content -> new PublisherAs(content).bytes())
+                        .thenApply(
+                            bytes -> BlobsGc.references(new ParsedManifest(manifest, bytes))
+                        );
+                } else {
+                    res = CompletableFuture.completedFuture(Set.of(digest));
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Delete staging file, or blob unless it was touched since grace period,
+     * its touch marker is read right before deletion.
+     * Blob touched later is kept in candidates with time it was last used.
+     *
+     * @param item Blob digest or staging file key.
+     * @param left Candidates left, deleted item is removed from them.
+     * @return Size of deleted blob or file, empty if blob is kept.
+     */
+    private CompletionStage<Optional<Long>> delete(
+        final String item, final Map<String, Instant> left
+    ) {
+        final CompletionStage<Optional<Long>> res;
+        if (item.startsWith(BlobsGc.STAGING.string())) {
+            final Key key = new Key.From(item);
+            res = this.storage.size(key).thenCompose(
+                size -> this.storage.delete(key).thenApply(nothing -> Optional.of(size))
+            );
+        } else {
+            final Digest blob = new Digest.FromString(item);
+            res = this.used(blob).thenCompose(
+                used -> {
+                    final CompletionStage<Optional<Long>> size;
+                    if (used.isPresent() && used.get().plus(this.grace).isAfter(Instant.now())) {
+                        left.put(item, used.get());
+                        size = CompletableFuture.completedFuture(Optional.empty());
+                    } else {
+                        size = this.storage.size(new BlobKey(blob)).thenCompose(
+                            bytes -> this.blobs.delete(blob)
+                                .thenCompose(nothing -> this.untouch(blob))
+                                .thenApply(nothing -> Optional.of(bytes))
+                        );
+                    }
+                    return size;
+                }
+            );
+        }
+        return res.thenApply(
+            size -> {
+                size.ifPresent(bytes -> left.remove(item));
+                return size;
+            }
+        );
+    }
+
+    /**
+     * Read time blob was used last, according to its touch marker.
+     * Blob touch is not written again for touch interval,
+     * so blob may be used until touch interval passes after the marker time.
+     *
+     * @param digest Blob digest.
+     * @return Time blob may be used last, empty if blob was never touched.
+     */
+    private CompletionStage<Optional<Instant>> used(final Digest digest) {
+        final Key key = new TouchKey(digest);
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<Instant>> res;
+                if (exists) {
+                    res = this.storage.value(key)
+                        .thenCompose(content -> new PublisherAs(content).asciiString())
+                        .thenApply(
+                            str -> Optional.of(
+                                Instant.ofEpochMilli(Long.parseLong(str.trim()))
+                                    .plus(AstoBlobs.INTERVAL)
+                            )
+                        );
+                } else {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Delete touch marker of deleted blob if exists.
+     *
+     * @param digest Blob digest.
+     * @return Completion of removal.
+     */
+    private CompletionStage<Void> untouch(final Digest digest) {
+        return this.storage.delete(new TouchKey(digest)).handle((nothing, throwable) -> nothing);
+    }
+
+    /**
+     * Load candidates left by previous run.
+     *
+     * @return Digests of unreferenced blobs with time they were first seen unreferenced.
+     */
+    private CompletionStage<Map<String, Instant>> candidates() {
+        final Key key = BlobsGc.key();
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Map<String, Instant>> res;
+                if (exists) {
+                    res = this.storage.value(key)
+                        .thenCompose(content -> new PublisherAs(content).asciiString())
+                        .thenApply(
+                            str -> Arrays.stream(str.split("\n"))
+                                .filter(line -> !line.isEmpty())
+                                .map(line -> line.split(" ", 2))
+                                .collect(
+                                    Collectors.toMap(
+                                        parts -> parts[0],
+                                        parts -> Instant.ofEpochMilli(Long.parseLong(parts[1]))
+                                    )
+                                )
+                        );
+                } else {
+                    res = CompletableFuture.completedFuture(new HashMap<>());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Save candidates for next run.
+     *
+     * @param candidates Digests of unreferenced blobs with time they were first seen.
+     * @return Save completion.
+     */
+    private CompletionStage<Void> save(final Map<String, Instant> candidates) {
+        return this.storage.save(
+            BlobsGc.key(),
+            new Content.From(
+                candidates.entrySet().stream()
+                    .map(
+                        entry -> String.format(
+                            "%s %d", entry.getKey(), entry.getValue().toEpochMilli()
+                        )
+                    )
+                    .collect(Collectors.joining("\n"))
+                    .getBytes(StandardCharsets.US_ASCII)
+            )
+        );
+    }
+
+    /**
+     * Candidates key.
+     *
+     * @return Key.
+     */
+    private static Key key() {
+        return new Key.From(RegistryRoot.V2, "_gc", "candidates");
+    }
+
+    /**
+     * Digests referenced by manifest, including manifest itself.
+     * Manifest list or image index references child manifests.
+     *
+     * @param manifest Manifest.
+     * @return Referenced digests.
+     */
+    private static Set<String> references(final Manifest manifest) {
+        final Stream<Digest> refs;
+        if (manifest.manifests().isEmpty()) {
+            refs = Stream.concat(
+                Stream.of(manifest.config()),
+                manifest.layers().stream()
+                    .filter(layer -> layer.urls().isEmpty())
+                    .map(Layer::digest)
+            );
+        } else {
+            refs = manifest.manifests().stream().map(ChildManifest::digest);
+        }
+        return Stream.concat(Stream.of(manifest.digest()), refs)
+            .map(Digest::string).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Digest string from matched key.
+     *
+     * @param matcher Matcher with alg and hex groups.
+     * @return Digest string.
+     */
+    private static String digest(final Matcher matcher) {
+        return String.format("%s:%s", matcher.group("alg"), matcher.group("hex"));
+    }
+
+    /**
+     * Apply asynchronous function to items with bounded parallelism.
+     *
+     * @param items Items.
+     * @param func Function.
+     * @param <T> Item type.
+     * @param <R> Result type.
+     * @return Results.
+     */
+    private static <T, R> CompletionStage<List<R>> bounded(
+        final Collection<T> items, final Function<T, CompletionStage<R>> func
+    ) {
+        return Flowable.fromIterable(items)
+            .flatMapSingle(
+                item -> SingleInterop.fromFuture(func.apply(item)), false, BlobsGc.PARALLEL
+            )
+            .toList()
+            .to(SingleInterop.get());
+    }
+
+    /**
+     * Garbage collection report.
+     *
+     * @since 0.6
+     */
+    @SuppressWarnings("PMD.DataClass")
+    public static final class Report {
+
+        /**
+         * Number of deleted blobs.
+         */
+        private final int blobs;
+
+        /**
+         * Number of bytes reclaimed.
+         */
+        private final long bytes;
+
+        /**
+         * Number of unreferenced blobs kept for grace period.
+         */
+        private final int left;
+
+        /**
+         * Run time.
+         */
+        private final Duration duration;
+
+        /**
+         * Ctor.
+         *
+         * @param deleted Number of deleted blobs.
+         * @param reclaimed Number of bytes reclaimed.
+         * @param pending Number of unreferenced blobs kept for grace period.
+         * @param time Run time.
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Report(final int deleted, final long reclaimed, final int pending, final Duration time) {
+            this.blobs = deleted;
+            this.bytes = reclaimed;
+            this.left = pending;
+            this.duration = time;
+        }
+
+        /**
+         * Number of deleted blobs.
+         *
+         * @return Number of blobs.
+         */
+        public int deleted() {
+            return this.blobs;
+        }
+
+        /**
+         * Number of bytes reclaimed.
+         *
+         * @return Number of bytes.
+         */
+        public long reclaimed() {
+            return this.bytes;
+        }
+
+        /**
+         * Number of unreferenced blobs kept for grace period.
+         *
+         * @return Number of blobs.
+         */
+        public int pending() {
+            return this.left;
+        }
+
+        /**
+         * Run time.
+         *
+         * @return Duration.
+         */
+        public Duration time() {
+            return this.duration;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%d blobs deleted, %d bytes reclaimed, %d blobs pending, took %s",
+                this.blobs, this.bytes, this.left, this.duration
+            );
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.BoundedCache;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of blob existence by digest.
+ * <p>
+ * Existing blob is remembered for a limited time, as it may be removed
+ * by garbage collector running on another registry node. Absence of a blob
+ * is remembered for a much shorter time, and it is forgotten as soon as blob
+ * is known to be present.
+ * Existence checked in storage is cached only if no blob was removed
+ * while it was checked, so that concurrent removal is not overwritten
+ * by a stale value.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class ExistenceCache {
+
+    /**
+     * Default number of entries in cache.
+     */
+    private static final int CAPACITY = 10_000;
+
+    /**
+     * Default time to remember presence of blob.
+     */
+    private static final Duration EXISTING = Duration.ofMinutes(1);
+
+    /**
+     * Default time to remember absence of blob.
+     */
+    private static final Duration ABSENT = Duration.ofSeconds(1);
+
+    /**
+     * Time to remember presence of blob in milliseconds.
+     */
+    private final long existing;
+
+    /**
+     * Time to remember absence of blob in milliseconds.
+     */
+    private final long absent;
+
+    /**
+     * Expiration time of present blob entry in milliseconds by digest.
+     */
+    private final BoundedCache<String, Long> found;
+
+    /**
+     * Expiration time of absent blob entry in milliseconds by digest.
+     */
+    private final BoundedCache<String, Long> missing;
+
+    /**
+     * Number of removed blobs.
+     */
+    private long removals;
+
+    /**
+     * Ctor.
+     */
+    ExistenceCache() {
+        this(ExistenceCache.CAPACITY, ExistenceCache.ABSENT);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Maximum number of entries.
+     * @param absent Time to remember absence of blob.
+     */
+    ExistenceCache(final int capacity, final Duration absent) {
+        this(capacity, ExistenceCache.EXISTING, absent);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Maximum number of entries.
+     * @param existing Time to remember presence of blob.
+     * @param absent Time to remember absence of blob.
+     */
+    ExistenceCache(final int capacity, final Duration existing, final Duration absent) {
+        this.existing = existing.toMillis();
+        this.absent = absent.toMillis();
+        this.found = new BoundedCache<>(capacity);
+        this.missing = new BoundedCache<>(capacity);
+    }
+
+    /**
+     * Check blob existence using cached value if it is known.
+     *
+     * @param digest Blob digest.
+     * @param origin Origin existence check used if value is not cached.
+     * @return True if blob exists, false otherwise.
+     */
+    public CompletionStage<Boolean> exists(
+        final Digest digest, final Supplier<CompletionStage<Boolean>> origin
+    ) {
+        final long now = System.currentTimeMillis();
+        final CompletionStage<Boolean> result;
+        if (this.found.get(digest.string()).orElse(0L) > now) {
+            result = CompletableFuture.completedFuture(true);
+        } else if (this.missing.get(digest.string()).orElse(0L) > now) {
+            result = CompletableFuture.completedFuture(false);
+        } else {
+            final long version = this.version();
+            result = origin.get().thenApply(
+                exists -> {
+                    this.put(digest, exists, version);
+                    return exists;
+                }
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Remember that blob is present.
+     *
+     * @param digest Blob digest.
+     */
+    public void present(final Digest digest) {
+        synchronized (this.found) {
+            this.missing.remove(digest.string());
+            this.found.put(digest.string(), System.currentTimeMillis() + this.existing);
+        }
+    }
+
+    /**
+     * Forget blob existence, should be called when blob is removed.
+     *
+     * @param digest Blob digest.
+     */
+    public void remove(final Digest digest) {
+        synchronized (this.found) {
+            this.removals += 1;
+            this.found.remove(digest.string());
+            this.missing.remove(digest.string());
+        }
+    }
+
+    /**
+     * Version of cache, changed on every removal.
+     *
+     * @return Version.
+     */
+    private long version() {
+        synchronized (this.found) {
+            return this.removals;
+        }
+    }
+
+    /**
+     * Cache existence checked in storage if no blob was removed since the check started.
+     *
+     * @param digest Blob digest.
+     * @param exists True if blob exists.
+     * @param version Cache version obtained before the check.
+     */
+    private void put(final Digest digest, final boolean exists, final long version) {
+        synchronized (this.found) {
+            if (version == this.removals) {
+                if (exists) {
+                    this.present(digest);
+                } else {
+                    this.missing.put(
+                        digest.string(), System.currentTimeMillis() + this.absent
+                    );
+                }
+            }
+        }
+    }
+}
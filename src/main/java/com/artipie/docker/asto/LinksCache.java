@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.BoundedCache;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded cache of manifest links: digests of manifests by link keys.
+ * <p>
+ * Links are updated and removed by this registry node through the cache,
+ * but they may be also updated or removed by another registry node,
+ * so every link is cached for a limited time only.
+ * Link read from storage is cached only if no link was written or removed
+ * while it was read, so that concurrent update is not overwritten by a stale value.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class LinksCache {
+
+    /**
+     * Default number of entries in cache.
+     */
+    private static final int CAPACITY = 10_000;
+
+    /**
+     * Default time to keep link.
+     */
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    /**
+     * Time to keep link in milliseconds.
+     */
+    private final long ttl;
+
+    /**
+     * Digests with expiration time in milliseconds by link keys.
+     */
+    private final BoundedCache<String, Map.Entry<Digest, Long>> links;
+
+    /**
+     * Number of written and removed links.
+     */
+    private long changes;
+
+    /**
+     * Ctor.
+     */
+    LinksCache() {
+        this(LinksCache.CAPACITY);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Maximum number of entries.
+     */
+    LinksCache(final int capacity) {
+        this(capacity, LinksCache.TTL);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Maximum number of entries.
+     * @param ttl Time to keep link.
+     */
+    LinksCache(final int capacity, final Duration ttl) {
+        this.ttl = ttl.toMillis();
+        this.links = new BoundedCache<>(capacity);
+    }
+
+    /**
+     * Get cached link.
+     *
+     * @param key Link key.
+     * @return Digest the link points to, empty if link is not cached or expired.
+     */
+    public Optional<Digest> get(final Key key) {
+        final long now = System.currentTimeMillis();
+        return this.links.get(key.string())
+            .filter(entry -> entry.getValue() > now)
+            .map(Map.Entry::getKey);
+    }
+
+    /**
+     * Version of cache, changed on every written or removed link.
+     * Should be obtained before link is read from storage.
+     *
+     * @return Version.
+     */
+    public long version() {
+        synchronized (this.links) {
+            return this.changes;
+        }
+    }
+
+    /**
+     * Cache link written to storage.
+     *
+     * @param key Link key.
+     * @param digest Digest the link points to.
+     */
+    public void put(final Key key, final Digest digest) {
+        synchronized (this.links) {
+            this.changes += 1;
+            this.save(key, digest);
+        }
+    }
+
+    /**
+     * Cache link read from storage if no link was changed since the read started.
+     *
+     * @param key Link key.
+     * @param digest Digest the link points to.
+     * @param version Cache version obtained before the link was read.
+     */
+    public void put(final Key key, final Digest digest, final long version) {
+        synchronized (this.links) {
+            if (version == this.changes) {
+                this.save(key, digest);
+            }
+        }
+    }
+
+    /**
+     * Forget link, should be called when link is removed.
+     *
+     * @param key Link key.
+     */
+    public void remove(final Key key) {
+        synchronized (this.links) {
+            this.changes += 1;
+            this.links.remove(key.string());
+        }
+    }
+
+    /**
+     * Save link to cache with expiration time.
+     *
+     * @param key Link key.
+     * @param digest Digest the link points to.
+     */
+    private void save(final Key key, final Digest digest) {
+        this.links.put(
+            key.string(),
+            new AbstractMap.SimpleImmutableEntry<>(digest, System.currentTimeMillis() + this.ttl)
+        );
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.Catalog;
+import com.artipie.docker.RepoName;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Sorted index of registry repositories.
+ * <p>
+ * Index is stored in <code>catalog</code> directory of registry root,
+ * so catalog is listed without walking repositories tree.
+ * Index is sharded by first character of repository name,
+ * so catalog is neither updated nor read as a single file, see {@link ShardedIndex}.
+ * If shard does not exist yet it is built from the repositories tree,
+ * see {@link SortedIndex}.
+ * Repository is added on every manifest put and removed when its last
+ * manifest is deleted, as repository may be removed by another registry node,
+ * and journal entry write is cheap.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class RepoIndex {
+
+    /**
+     * Manifests directory of repository.
+     */
+    private static final String MANIFESTS = "/_manifests/";
+
+    /**
+     * Characters repository names start with.
+     */
+    private static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    /**
+     * Sharded index.
+     */
+    private final ShardedIndex index;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     */
+    RepoIndex(final Storage storage) {
+        this(
+            new ShardedIndex(
+                storage,
+                new Key.From(RegistryRoot.V2, "catalog"),
+                new Key.From(RegistryRoot.V2, "repositories"),
+                RepoIndex::repo,
+                RepoIndex.ALPHABET
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param index Sharded index.
+     */
+    private RepoIndex(final ShardedIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Add repository to index.
+     *
+     * @param name Repository name.
+     * @return Completion of index update.
+     */
+    public CompletionStage<Void> add(final RepoName name) {
+        return this.index.add(name.value());
+    }
+
+    /**
+     * Remove repository from index.
+     *
+     * @param name Repository name.
+     * @return Completion of index update.
+     */
+    public CompletionStage<Void> remove(final RepoName name) {
+        return this.index.remove(name.value());
+    }
+
+    /**
+     * List catalog page.
+     *
+     * @param from Repository name to list repositories after, empty to list from the beginning.
+     * @param limit Maximum number of repositories to list.
+     * @return Catalog page.
+     */
+    public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+        return this.index.page(
+            from.map(RepoName::value),
+            limit,
+            (names, next) -> new Catalog.From(
+                () -> names.stream().<RepoName>map(RepoName.Simple::new).iterator(),
+                next.map(RepoName.Simple::new)
+            )
+        );
+    }
+
+    /**
+     * Extract repository name from key path relative to repositories tree.
+     *
+     * @param path Key path like <code>&lt;name&gt;/_manifests/...</code>.
+     * @return Repository name if key belongs to repository manifests.
+     */
+    private static Optional<String> repo(final String path) {
+        final int pos = path.indexOf(RepoIndex.MANIFESTS);
+        final Optional<String> res;
+        if (pos > 0) {
+            res = Optional.of(path.substring(0, pos));
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+}
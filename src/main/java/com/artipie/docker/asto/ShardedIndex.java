@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Sorted index of names split into shards by first character of name.
+ * <p>
+ * Every shard is a separate {@link SortedIndex} in
+ * <code>&lt;index&gt;/&lt;character&gt;</code> directory, so updates of
+ * names in different shards touch different journals and bases,
+ * and a page is read only from shards starting at the one
+ * of name to list names after, until page is filled.
+ * Shards which are not built yet are built from a single listing
+ * of storage tree made once per page.
+ * Names are expected to start with a character of shards alphabet.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class ShardedIndex {
+
+    /**
+     * Characters names may start with, in lexical order.
+     */
+    private final String alphabet;
+
+    /**
+     * Sorted names of storage tree to build shards from.
+     */
+    private final Supplier<CompletionStage<List<String>>> tree;
+
+    /**
+     * Function creating shard index by shard character
+     * and sorted names of storage tree.
+     */
+    private final BiFunction<Character, Supplier<CompletionStage<List<String>>>, SortedIndex>
+        shards;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param index Index root key.
+     * @param tree Storage tree to build shards from.
+     * @param name Function extracting indexed name from key path relative to tree.
+     * @param alphabet Characters names may start with, in lexical order.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    ShardedIndex(
+        final Storage storage, final Key index, final Key tree,
+        final Function<String, Optional<String>> name, final String alphabet
+    ) {
+        this(
+            alphabet,
+            () -> SortedIndex.names(storage, tree, name),
+            (shard, names) -> new SortedIndex(
+                storage,
+                new Key.From(index, String.valueOf(shard)),
+                () -> names.get().thenApply(
+                    all -> all.stream()
+                        .filter(value -> value.charAt(0) == shard)
+                        .collect(Collectors.toList())
+                )
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param alphabet Characters names may start with, in lexical order.
+     * @param tree Sorted names of storage tree to build shards from.
+     * @param shards Function creating shard index by shard character and tree names.
+     */
+    private ShardedIndex(
+        final String alphabet, final Supplier<CompletionStage<List<String>>> tree,
+        final BiFunction<Character, Supplier<CompletionStage<List<String>>>, SortedIndex> shards
+    ) {
+        this.alphabet = alphabet;
+        this.tree = tree;
+        this.shards = shards;
+    }
+
+    /**
+     * Add name to index.
+     *
+     * @param value Name.
+     * @return Completion of index update.
+     */
+    public CompletionStage<Void> add(final String value) {
+        return this.shards.apply(value.charAt(0), this.tree).add(value);
+    }
+
+    /**
+     * Remove name from index.
+     *
+     * @param value Name.
+     * @return Completion of index update.
+     */
+    public CompletionStage<Void> remove(final String value) {
+        return this.shards.apply(value.charAt(0), this.tree).remove(value);
+    }
+
+    /**
+     * List names page.
+     *
+     * @param from Name to list names after, empty to list from the beginning.
+     * @param limit Maximum number of names to list.
+     * @param page Function creating page from names and name to continue listing from.
+     * @param <T> Page type.
+     * @return Page.
+     */
+    public <T> CompletionStage<T> page(
+        final Optional<String> from, final int limit,
+        final BiFunction<List<String>, Optional<String>, T> page
+    ) {
+        final int first = from.map(last -> this.alphabet.indexOf(last.charAt(0))).orElse(0);
+        final AtomicReference<CompletionStage<List<String>>> names = new AtomicReference<>();
+        return this.collect(
+            Math.max(first, 0), from, limit + 1L, Collections.emptyList(),
+            () -> names.updateAndGet(prev -> Optional.ofNullable(prev).orElseGet(this.tree))
+        ).thenApply(
+            all -> {
+                final Optional<String> next;
+                if (limit > 0 && all.size() > limit) {
+                    next = Optional.of(all.get(limit - 1));
+                } else {
+                    next = Optional.empty();
+                }
+                return page.apply(all.subList(0, Math.min(limit, all.size())), next);
+            }
+        );
+    }
+
+    /**
+     * Collect names from shards in order until enough names are collected.
+     *
+     * @param pos Position of shard character in alphabet.
+     * @param from Name to list names after, empty to list from the beginning.
+     * @param needed Number of names to collect.
+     * @param collected Names collected from previous shards.
+     * @param names Sorted names of storage tree listed once.
+     * @return Sorted names.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<List<String>> collect(
+        final int pos, final Optional<String> from, final long needed,
+        final List<String> collected, final Supplier<CompletionStage<List<String>>> names
+    ) {
+        final CompletionStage<List<String>> res;
+        if (pos >= this.alphabet.length() || collected.size() >= needed) {
+            res = CompletableFuture.completedFuture(collected);
+        } else {
+            res = this.shards.apply(this.alphabet.charAt(pos), names).page(
+                from,
+                (int) Math.min(needed - collected.size(), Integer.MAX_VALUE),
+                (found, next) -> {
+                    final List<String> all = new ArrayList<>(collected);
+                    all.addAll(found);
+                    return all;
+                }
+            ).thenCompose(all -> this.collect(pos + 1, Optional.empty(), needed, all, names));
+        }
+        return res;
+    }
+}
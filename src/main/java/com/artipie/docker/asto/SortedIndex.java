@@ -0,0 +1,756 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Remaining;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.jcabi.log.Logger;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.reactivestreams.Publisher;
+
+/**
+ * Sorted index of names stored as compacted base file and journal of changes.
+ * <p>
+ * Base file <code>&lt;index&gt;/base/&lt;generation&gt;</code> has one name per line
+ * in lexical order, so names are listed page by page without listing storage tree.
+ * Every change is appended as a separate empty journal entry
+ * <code>&lt;index&gt;/journal/&lt;seq&gt;/(add|remove)/&lt;name&gt;</code>,
+ * so changes never conflict and no lock is needed to update index.
+ * Sequence numbers start with entry creation time, increasing for entries
+ * appended by the same process, and only order entries
+ * not folded into base yet, index state is the base of the latest generation
+ * with every entry not folded into it applied in sequence order.
+ * </p>
+ * <p>
+ * When journal grows too long it is compacted: every entry not folded yet,
+ * whatever its time is, is folded into a base of the next generation.
+ * Sequences of entries folded into base are saved in
+ * <code>&lt;index&gt;/folded/&lt;generation&gt;</code> before the base itself.
+ * Entries folded into a base are removed only by compaction of the next
+ * generation after its base is saved, so an entry written while compaction
+ * runs is applied to the new base later, and a concurrent compaction
+ * of the same generation always folds the entries removed afterwards.
+ * Compaction is started by a read which finds too many entries,
+ * and by a random part of writes, so writes do not list index every time.
+ * If no base exists yet, for example in storage populated before names
+ * were indexed, it is built from names of storage tree once.
+ * </p>
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class SortedIndex {
+
+    /**
+     * Number of journal entries to start compaction at.
+     */
+    private static final int THRESHOLD = 100;
+
+    /**
+     * Generation of base built from storage tree.
+     */
+    private static final String INITIAL = "0000000000";
+
+    /**
+     * Number of attempts to read index, base may be removed by compaction while read.
+     */
+    private static final int ATTEMPTS = 3;
+
+    /**
+     * Base files directory.
+     */
+    private static final String BASES = "base";
+
+    /**
+     * Folded entries files directory.
+     */
+    private static final String FOLDED = "folded";
+
+    /**
+     * Journal entries directory.
+     */
+    private static final String JOURNAL = "journal";
+
+    /**
+     * Journal entry operation adding name.
+     */
+    private static final String ADDED = "add";
+
+    /**
+     * Last journal entry time in microseconds, entries appended by this process
+     * get increasing times even within a millisecond.
+     */
+    private static final AtomicLong CLOCK = new AtomicLong();
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Index root key.
+     */
+    private final Key index;
+
+    /**
+     * Sorted names of storage tree to build index from.
+     */
+    private final Supplier<CompletionStage<List<String>>> initial;
+
+    /**
+     * Number of journal entries to start compaction at.
+     */
+    private final int threshold;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param index Index root key.
+     * @param tree Storage tree to build index from.
+     * @param name Function extracting indexed name from key path relative to tree.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    SortedIndex(
+        final Storage storage, final Key index, final Key tree,
+        final Function<String, Optional<String>> name
+    ) {
+        this(storage, index, () -> SortedIndex.names(storage, tree, name));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param index Index root key.
+     * @param initial Sorted names of storage tree to build index from.
+     */
+    SortedIndex(
+        final Storage storage, final Key index,
+        final Supplier<CompletionStage<List<String>>> initial
+    ) {
+        this(storage, index, initial, SortedIndex.THRESHOLD);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param index Index root key.
+     * @param initial Sorted names of storage tree to build index from.
+     * @param threshold Number of journal entries to start compaction at.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    SortedIndex(
+        final Storage storage, final Key index,
+        final Supplier<CompletionStage<List<String>>> initial, final int threshold
+    ) {
+        this.storage = storage;
+        this.index = index;
+        this.initial = initial;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Add name to index.
+     *
+     * @param value Name.
+     * @return Completion of index update.
+     */
+    public CompletionStage<Void> add(final String value) {
+        return this.append(SortedIndex.ADDED, value);
+    }
+
+    /**
+     * Remove name from index.
+     *
+     * @param value Name.
+     * @return Completion of index update.
+     */
+    public CompletionStage<Void> remove(final String value) {
+        return this.append("remove", value);
+    }
+
+    /**
+     * List names page.
+     * Base file is read as a stream merged with journal changes
+     * only until page is filled.
+     *
+     * @param from Name to list names after, empty to list from the beginning.
+     * @param limit Maximum number of names to list.
+     * @param page Function creating page from names and name to continue listing from.
+     * @param <T> Page type.
+     * @return Page.
+     */
+    public <T> CompletionStage<T> page(
+        final Optional<String> from, final int limit,
+        final BiFunction<List<String>, Optional<String>, T> page
+    ) {
+        return this.page(from, limit, SortedIndex.ATTEMPTS).thenApply(
+            names -> {
+                final Optional<String> next;
+                if (limit > 0 && names.size() > limit) {
+                    next = Optional.of(names.get(limit - 1));
+                } else {
+                    next = Optional.empty();
+                }
+                return page.apply(names.subList(0, Math.min(limit, names.size())), next);
+            }
+        );
+    }
+
+    /**
+     * Compact journal if it is too long.
+     *
+     * @return Completion of compaction.
+     */
+    public CompletionStage<Void> compact() {
+        return this.listing().thenCompose(
+            listing -> this.consumed(listing).thenCompose(
+                folded -> {
+                    final CompletionStage<Void> res;
+                    if (listing.entries.size() < this.threshold) {
+                        res = CompletableFuture.allOf();
+                    } else {
+                        res = this.compact(listing, folded);
+                    }
+                    return res;
+                }
+            )
+        );
+    }
+
+    /**
+     * Sorted distinct names of storage tree.
+     *
+     * @param storage Storage.
+     * @param tree Storage tree.
+     * @param name Function extracting name from key path relative to tree.
+     * @return Sorted names.
+     */
+    static CompletionStage<List<String>> names(
+        final Storage storage, final Key tree, final Function<String, Optional<String>> name
+    ) {
+        final int prefix = tree.string().length() + 1;
+        return storage.list(tree).thenApply(
+            keys -> keys.stream()
+                .map(key -> key.string().substring(prefix))
+                .map(name)
+                .flatMap(Optional::stream)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Append journal entry, a random part of appends compacts journal
+     * in background if needed.
+     *
+     * @param operation Operation.
+     * @param value Name.
+     * @return Completion of journal entry write.
+     */
+    private CompletionStage<Void> append(final String operation, final String value) {
+        final String seq = String.format(
+            "%016d-%s",
+            SortedIndex.CLOCK.accumulateAndGet(
+                TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()),
+                (prev, now) -> Math.max(prev + 1, now)
+            ),
+            UUID.randomUUID()
+        );
+        return this.storage.save(
+            new Key.From(this.index, SortedIndex.JOURNAL, seq, operation, value),
+            new Content.From(new byte[0])
+        ).thenRun(
+            () -> {
+                if (ThreadLocalRandom.current().nextInt(this.threshold) == 0) {
+                    this.background(this.compact());
+                }
+            }
+        );
+    }
+
+    /**
+     * Read names page with at most one name more than limit,
+     * retrying if base was removed by compaction while read.
+     *
+     * @param from Name to list names after, empty to list from the beginning.
+     * @param limit Maximum number of names to list.
+     * @param attempts Number of attempts left.
+     * @return Sorted names.
+     */
+    private CompletionStage<List<String>> page(
+        final Optional<String> from, final int limit, final int attempts
+    ) {
+        return this.listing().thenCompose(listing -> this.page(listing, from, limit)).handle(
+            (names, throwable) -> {
+                final CompletionStage<List<String>> res;
+                if (throwable == null) {
+                    res = CompletableFuture.completedFuture(names);
+                } else if (attempts > 1) {
+                    res = this.page(from, limit, attempts - 1);
+                } else {
+                    res = CompletableFuture.failedFuture(throwable);
+                }
+                return res;
+            }
+        ).thenCompose(Function.identity());
+    }
+
+    /**
+     * Read names page with at most one name more than limit
+     * and compact journal in background if it is too long.
+     *
+     * @param listing Index listing.
+     * @param from Name to list names after, empty to list from the beginning.
+     * @param limit Maximum number of names to list.
+     * @return Sorted names.
+     */
+    private CompletionStage<List<String>> page(
+        final Listing listing, final Optional<String> from, final int limit
+    ) {
+        return this.consumed(listing).thenCompose(
+            folded -> {
+                if (listing.entries.size() >= this.threshold) {
+                    this.background(this.compact(listing, folded));
+                }
+                return SortedIndex.merge(
+                    this.base(listing), listing.changes(listing.pending(folded))
+                )
+                    .filter(value -> SortedIndex.after(value, from))
+                    .take(limit + 1L)
+                    .toList()
+                    .to(SingleInterop.get());
+            }
+        );
+    }
+
+    /**
+     * Fold every journal entry not folded into latest base into base
+     * of the next generation, then remove entries folded into latest base
+     * and older bases.
+     *
+     * @param listing Index listing.
+     * @param folded Sequences of entries folded into latest base.
+     * @return Completion of compaction.
+     */
+    private CompletionStage<Void> compact(final Listing listing, final Set<String> folded) {
+        final String generation = String.format(
+            "%010d-%s", listing.generation() + 1, UUID.randomUUID()
+        );
+        final Flowable<ByteBuffer> names = SortedIndex.merge(
+            this.base(listing), listing.changes(listing.pending(folded))
+        ).map(value -> ByteBuffer.wrap(value.concat("\n").getBytes(StandardCharsets.US_ASCII)));
+        return this.storage.save(
+            new Key.From(this.index, SortedIndex.FOLDED, generation),
+            new Content.From(
+                String.join("\n", listing.entries.keySet())
+                    .getBytes(StandardCharsets.US_ASCII)
+            )
+        ).thenCompose(
+            nothing -> this.storage.save(
+                new Key.From(this.index, SortedIndex.BASES, generation),
+                new Content.From(names)
+            )
+        ).thenCompose(nothing -> this.delete(listing.obsolete(folded)));
+    }
+
+    /**
+     * Stream names of latest base,
+     * building it from storage tree if there is no base.
+     *
+     * @param listing Index listing.
+     * @return Sorted names.
+     */
+    private Flowable<String> base(final Listing listing) {
+        final Flowable<String> res;
+        if (listing.bases.isEmpty()) {
+            res = SingleInterop.fromFuture(this.build()).flattenAsFlowable(names -> names);
+        } else {
+            res = SingleInterop.fromFuture(
+                this.storage.value(
+                    new Key.From(this.index, SortedIndex.BASES, listing.bases.last())
+                )
+            ).flatMapPublisher(SortedIndex::lines);
+        }
+        return res;
+    }
+
+    /**
+     * Read sequences of journal entries folded into latest base.
+     *
+     * @param listing Index listing.
+     * @return Sequences of folded entries.
+     */
+    private CompletionStage<Set<String>> consumed(final Listing listing) {
+        final CompletionStage<Set<String>> res;
+        if (listing.bases.isEmpty() || !listing.folded.contains(listing.bases.last())) {
+            res = CompletableFuture.completedFuture(Collections.emptySet());
+        } else {
+            res = this.storage.value(
+                new Key.From(this.index, SortedIndex.FOLDED, listing.bases.last())
+            ).thenCompose(content -> new PublisherAs(content).asciiString()).thenApply(
+                str -> Arrays.stream(str.split("\n"))
+                    .filter(line -> !line.isEmpty())
+                    .collect(Collectors.toCollection(HashSet::new))
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Build names from storage tree and save them as initial base.
+     *
+     * @return Sorted names.
+     */
+    private CompletionStage<List<String>> build() {
+        return this.initial.get().thenCompose(
+            names -> this.storage.save(
+                new Key.From(this.index, SortedIndex.BASES, SortedIndex.INITIAL),
+                new Content.From(String.join("\n", names).getBytes(StandardCharsets.US_ASCII))
+            ).thenApply(nothing -> names)
+        );
+    }
+
+    /**
+     * List bases and journal entries of index.
+     *
+     * @return Index listing.
+     */
+    private CompletionStage<Listing> listing() {
+        final int prefix = this.index.string().length() + 1;
+        return this.storage.list(this.index).thenApply(
+            keys -> new Listing(
+                keys.stream()
+                    .map(key -> key.string().substring(prefix))
+                    .collect(Collectors.toList())
+            )
+        );
+    }
+
+    /**
+     * Delete keys relative to index root,
+     * keys already deleted by concurrent compaction are ignored.
+     *
+     * @param paths Key paths relative to index root.
+     * @return Completion of removal.
+     */
+    private CompletionStage<Void> delete(final Collection<String> paths) {
+        return CompletableFuture.allOf(
+            paths.stream()
+                .map(
+                    path -> this.storage.delete(new Key.From(this.index, path))
+                        .handle((nothing, throwable) -> nothing)
+                        .toCompletableFuture()
+                )
+                .toArray(CompletableFuture[]::new)
+        );
+    }
+
+    /**
+     * Run compaction in background, logging its failure.
+     *
+     * @param compaction Compaction.
+     */
+    private void background(final CompletionStage<Void> compaction) {
+        compaction.exceptionally(
+            throwable -> {
+                Logger.warn(
+                    this, "Failed to compact index %s: %[exception]s",
+                    this.index.string(), throwable
+                );
+                return null;
+            }
+        );
+    }
+
+    /**
+     * Merge sorted base names with journal changes as names are read.
+     *
+     * @param base Sorted base names.
+     * @param changes True for added names, false for removed names.
+     * @return Sorted names.
+     */
+    private static Flowable<String> merge(
+        final Flowable<String> base, final SortedMap<String, Boolean> changes
+    ) {
+        return Flowable.defer(
+            () -> {
+                final Deque<String> added = changes.entrySet().stream()
+                    .filter(Map.Entry::getValue)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toCollection(ArrayDeque::new));
+                return base.concatMapIterable(
+                    value -> {
+                        final List<String> res = new ArrayList<>(1);
+                        while (!added.isEmpty() && added.peek().compareTo(value) < 0) {
+                            res.add(added.poll());
+                        }
+                        if (!added.isEmpty() && added.peek().equals(value)) {
+                            added.poll();
+                        }
+                        if (changes.getOrDefault(value, true)) {
+                            res.add(value);
+                        }
+                        return res;
+                    }
+                ).concatWith(Flowable.defer(() -> Flowable.fromIterable(added)));
+            }
+        );
+    }
+
+    /**
+     * Check if name is listed after given one.
+     *
+     * @param value Name.
+     * @param from Name to list names after, empty to list from the beginning.
+     * @return True if name is after given one.
+     */
+    private static boolean after(final String value, final Optional<String> from) {
+        return from.map(last -> value.compareTo(last) > 0).orElse(true);
+    }
+
+    /**
+     * Split content into non-empty lines as they are read.
+     *
+     * @param content Content.
+     * @return Lines.
+     */
+    private static Flowable<String> lines(final Publisher<ByteBuffer> content) {
+        return Flowable.defer(
+            () -> {
+                final StringBuilder rest = new StringBuilder();
+                return Flowable.fromPublisher(content)
+                    .concatMapIterable(
+                        buf -> {
+                            rest.append(
+                                new String(new Remaining(buf).bytes(), StandardCharsets.US_ASCII)
+                            );
+                            final int end = rest.lastIndexOf("\n");
+                            final List<String> res;
+                            if (end < 0) {
+                                res = Collections.emptyList();
+                            } else {
+                                res = Arrays.asList(rest.substring(0, end).split("\n"));
+                                rest.delete(0, end + 1);
+                            }
+                            return res;
+                        }
+                    )
+                    .concatWith(Flowable.fromCallable(rest::toString))
+                    .filter(line -> !line.isEmpty());
+            }
+        );
+    }
+
+    /**
+     * Index listing: generations of bases and folded entries files, journal entries.
+     *
+     * @since 0.6
+     */
+    private static final class Listing {
+
+        /**
+         * Generations of bases.
+         */
+        private final SortedSet<String> bases;
+
+        /**
+         * Generations of folded entries files.
+         */
+        private final SortedSet<String> folded;
+
+        /**
+         * Journal entries paths relative to journal directory by sequence.
+         */
+        private final SortedMap<String, String> entries;
+
+        /**
+         * Ctor.
+         *
+         * @param paths Key paths relative to index root.
+         */
+        Listing(final Collection<String> paths) {
+            this(
+                Listing.names(paths, SortedIndex.BASES),
+                Listing.names(paths, SortedIndex.FOLDED),
+                Listing.names(paths, SortedIndex.JOURNAL).stream().collect(
+                    Collectors.toMap(
+                        path -> path.substring(0, path.indexOf('/')),
+                        path -> path,
+                        (first, second) -> first,
+                        TreeMap::new
+                    )
+                )
+            );
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param bases Generations of bases.
+         * @param folded Generations of folded entries files.
+         * @param entries Journal entries paths by sequence.
+         */
+        private Listing(
+            final SortedSet<String> bases, final SortedSet<String> folded,
+            final SortedMap<String, String> entries
+        ) {
+            this.bases = bases;
+            this.folded = folded;
+            this.entries = entries;
+        }
+
+        /**
+         * Generation number of latest base.
+         *
+         * @return Generation number, zero if there is no base.
+         */
+        long generation() {
+            final long res;
+            if (this.bases.isEmpty()) {
+                res = 0;
+            } else {
+                res = Long.parseLong(
+                    this.bases.last().substring(0, SortedIndex.INITIAL.length())
+                );
+            }
+            return res;
+        }
+
+        /**
+         * Sequences of journal entries not folded into latest base.
+         *
+         * @param consumed Sequences of entries folded into latest base.
+         * @return Sequences in order.
+         */
+        List<String> pending(final Set<String> consumed) {
+            return this.entries.keySet().stream()
+                .filter(seq -> !consumed.contains(seq))
+                .collect(Collectors.toList());
+        }
+
+        /**
+         * Resulting changes of journal entries applied in order.
+         *
+         * @param seqs Sequences of journal entries in order.
+         * @return True for added names, false for removed names.
+         */
+        SortedMap<String, Boolean> changes(final List<String> seqs) {
+            final SortedMap<String, Boolean> res = new TreeMap<>();
+            for (final String seq : seqs) {
+                final String path = this.entries.get(seq);
+                final int start = seq.length() + 1;
+                final int end = path.indexOf('/', start);
+                res.put(
+                    path.substring(end + 1),
+                    SortedIndex.ADDED.equals(path.substring(start, end))
+                );
+            }
+            return res;
+        }
+
+        /**
+         * Paths of journal entries folded into latest base,
+         * older bases and their folded entries files,
+         * which are obsolete once base of the next generation is saved.
+         *
+         * @param consumed Sequences of entries folded into latest base.
+         * @return Key paths relative to index root.
+         */
+        List<String> obsolete(final Set<String> consumed) {
+            final Stream<String> old;
+            if (this.bases.isEmpty()) {
+                old = Stream.empty();
+            } else {
+                final String latest = this.bases.last();
+                old = Stream.concat(
+                    this.bases.headSet(latest).stream()
+                        .map(base -> String.join("/", SortedIndex.BASES, base)),
+                    this.folded.headSet(latest).stream()
+                        .map(base -> String.join("/", SortedIndex.FOLDED, base))
+                );
+            }
+            return Stream.concat(
+                this.entries.entrySet().stream()
+                    .filter(entry -> consumed.contains(entry.getKey()))
+                    .map(entry -> String.join("/", SortedIndex.JOURNAL, entry.getValue())),
+                old
+            ).collect(Collectors.toList());
+        }
+
+        /**
+         * Paths within directory of index root.
+         *
+         * @param paths Key paths relative to index root.
+         * @param dir Directory name.
+         * @return Paths relative to directory.
+         */
+        private static SortedSet<String> names(
+            final Collection<String> paths, final String dir
+        ) {
+            final String prefix = dir.concat("/");
+            return paths.stream()
+                .filter(path -> path.startsWith(prefix))
+                .map(path -> path.substring(prefix.length()))
+                .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Sorted index of repository tags.
+ * <p>
+ * Index is stored in <code>tagindex</code> directory of repository manifests root,
+ * so tags are listed without listing whole tags tree of repository manifests.
+ * If index file does not exist yet it is built from the tags tree,
+ * see {@link SortedIndex}.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class TagIndex {
+
+    /**
+     * Sorted index.
+     */
+    private final SortedIndex index;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param root Repository manifests root key.
+     */
+    TagIndex(final Storage storage, final Key root) {
+        this(
+            new SortedIndex(
+                storage,
+                new Key.From(root, "tagindex"),
+                new Key.From(root, "tags"),
+                TagIndex::tag
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param index Sorted index.
+     */
+    private TagIndex(final SortedIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Add tag to index.
+     *
+     * @param tag Tag.
+     * @return Completion of index update.
+     */
+    public CompletionStage<Void> add(final Tag tag) {
+        return this.index.add(tag.value());
+    }
+
+    /**
+     * Remove tag from index.
+     *
+     * @param tag Tag.
+     * @return Completion of index update.
+     */
+    public CompletionStage<Void> remove(final Tag tag) {
+        return this.index.remove(tag.value());
+    }
+
+    /**
+     * List tags page.
+     *
+     * @param name Repository name.
+     * @param from Tag to list tags after, empty to list from the beginning.
+     * @param limit Maximum number of tags to list.
+     * @return Tags page.
+     */
+    public CompletionStage<Tags> tags(
+        final RepoName name, final Optional<Tag> from, final int limit
+    ) {
+        return this.index.page(
+            from.map(Tag::value),
+            limit,
+            (tags, next) -> new Tags.From(
+                name,
+                () -> tags.stream().<Tag>map(Tag.Valid::new).iterator(),
+                next.map(Tag.Valid::new)
+            )
+        );
+    }
+
+    /**
+     * Extract tag from key path relative to tags tree.
+     *
+     * @param path Key path like <code>&lt;tag&gt;/current/link</code>.
+     * @return Tag if key is current tag link.
+     */
+    private static Optional<String> tag(final String path) {
+        final Optional<String> res;
+        if (path.endsWith("/current/link")) {
+            res = Optional.of(path.substring(0, path.indexOf('/')));
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.docker.Digest;
+import com.artipie.docker.Tag;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Per-tag index of manifest revisions.
+ * <p>
+ * Every manifest put by tag is recorded as
+ * <code>tags/&lt;tag&gt;/index/&lt;alg&gt;/&lt;hex&gt;/link</code>
+ * in repository manifests root, so revisions ever pointed by tag are found
+ * with single listing of tag directory.
+ * Reverse entry <code>revisions/&lt;alg&gt;/&lt;hex&gt;/tags/&lt;tag&gt;</code>
+ * is recorded too, so tags ever pointed to revision are found with single
+ * listing of revision directory instead of whole tags tree.
+ * Tags stored before index was maintained have no index entries,
+ * only current link of such tags is read and treated as their single revision,
+ * such tags are not found by revision.
+ * Index does not preserve order in which tag pointed to revisions.
+ * </p>
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class TagRevisions {
+
+    /**
+     * Pattern of tag link key relative to manifests root,
+     * either current link or revision index entry.
+     */
+    private static final Pattern ENTRY = Pattern.compile(
+        "^tags/(?<tag>[^/]+)/(current/link|index/(?<alg>[^/]+)/(?<hex>[^/]+)/link)$"
+    );
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Repository manifests root key.
+     */
+    private final Key root;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param root Repository manifests root key.
+     */
+    TagRevisions(final Storage storage, final Key root) {
+        this.storage = storage;
+        this.root = root;
+    }
+
+    /**
+     * Find tags ever pointed to revision.
+     *
+     * @param digest Manifest digest.
+     * @return Tags in lexical order.
+     */
+    public CompletionStage<List<Tag>> tags(final Digest digest) {
+        final Key prefix = this.reverse(digest);
+        return this.storage.list(prefix).thenApply(
+            keys -> keys.stream()
+                .map(key -> key.string().substring(prefix.string().length() + 1))
+                .filter(name -> name.indexOf('/') < 0)
+                .sorted()
+                .<Tag>map(Tag.Valid::new)
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Find revisions tag ever pointed to.
+     *
+     * @param tag Tag.
+     * @return Revision digests in lexical order, empty if tag does not exist.
+     */
+    public CompletionStage<List<Digest>> revisions(final Tag tag) {
+        return this.scan(new Key.From(this.root, "tags", tag.value())).thenApply(
+            index -> index.getOrDefault(tag.value(), Collections.emptySet()).stream()
+                .<Digest>map(Digest.FromString::new)
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Record that tag points to revision.
+     *
+     * @param tag Tag.
+     * @param digest Manifest digest.
+     * @return Completion of index update.
+     */
+    CompletionStage<Void> add(final Tag tag, final Digest digest) {
+        return this.storage.save(
+            new Key.From(this.reverse(digest), tag.value()), new Content.From(new byte[0])
+        ).thenCompose(
+            nothing -> this.storage.save(
+                this.key(tag, digest),
+                new Content.From(digest.string().getBytes(StandardCharsets.US_ASCII))
+            )
+        );
+    }
+
+    /**
+     * Remove revision entry from tag index.
+     *
+     * @param tag Tag.
+     * @param digest Manifest digest.
+     * @return Completion of removal.
+     */
+    CompletionStage<Void> remove(final Tag tag, final Digest digest) {
+        return this.storage.delete(this.key(tag, digest)).thenCompose(
+            nothing -> this.delete(new Key.From(this.reverse(digest), tag.value()))
+        );
+    }
+
+    /**
+     * Remove tag with its current link and revisions index.
+     *
+     * @param tag Tag.
+     * @return Completion of removal.
+     */
+    CompletionStage<Void> clear(final Tag tag) {
+        return this.revisions(tag).thenCompose(
+            digests -> CompletableFuture.allOf(
+                digests.stream()
+                    .map(
+                        digest -> this.delete(
+                            new Key.From(this.reverse(digest), tag.value())
+                        ).toCompletableFuture()
+                    ).toArray(CompletableFuture[]::new)
+            )
+        ).thenCompose(
+            nothing -> this.storage.list(new Key.From(this.root, "tags", tag.value()))
+        ).thenCompose(
+            keys -> CompletableFuture.allOf(
+                keys.stream()
+                    .map(key -> this.storage.delete(key).toCompletableFuture())
+                    .toArray(CompletableFuture[]::new)
+            )
+        );
+    }
+
+    /**
+     * Read revisions of tags by single listing of tags tree.
+     * Current link is read only for tags having no revision index entries.
+     *
+     * @param prefix Tags tree prefix to list.
+     * @return Revision digests by tag name, both sorted.
+     */
+    private CompletionStage<Map<String, Set<String>>> scan(final Key prefix) {
+        return this.storage.list(prefix).thenCompose(
+            keys -> {
+                final Map<String, Set<String>> index = new TreeMap<>();
+                final List<String> legacy = new ArrayList<>(0);
+                keys.stream()
+                    .map(this::relative)
+                    .map(TagRevisions.ENTRY::matcher)
+                    .filter(Matcher::matches)
+                    .forEach(
+                        matcher -> {
+                            final Set<String> revs = index.computeIfAbsent(
+                                matcher.group("tag"), name -> new TreeSet<>()
+                            );
+                            if (matcher.group("hex") == null) {
+                                legacy.add(matcher.group("tag"));
+                            } else {
+                                revs.add(
+                                    String.format(
+                                        "%s:%s", matcher.group("alg"), matcher.group("hex")
+                                    )
+                                );
+                            }
+                        }
+                    );
+                return CompletableFuture.allOf(
+                    legacy.stream()
+                        .filter(name -> index.get(name).isEmpty())
+                        .map(
+                            name -> this.storage.value(
+                                new Key.From(this.root, "tags", name, "current", "link")
+                            ).thenCompose(
+                                pub -> new PublisherAs(pub).asciiString()
+                            ).thenAccept(
+                                link -> index.get(name).add(link)
+                            ).toCompletableFuture()
+                        ).toArray(CompletableFuture[]::new)
+                ).thenApply(nothing -> index);
+            }
+        );
+    }
+
+    /**
+     * Revision index entry key.
+     *
+     * @param tag Tag.
+     * @param digest Manifest digest.
+     * @return Entry key.
+     */
+    private Key key(final Tag tag, final Digest digest) {
+        return new Key.From(
+            this.root, "tags", tag.value(), "index", digest.alg(), digest.hex(), "link"
+        );
+    }
+
+    /**
+     * Reverse index directory of tags ever pointed to revision.
+     *
+     * @param digest Manifest digest.
+     * @return Directory key.
+     */
+    private Key reverse(final Digest digest) {
+        return new Key.From(this.root, "revisions", digest.alg(), digest.hex(), "tags");
+    }
+
+    /**
+     * Delete key if it exists.
+     *
+     * @param key Key.
+     * @return Completion of removal.
+     */
+    private CompletionStage<Void> delete(final Key key) {
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = this.storage.delete(key);
+                } else {
+                    res = CompletableFuture.allOf();
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Key string relative to manifests root.
+     *
+     * @param key Key.
+     * @return Relative key string.
+     */
+    private String relative(final Key key) {
+        return key.string().substring(this.root.string().length() + 1);
+    }
+}
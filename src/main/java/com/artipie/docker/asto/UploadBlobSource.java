@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.Digest;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * BlobSource of finished upload data with verified digest.
+ * <p>
+ * If blob is saved to the same storage where upload is located
+ * and upload consists of single chunk, the chunk is moved to blob key,
+ * so file storage completes it with rename instead of copying the data.
+ * Such move is atomic, so the source reports it and store moves the chunk
+ * straight to blob key, skipping the staging key.
+ * Otherwise upload chunks are copied to blob key, as storage
+ * has no way to join several chunks without copying them.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class UploadBlobSource implements BlobSource {
+
+    /**
+     * Storage where upload is located.
+     */
+    private final Storage storage;
+
+    /**
+     * Upload chunks.
+     */
+    private final UploadChunks chunks;
+
+    /**
+     * Verified digest of upload data.
+     */
+    private final Digest dig;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage where upload is located.
+     * @param chunks Upload chunks.
+     * @param dig Verified digest of upload data.
+     */
+    UploadBlobSource(final Storage storage, final UploadChunks chunks, final Digest dig) {
+        this.storage = storage;
+        this.chunks = chunks;
+        this.dig = dig;
+    }
+
+    @Override
+    public Digest digest() {
+        return this.dig;
+    }
+
+    @Override
+    public CompletionStage<Boolean> atomic(final Storage target) {
+        return this.chunks.keys().thenApply(
+            keys -> target.equals(this.storage) && keys.size() == 1
+        );
+    }
+
+    @Override
+    public CompletionStage<Void> saveTo(final Storage target, final Key key) {
+        return this.chunks.keys().thenCompose(
+            keys -> {
+                final CompletionStage<Void> res;
+                if (target.equals(this.storage) && keys.size() == 1) {
+                    res = target.move(keys.get(0), key);
+                } else {
+                    res = this.chunks.content().thenCompose(
+                        content -> target.save(key, content)
+                    );
+                }
+                return res;
+            }
+        );
+    }
+}
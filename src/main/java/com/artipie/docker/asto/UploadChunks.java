@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.KeyLastPart;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
+
+/**
+ * Chunks of blob upload data.
+ * Every chunk is stored as separate segment under chunks root,
+ * segment name is the offset of its first byte in uploaded data,
+ * so reading segments in order of their names gives whole upload data.
+ *
+ * @since 0.6
+ */
+final class UploadChunks {
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Chunks root key.
+     */
+    private final Key root;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param root Chunks root key.
+     */
+    UploadChunks(final Storage storage, final Key root) {
+        this.storage = storage;
+        this.root = root;
+    }
+
+    /**
+     * Append chunk to the end of uploaded data.
+     *
+     * @param chunk Chunk data.
+     * @return Size of uploaded data after chunk is appended.
+     */
+    public CompletionStage<Long> append(final Publisher<ByteBuffer> chunk) {
+        return this.size().thenCompose(
+            size -> this.storage.save(this.key(size), new Content.From(chunk))
+        ).thenCompose(nothing -> this.size());
+    }
+
+    /**
+     * Read all uploaded data as single content.
+     *
+     * @return Content.
+     */
+    public CompletionStage<Content> content() {
+        return this.content(0);
+    }
+
+    /**
+     * Read uploaded data of chunks starting at or after offset as single content.
+     *
+     * @param from Offset of first chunk to read, should be a chunk boundary.
+     * @return Content.
+     */
+    public CompletionStage<Content> content(final long from) {
+        return this.keys().thenCompose(
+            keys -> this.size(keys).thenApply(
+                size -> new Content.From(
+                    size - from,
+                    Flowable.fromIterable(keys)
+                        .filter(key -> UploadChunks.offset(key) >= from)
+                        .concatMap(
+                            key -> SingleInterop.fromFuture(this.storage.value(key))
+                                .flatMapPublisher(content -> content)
+                        )
+                )
+            )
+        );
+    }
+
+    /**
+     * List offsets of chunks, which are chunk boundaries in uploaded data.
+     *
+     * @return Chunk offsets in ascending order.
+     */
+    public CompletionStage<List<Long>> offsets() {
+        return this.keys().thenApply(
+            keys -> keys.stream().map(UploadChunks::offset).collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Calculate size of uploaded data.
+     *
+     * @return Size of uploaded data in bytes.
+     */
+    public CompletionStage<Long> size() {
+        return this.keys().thenCompose(this::size);
+    }
+
+    /**
+     * List chunk keys in order of their offsets.
+     *
+     * @return Chunk keys.
+     */
+    public CompletionStage<List<Key>> keys() {
+        return this.storage.list(this.root).thenApply(
+            keys -> keys.stream()
+                .sorted(Comparator.comparing(Key::string))
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Calculate size of uploaded data, which is the offset of last chunk plus its size.
+     *
+     * @param keys Chunk keys in order of their offsets.
+     * @return Size of uploaded data in bytes.
+     */
+    private CompletionStage<Long> size(final List<Key> keys) {
+        final CompletionStage<Long> size;
+        if (keys.isEmpty()) {
+            size = CompletableFuture.completedFuture(0L);
+        } else {
+            final Key last = keys.get(keys.size() - 1);
+            size = this.storage.size(last).thenApply(
+                length -> UploadChunks.offset(last) + length
+            );
+        }
+        return size;
+    }
+
+    /**
+     * Key of chunk starting at offset.
+     *
+     * @param offset Offset of chunk first byte.
+     * @return Key.
+     */
+    private Key key(final long offset) {
+        return new Key.From(this.root, String.format("%019d", offset));
+    }
+
+    /**
+     * Offset of chunk first byte.
+     *
+     * @param key Chunk key.
+     * @return Offset.
+     */
+    private static long offset(final Key key) {
+        return Long.parseLong(new KeyLastPart(key).get());
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.KeyLastPart;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.ResumableSha256;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Saved state of upload data digest.
+ * <p>
+ * State is saved after every appended chunk under the key named by
+ * the number of bytes it covers, so any node serving next request of the upload
+ * restores it instead of reading uploaded data. If the latest state is missing,
+ * for example when saving it failed, the latest state at a chunk boundary is restored
+ * and only the chunks it does not cover are digested.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class UploadHashState {
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * States root key.
+     */
+    private final Key root;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param root States root key.
+     */
+    UploadHashState(final Storage storage, final Key root) {
+        this.storage = storage;
+        this.root = root;
+    }
+
+    /**
+     * Load digest state covering all uploaded chunks.
+     *
+     * @param chunks Uploaded chunks.
+     * @return Digest.
+     */
+    public CompletionStage<ResumableSha256> load(final UploadChunks chunks) {
+        return chunks.offsets().thenCompose(
+            offsets -> chunks.size().thenCompose(
+                size -> {
+                    final Set<Long> bounds = new HashSet<>(offsets);
+                    bounds.add(size);
+                    return this.latest(bounds).thenCompose(
+                        sha -> UploadHashState.complete(sha, chunks, size)
+                    );
+                }
+            )
+        );
+    }
+
+    /**
+     * Save digest state and remove states it supersedes.
+     *
+     * @param sha Digest.
+     * @return Completion of save operation.
+     */
+    public CompletionStage<Void> save(final ResumableSha256 sha) {
+        return this.storage.save(this.key(sha.length()), new Content.From(sha.state()))
+            .thenCompose(nothing -> this.storage.list(this.root))
+            .thenCompose(
+                keys -> CompletableFuture.allOf(
+                    keys.stream()
+                        .filter(key -> UploadHashState.offset(key) < sha.length())
+                        .map(key -> this.storage.delete(key).toCompletableFuture())
+                        .toArray(CompletableFuture[]::new)
+                )
+            );
+    }
+
+    /**
+     * Calculate digest of uploaded data.
+     *
+     * @param chunks Uploaded chunks.
+     * @return Digest.
+     */
+    public CompletionStage<Digest> digest(final UploadChunks chunks) {
+        return this.load(chunks).thenApply(ResumableSha256::digest);
+    }
+
+    /**
+     * Read latest saved state at one of the chunk boundaries.
+     * Initial state is used if there is no such state.
+     *
+     * @param bounds Chunk boundaries.
+     * @return Digest.
+     */
+    private CompletionStage<ResumableSha256> latest(final Set<Long> bounds) {
+        return this.storage.list(this.root).thenCompose(
+            keys -> {
+                final Optional<Key> latest = keys.stream()
+                    .filter(key -> bounds.contains(UploadHashState.offset(key)))
+                    .max(Comparator.comparingLong(UploadHashState::offset));
+                final CompletionStage<ResumableSha256> sha;
+                if (latest.isPresent()) {
+                    sha = this.storage.value(latest.get())
+                        .thenCompose(content -> new PublisherAs(content).bytes())
+                        .thenApply(ResumableSha256::new);
+                } else {
+                    sha = CompletableFuture.completedFuture(new ResumableSha256());
+                }
+                return sha;
+            }
+        );
+    }
+
+    /**
+     * Digest chunks not covered by state.
+     *
+     * @param sha Digest state.
+     * @param chunks Uploaded chunks.
+     * @param size Size of uploaded data.
+     * @return Digest covering all chunks.
+     */
+    private static CompletionStage<ResumableSha256> complete(
+        final ResumableSha256 sha, final UploadChunks chunks, final long size
+    ) {
+        final CompletionStage<ResumableSha256> res;
+        if (sha.length() == size) {
+            res = CompletableFuture.completedFuture(sha);
+        } else {
+            res = chunks.content(sha.length()).thenCompose(
+                content -> Flowable.fromPublisher(content)
+                    .reduce(
+                        sha,
+                        (acc, buf) -> {
+                            acc.update(buf);
+                            return acc;
+                        }
+                    )
+                    .to(SingleInterop.get())
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Key of state covering given number of bytes.
+     *
+     * @param length Number of bytes.
+     * @return Key.
+     */
+    private Key key(final long length) {
+        return new Key.From(this.root, String.format("%019d", length));
+    }
+
+    /**
+     * Number of bytes covered by state.
+     *
+     * @param key State key.
+     * @return Number of bytes.
+     */
+    private static long offset(final Key key) {
+        return Long.parseLong(new KeyLastPart(key).get());
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.docker.RepoName;
+import com.jcabi.log.Logger;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reaper of abandoned uploads.
+ * <p>
+ * Upload session is registered in sessions index by {@link SessionKey} with its start time
+ * when started and removed from the index when completed or cancelled,
+ * so reaper lists only the index and not whole repositories tree.
+ * Session records its start time in <code>startedat</code> file
+ * of {@link UploadKey} directory and time of last activity,
+ * like appended chunk or commit, in <code>activeat</code> file.
+ * Append in progress refreshes activity time every minute while data is streamed,
+ * so configured age should be longer than that.
+ * Reaper deletes sessions inactive for longer than configured age
+ * together with their index entries, sessions are processed with bounded concurrency.
+ * Decision depends only on storage contents, so any node may run the reaper.
+ * Session with unreadable times is skipped and logged, it does not fail the run.
+ * </p>
+ * <p>
+ * Reaper may be scheduled as background task with fixed delay between runs,
+ * failed run is logged and does not stop next runs.
+ * </p>
+ *
+ * @since 0.6
+ */
+public final class UploadsReaper implements Runnable {
+
+    /**
+     * Upload start time file name.
+     */
+    static final String STARTED = "startedat";
+
+    /**
+     * Upload last activity time file name.
+     */
+    static final String ACTIVE = "activeat";
+
+    /**
+     * Maximum number of upload sessions processed in parallel.
+     */
+    private static final int PARALLEL = 8;
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Age of upload session to be deleted.
+     */
+    private final Duration age;
+
+    /**
+     * Number of deleted sessions.
+     */
+    private final AtomicLong deleted;
+
+    /**
+     * Number of reclaimed bytes.
+     */
+    private final AtomicLong reclaimed;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param age Age of upload session to be deleted.
+     */
+    public UploadsReaper(final Storage storage, final Duration age) {
+        this(storage, age, new AtomicLong(), new AtomicLong());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param age Age of upload session to be deleted.
+     * @param deleted Number of deleted sessions.
+     * @param reclaimed Number of reclaimed bytes.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private UploadsReaper(
+        final Storage storage, final Duration age,
+        final AtomicLong deleted, final AtomicLong reclaimed
+    ) {
+        this.storage = storage;
+        this.age = age;
+        this.deleted = deleted;
+        this.reclaimed = reclaimed;
+    }
+
+    @Override
+    public void run() {
+        this.reap().handle(
+            (nothing, throwable) -> {
+                if (throwable != null) {
+                    Logger.error(this, "Failed to reap uploads: %[exception]s", throwable);
+                }
+                return nothing;
+            }
+        ).toCompletableFuture().join();
+    }
+
+    /**
+     * Delete abandoned upload sessions.
+     *
+     * @return Completion of deletion.
+     */
+    public CompletionStage<Void> reap() {
+        final Instant now = Instant.now();
+        return this.storage.list(SessionKey.ROOT).thenCompose(
+            entries -> Flowable.fromIterable(entries).flatMapSingle(
+                entry -> SingleInterop.fromFuture(this.session(entry, now)),
+                false,
+                UploadsReaper.PARALLEL
+            ).toList().to(SingleInterop.get())
+        ).thenAccept(
+            sessions -> Logger.info(
+                this, "Upload sessions processed: %d, deleted in total: %d (%d bytes)",
+                sessions.size(), this.deleted.get(), this.reclaimed.get()
+            )
+        );
+    }
+
+    /**
+     * Number of upload sessions deleted since reaper creation.
+     *
+     * @return Number of sessions.
+     */
+    public long sessions() {
+        return this.deleted.get();
+    }
+
+    /**
+     * Number of bytes reclaimed since reaper creation.
+     *
+     * @return Number of bytes.
+     */
+    public long bytes() {
+        return this.reclaimed.get();
+    }
+
+    /**
+     * Process upload session, failure to process it is logged and session is skipped.
+     *
+     * @param entry Upload session index entry.
+     * @param now Current time.
+     * @return True if session was deleted.
+     */
+    private CompletionStage<Boolean> session(final Key entry, final Instant now) {
+        final String path = entry.string().substring(SessionKey.ROOT.string().length() + 1);
+        final int sep = path.lastIndexOf('/');
+        final Key root = new UploadKey(
+            new RepoName.Simple(path.substring(0, sep)), path.substring(sep + 1)
+        );
+        return this.storage.list(root).thenCompose(
+            keys -> this.activity(entry, root, keys).thenCompose(
+                last -> {
+                    final CompletionStage<Boolean> expired;
+                    if (last.plus(this.age).isAfter(now)) {
+                        expired = CompletableFuture.completedFuture(false);
+                    } else {
+                        expired = this.delete(keys)
+                            .thenCompose(nothing -> this.storage.delete(entry))
+                            .thenApply(
+                                nothing -> {
+                                    this.deleted.incrementAndGet();
+                                    return true;
+                                }
+                            );
+                    }
+                    return expired;
+                }
+            )
+        ).handle(
+            (expired, throwable) -> {
+                final boolean res;
+                if (throwable == null) {
+                    res = expired;
+                } else {
+                    Logger.warn(
+                        this, "Skipped upload session %s: %[exception]s",
+                        root.string(), throwable
+                    );
+                    res = false;
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Read latest recorded time of upload session.
+     *
+     * @param entry Upload session index entry.
+     * @param root Upload session root.
+     * @param keys Upload session keys.
+     * @return Latest of index entry, start and activity times.
+     */
+    private CompletionStage<Instant> activity(
+        final Key entry, final Key root, final Collection<Key> keys
+    ) {
+        final Set<String> names = Set.of(
+            new Key.From(root, UploadsReaper.STARTED).string(),
+            new Key.From(root, UploadsReaper.ACTIVE).string()
+        );
+        return Flowable.fromIterable(keys)
+            .filter(key -> names.contains(key.string()))
+            .startWith(entry)
+            .flatMapSingle(
+                key -> SingleInterop.fromFuture(
+                    this.storage.value(key)
+                        .thenCompose(content -> new PublisherAs(content).asciiString())
+                        .thenApply(time -> Instant.parse(time.trim()))
+                )
+            )
+            .reduce((first, second) -> Collections.max(List.of(first, second)))
+            .toSingle()
+            .to(SingleInterop.get());
+    }
+
+    /**
+     * Delete upload session keys and count reclaimed space.
+     *
+     * @param keys Upload session keys.
+     * @return Completion of deletion.
+     */
+    private CompletionStage<Void> delete(final Collection<Key> keys) {
+        return CompletableFuture.allOf(
+            keys.stream().map(
+                key -> this.storage.size(key)
+                    .thenCompose(size -> this.storage.delete(key).thenApply(nothing -> size))
+                    .thenAccept(this.reclaimed::addAndGet)
+            ).toArray(CompletableFuture[]::new)
+        );
+    }
+}
@@ -23,9 +23,16 @@
  */
 package com.artipie.docker.cache;
 
+import com.artipie.docker.Catalog;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
 /**
  * Cache {@link Docker} implementation.
@@ -44,6 +51,16 @@ public final class CacheDocker implements Docker {
      */
     private final Docker cache;
 
+    /**
+     * Platforms to prefetch from manifest lists.
+     */
+    private final Collection<String> platforms;
+
+    /**
+     * Background copy jobs shared by all repositories.
+     */
+    private final CopyJobs jobs;
+
     /**
      * Ctor.
      *
@@ -51,12 +68,62 @@ public final class CacheDocker implements Docker {
      * @param cache Cache repository.
      */
     public CacheDocker(final Docker origin, final Docker cache) {
+        this(origin, cache, Collections.emptyList());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     * @param cache Cache repository.
+     * @param platforms Platforms to prefetch from manifest lists,
+     *  as <code>os/architecture</code> or <code>os/architecture/variant</code>.
+     */
+    public CacheDocker(
+        final Docker origin, final Docker cache, final Collection<String> platforms
+    ) {
+        this(origin, cache, platforms, new CopyJobs());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     * @param cache Cache repository.
+     * @param platforms Platforms to prefetch from manifest lists,
+     *  as <code>os/architecture</code> or <code>os/architecture/variant</code>.
+     * @param jobs Background copy jobs shared by all repositories.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public CacheDocker(
+        final Docker origin, final Docker cache, final Collection<String> platforms,
+        final CopyJobs jobs
+    ) {
         this.origin = origin;
         this.cache = cache;
+        this.platforms = platforms;
+        this.jobs = jobs;
     }
 
     @Override
     public Repo repo(final RepoName name) {
-        return new CacheRepo(this.origin.repo(name), this.cache.repo(name));
+        return new CacheRepo(
+            this.origin.repo(name), this.cache.repo(name), this.platforms, this.jobs
+        );
+    }
+
+    @Override
+    public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+        return this.origin.catalog(from, limit).handle(
+            (catalog, throwable) -> {
+                final CompletionStage<Catalog> result;
+                if (throwable == null) {
+                    result = CompletableFuture.completedFuture(catalog);
+                } else {
+                    result = this.cache.catalog(from, limit);
+                }
+                return result;
+            }
+        ).thenCompose(Function.identity());
     }
 }
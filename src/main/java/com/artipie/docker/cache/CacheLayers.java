@@ -23,10 +23,11 @@
  */
 package com.artipie.docker.cache;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
+import com.artipie.docker.error.ReadOnlyException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -34,6 +35,9 @@ import java.util.function.Function;
 
 /**
  * Cache implementation of {@link Layers}.
+ * Layer pulled from origin is written to cache while it is read.
+ * Layer being copied to cache by background job is pulled from origin
+ * without waiting for the job and is not written to cache again.
  *
  * @since 0.3
  */
@@ -49,6 +53,11 @@ public final class CacheLayers implements Layers {
      */
     private final Layers cache;
 
+    /**
+     * Background copy jobs.
+     */
+    private final CopyJobs jobs;
+
     /**
      * Ctor.
      *
@@ -56,13 +65,27 @@ public final class CacheLayers implements Layers {
      * @param cache Cache layers.
      */
     public CacheLayers(final Layers origin, final Layers cache) {
+        this(origin, cache, new CopyJobs());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin layers.
+     * @param cache Cache layers.
+     * @param jobs Background copy jobs.
+     */
+    public CacheLayers(final Layers origin, final Layers cache, final CopyJobs jobs) {
         this.origin = origin;
         this.cache = cache;
+        this.jobs = jobs;
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
-        throw new UnsupportedOperationException();
+    public CompletionStage<Blob> put(final BlobSource source) {
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot add to cache layers, they are read-only")
+        );
     }
 
     @Override
@@ -83,4 +106,57 @@ public final class CacheLayers implements Layers {
             }
         ).thenCompose(Function.identity());
     }
+
+    @Override
+    public CompletionStage<Optional<Blob>> pull(final Digest digest) {
+        return this.cache.pull(digest).handle(
+            (cached, throwable) -> {
+                final CompletionStage<Optional<Blob>> result;
+                if (throwable == null) {
+                    if (cached.isPresent()) {
+                        result = CompletableFuture.completedFuture(cached);
+                    } else {
+                        result = this.remote(digest).exceptionally(ignored -> cached);
+                    }
+                } else {
+                    result = this.remote(digest);
+                }
+                return result;
+            }
+        ).thenCompose(Function.identity());
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final Digest digest) {
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot delete from cache layers, they are read-only")
+        );
+    }
+
+    /**
+     * Pull layer from origin, layer which is not being copied by background job
+     * is written to cache while it is read.
+     *
+     * @param digest Layer digest.
+     * @return Layer pulled from origin.
+     */
+    private CompletionStage<Optional<Blob>> remote(final Digest digest) {
+        final CompletionStage<Optional<Blob>> res;
+        if (this.jobs.copying(digest).isPresent()) {
+            res = this.origin.pull(digest);
+        } else {
+            res = this.origin.pull(digest).thenApply(this::caching);
+        }
+        return res;
+    }
+
+    /**
+     * Wrap blob pulled from origin to write it to cache while it is read.
+     *
+     * @param pulled Blob pulled from origin.
+     * @return Caching blob.
+     */
+    private Optional<Blob> caching(final Optional<Blob> pulled) {
+        return pulled.map(blob -> new CachingBlob(blob, this.cache, this.jobs));
+    }
 }
@@ -24,19 +24,39 @@
 package com.artipie.docker.cache;
 
 import com.artipie.asto.Content;
+import com.artipie.docker.CheckedBlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Manifests;
 import com.artipie.docker.Repo;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
+import com.artipie.docker.error.ReadOnlyException;
+import com.artipie.docker.manifest.ChildManifest;
+import com.artipie.docker.manifest.Layer;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
 import com.jcabi.log.Logger;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Cache implementation of {@link Repo}.
+ * <p>
+ * Manifest lists are cached with child manifests of prefetched platforms only,
+ * other child manifests are cached without their config and layers
+ * until they are requested by clients.
+ * Manifest received from origin is copied to cache together with blobs it references
+ * by background job, so manifest is not requested from origin once again.
+ * Job is not submitted if cache already has the same manifest by the reference.
+ * Job copies referenced blobs one by one, so number of running jobs limits
+ * number of blobs downloaded at once.
+ * </p>
  *
  * @since 0.3
  */
@@ -52,6 +72,17 @@ public final class CacheManifests implements Manifests {
      */
     private final Repo cache;
 
+    /**
+     * Platforms to prefetch from manifest lists,
+     * as <code>os/architecture</code> or <code>os/architecture/variant</code>.
+     */
+    private final Collection<String> platforms;
+
+    /**
+     * Background copy jobs.
+     */
+    private final CopyJobs jobs;
+
     /**
      * Ctor.
      *
@@ -59,13 +90,46 @@ public final class CacheManifests implements Manifests {
      * @param cache Cache repository.
      */
     public CacheManifests(final Repo origin, final Repo cache) {
+        this(origin, cache, Collections.emptyList());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     * @param cache Cache repository.
+     * @param platforms Platforms to prefetch from manifest lists.
+     */
+    public CacheManifests(
+        final Repo origin, final Repo cache, final Collection<String> platforms
+    ) {
+        this(origin, cache, platforms, new CopyJobs());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     * @param cache Cache repository.
+     * @param platforms Platforms to prefetch from manifest lists.
+     * @param jobs Background copy jobs.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public CacheManifests(
+        final Repo origin, final Repo cache, final Collection<String> platforms,
+        final CopyJobs jobs
+    ) {
         this.origin = origin;
         this.cache = cache;
+        this.platforms = platforms;
+        this.jobs = jobs;
     }
 
     @Override
     public CompletionStage<Manifest> put(final ManifestRef ref, final Content content) {
-        throw new UnsupportedOperationException();
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot add to cache manifests, they are read-only")
+        );
     }
 
     @Override
@@ -75,7 +139,7 @@ public final class CacheManifests implements Manifests {
                 final CompletionStage<Optional<Manifest>> result;
                 if (throwable == null) {
                     if (original.isPresent()) {
-                        this.copy(ref);
+                        this.update(ref, original.get());
                         result = CompletableFuture.completedFuture(original);
                     } else {
                         result = this.cache.manifests().get(ref).exceptionally(ignored -> original);
@@ -88,57 +152,166 @@ public final class CacheManifests implements Manifests {
         ).thenCompose(Function.identity());
     }
 
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        return this.origin.manifests().tags(from, limit).handle(
+            (tags, throwable) -> {
+                final CompletionStage<Tags> result;
+                if (throwable == null) {
+                    result = CompletableFuture.completedFuture(tags);
+                } else {
+                    result = this.cache.manifests().tags(from, limit);
+                }
+                return result;
+            }
+        ).thenCompose(Function.identity());
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final ManifestRef ref) {
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot delete from cache manifests, they are read-only")
+        );
+    }
+
     /**
-     * Copy manifest by reference from original to cache.
+     * Submit job copying manifest received from original to cache,
+     * unless cache already has same manifest by the reference.
      *
      * @param ref Manifest reference.
-     * @return Copy completion.
+     * @param manifest Manifest received from original.
+     */
+    private void update(final ManifestRef ref, final Manifest manifest) {
+        final String digest = manifest.digest().string();
+        this.cache.manifests().get(ref).handle(
+            (cached, throwable) -> {
+                if (throwable != null || !cached.map(mnf -> mnf.digest().string())
+                    .equals(Optional.of(digest))) {
+                    this.submit(ref, manifest);
+                }
+                return cached;
+            }
+        );
+    }
+
+    /**
+     * Submit job copying manifest received from original to cache.
+     *
+     * @param ref Manifest reference.
+     * @param manifest Manifest received from original.
+     */
+    private void submit(final ManifestRef ref, final Manifest manifest) {
+        this.jobs.submit(
+            String.format("%s@%s", ref.string(), manifest.digest().string()),
+            () -> this.store(ref, manifest).handle(
+                (ignored, ex) -> {
+                    if (ex != null) {
+                        Logger.error(
+                            this, "Failed to cache manifest %s: %[exception]s", ref.string(), ex
+                        );
+                    }
+                    return null;
+                }
+            )
+        );
+    }
+
+    /**
+     * Store manifest in cache together with blobs it references.
+     *
+     * @param ref Manifest reference.
+     * @param manifest Manifest from original.
+     * @return Store completion.
      */
-    private CompletionStage<Void> copy(final ManifestRef ref) {
-        return this.origin.manifests().get(ref).thenApply(Optional::get).thenCompose(
-            manifest -> CompletableFuture.allOf(
-                this.copy(manifest.config()).toCompletableFuture(),
-                CompletableFuture.allOf(
+    private CompletionStage<Void> store(final ManifestRef ref, final Manifest manifest) {
+        final CompletionStage<Void> refs;
+        if (manifest.manifests().isEmpty()) {
+            refs = CacheManifests.sequentially(
+                Stream.concat(
+                    Stream.of(manifest.config()),
                     manifest.layers().stream()
                         .filter(layer -> layer.urls().isEmpty())
-                        .map(layer -> this.copy(layer.digest()).toCompletableFuture())
-                        .toArray(CompletableFuture[]::new)
-                ).toCompletableFuture()
-            ).thenCompose(
-                nothing -> this.cache.manifests().put(ref, manifest.content())
+                        .map(Layer::digest)
+                ).collect(Collectors.toList()),
+                this::copy
+            );
+        } else {
+            refs = CacheManifests.sequentially(manifest.manifests(), this::child);
+        }
+        return refs.thenCompose(
+            nothing -> this.cache.manifests().put(ref, manifest.content())
+        ).thenCompose(
+            nothing -> CompletableFuture.allOf()
+        );
+    }
+
+    /**
+     * Copy child manifest of manifest list from original to cache.
+     * Child manifest of prefetched platform is stored with its config and layers,
+     * other child manifests are stored as blobs only.
+     *
+     * @param child Child manifest.
+     * @return Copy completion.
+     */
+    private CompletionStage<Void> child(final ChildManifest child) {
+        final ManifestRef ref = new ManifestRef.FromDigest(child.digest());
+        return this.origin.manifests().get(ref).thenApply(
+            found -> found.orElseThrow(
+                () -> new IllegalStateException(
+                    String.format(
+                        "Child manifest %s is not found in origin", child.digest().string()
+                    )
+                )
             )
-        ).handle(
-            (ignored, ex) -> {
-                if (ex != null) {
-                    Logger.error(
-                        this, "Failed to cache manifest %s: %[exception]s", ref.string(), ex
-                    );
+        ).thenCompose(
+            manifest -> {
+                final CompletionStage<Void> res;
+                if (child.platform().map(this.platforms::contains).orElse(false)) {
+                    res = this.store(ref, manifest);
+                } else {
+                    res = this.cache.layers().put(
+                        new CheckedBlobSource(manifest.content(), child.digest())
+                    ).thenCompose(blob -> CompletableFuture.allOf());
                 }
-                return null;
+                return res;
             }
         );
     }
 
     /**
      * Copy blob by digest from original to cache.
+     * Blob is downloaded only if it is neither cached nor being cached already,
+     * copy waits for blob being cached by client or another job.
      *
      * @param digest Blob digest.
      * @return Copy completion.
      */
     private CompletionStage<Void> copy(final Digest digest) {
-        return this.origin.layers().get(digest).thenCompose(
-            blob -> {
-                if (blob.isEmpty()) {
-                    throw new IllegalArgumentException(
-                        String.format("Failed loading blob %s", digest)
-                    );
-                }
-                return blob.get().content();
-            }
-        ).thenCompose(
-            content -> this.cache.layers().put(content, digest)
-        ).thenCompose(
-            blob -> CompletableFuture.allOf()
+        return this.jobs.blob(
+            digest,
+            () -> this.cache.layers().put(
+                new OriginBlobSource(this.origin.layers(), digest)
+            ).thenCompose(
+                blob -> CompletableFuture.allOf()
+            )
         );
     }
+
+    /**
+     * Run steps one by one, so job copies one item at once.
+     *
+     * @param items Items to process.
+     * @param step Step processing an item.
+     * @param <T> Item type.
+     * @return Completion of all steps.
+     */
+    private static <T> CompletionStage<Void> sequentially(
+        final Collection<T> items, final Function<T, CompletionStage<Void>> step
+    ) {
+        CompletionStage<Void> res = CompletableFuture.allOf();
+        for (final T item : items) {
+            res = res.thenCompose(nothing -> step.apply(item));
+        }
+        return res;
+    }
 }
@@ -27,6 +27,8 @@ import com.artipie.docker.Layers;
 import com.artipie.docker.Manifests;
 import com.artipie.docker.Repo;
 import com.artipie.docker.Uploads;
+import java.util.Collection;
+import java.util.Collections;
 
 /**
  * Cache implementation of {@link Repo}.
@@ -45,6 +47,16 @@ public final class CacheRepo implements Repo {
      */
     private final Repo cache;
 
+    /**
+     * Platforms to prefetch from manifest lists.
+     */
+    private final Collection<String> platforms;
+
+    /**
+     * Background copy jobs.
+     */
+    private final CopyJobs jobs;
+
     /**
      * Ctor.
      *
@@ -52,18 +64,47 @@ public final class CacheRepo implements Repo {
      * @param cache Cache repository.
      */
     public CacheRepo(final Repo origin, final Repo cache) {
+        this(origin, cache, Collections.emptyList());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     * @param cache Cache repository.
+     * @param platforms Platforms to prefetch from manifest lists.
+     */
+    public CacheRepo(final Repo origin, final Repo cache, final Collection<String> platforms) {
+        this(origin, cache, platforms, new CopyJobs());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     * @param cache Cache repository.
+     * @param platforms Platforms to prefetch from manifest lists.
+     * @param jobs Background copy jobs.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public CacheRepo(
+        final Repo origin, final Repo cache, final Collection<String> platforms,
+        final CopyJobs jobs
+    ) {
         this.origin = origin;
         this.cache = cache;
+        this.platforms = platforms;
+        this.jobs = jobs;
     }
 
     @Override
     public Layers layers() {
-        return new CacheLayers(this.origin.layers(), this.cache.layers());
+        return new CacheLayers(this.origin.layers(), this.cache.layers(), this.jobs);
     }
 
     @Override
     public Manifests manifests() {
-        return new CacheManifests(this.origin, this.cache);
+        return new CacheManifests(this.origin, this.cache, this.platforms, this.jobs);
     }
 
     @Override
@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.CheckedBlobSource;
+import com.artipie.docker.Digest;
+import com.artipie.docker.Layers;
+import com.jcabi.log.Logger;
+import io.reactivex.Flowable;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Blob which content is written to cache while being read.
+ * <p>
+ * Content read from origin is sent to the reader as is, while a copy of each chunk
+ * is saved to cache in background, so the reader does not wait for the cache.
+ * Copy is checked against blob digest while saved, blob is not cached if content
+ * does not match the digest or reading is not completed.
+ * Copy is buffered up to a limit: it is abandoned if cache is slower than reader
+ * and the buffer is full, or if cache skips it, as when the same blob
+ * is already cached or being written by another reader.
+ * Write to cache is registered in copy jobs, so they do not download the blob again.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class CachingBlob implements Blob {
+
+    /**
+     * Default maximum number of bytes buffered for cache.
+     */
+    private static final long LIMIT = 16L * 1024 * 1024;
+
+    /**
+     * Origin blob.
+     */
+    private final Blob origin;
+
+    /**
+     * Cache layers.
+     */
+    private final Layers cache;
+
+    /**
+     * Maximum number of bytes buffered for cache.
+     */
+    private final long limit;
+
+    /**
+     * Background copy jobs, notified of blob being cached.
+     */
+    private final CopyJobs jobs;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin blob.
+     * @param cache Cache layers.
+     * @param jobs Background copy jobs, notified of blob being cached.
+     */
+    CachingBlob(final Blob origin, final Layers cache, final CopyJobs jobs) {
+        this(origin, cache, jobs, CachingBlob.LIMIT);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin blob.
+     * @param cache Cache layers.
+     * @param jobs Background copy jobs, notified of blob being cached.
+     * @param limit Maximum number of bytes buffered for cache.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    CachingBlob(
+        final Blob origin, final Layers cache, final CopyJobs jobs, final long limit
+    ) {
+        this.origin = origin;
+        this.cache = cache;
+        this.jobs = jobs;
+        this.limit = limit;
+    }
+
+    @Override
+    public Digest digest() {
+        return this.origin.digest();
+    }
+
+    @Override
+    public CompletionStage<Long> size() {
+        return this.origin.size();
+    }
+
+    @Override
+    public CompletionStage<Content> content() {
+        return this.origin.content().thenApply(
+            content -> {
+                final ContentCopy copy = new ContentCopy(this.limit);
+                final Digest digest = this.origin.digest();
+                final CompletionStage<Blob> write = this.cache.put(
+                    new CopySource(
+                        new CheckedBlobSource(
+                            new Content.From(content.size(), copy.chunks()), digest
+                        ),
+                        copy
+                    )
+                );
+                this.jobs.tee(digest, write);
+                write.handle(
+                    (blob, ex) -> {
+                        copy.settle();
+                        if (ex != null) {
+                            Logger.warn(
+                                this, "Failed to cache blob %s: %[exception]s",
+                                digest.string(), ex
+                            );
+                        }
+                        return blob;
+                    }
+                );
+                return new Content.From(
+                    content.size(),
+                    Flowable.fromPublisher(content)
+                        .doOnNext(copy::accept)
+                        .doOnError(err -> copy.abandon("Reading blob failed"))
+                        .doOnComplete(copy::complete)
+                        .doOnCancel(
+                            () -> copy.abandon(
+                                String.format("Reading blob %s cancelled", digest.string())
+                            )
+                        )
+                );
+            }
+        );
+    }
+
+    /**
+     * Source of blob saved from content copy,
+     * which abandons the copy if it is not saved.
+     *
+     * @since 0.6
+     */
+    private static final class CopySource implements BlobSource {
+
+        /**
+         * Origin source.
+         */
+        private final BlobSource origin;
+
+        /**
+         * Content copy.
+         */
+        private final ContentCopy copy;
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin source.
+         * @param copy Content copy.
+         */
+        CopySource(final BlobSource origin, final ContentCopy copy) {
+            this.origin = origin;
+            this.copy = copy;
+        }
+
+        @Override
+        public Digest digest() {
+            return this.origin.digest();
+        }
+
+        @Override
+        public CompletionStage<Void> saveTo(final Storage storage, final Key key) {
+            return this.origin.saveTo(storage, key);
+        }
+
+        @Override
+        public void skip() {
+            this.copy.abandon("Blob is already cached or being cached");
+        }
+    }
+}
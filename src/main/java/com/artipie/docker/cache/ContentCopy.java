@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.cache;
+
+import com.artipie.asto.Remaining;
+import io.reactivex.Flowable;
+import io.reactivex.processors.FlowableProcessor;
+import io.reactivex.processors.UnicastProcessor;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copy of content chunks being read, buffered until consumed.
+ * <p>
+ * Buffer is bounded by limit in bytes: copy is abandoned when consumer
+ * does not keep up and buffer exceeds the limit, or when it turns out copy
+ * is not consumed at all. Consumer of abandoned copy receives an error,
+ * buffered chunks are dropped and further chunks are not copied.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class ContentCopy {
+
+    /**
+     * Maximum number of buffered bytes.
+     */
+    private final long limit;
+
+    /**
+     * Copied chunks.
+     */
+    private final FlowableProcessor<ByteBuffer> processor;
+
+    /**
+     * Number of bytes copied and not consumed yet.
+     */
+    private final AtomicLong buffered;
+
+    /**
+     * Whether copy is abandoned.
+     */
+    private final AtomicBoolean abandoned;
+
+    /**
+     * Whether copy is subscribed to.
+     */
+    private final AtomicBoolean consumed;
+
+    /**
+     * Ctor.
+     *
+     * @param limit Maximum number of buffered bytes.
+     */
+    ContentCopy(final long limit) {
+        this.limit = limit;
+        this.processor = UnicastProcessor.<ByteBuffer>create().toSerialized();
+        this.buffered = new AtomicLong();
+        this.abandoned = new AtomicBoolean();
+        this.consumed = new AtomicBoolean();
+    }
+
+    /**
+     * Copied chunks, may be subscribed once.
+     *
+     * @return Publisher of copied chunks.
+     */
+    Flowable<ByteBuffer> chunks() {
+        return this.processor
+            .doOnSubscribe(sub -> this.consumed.set(true))
+            .doOnNext(buf -> this.buffered.addAndGet(-buf.remaining()));
+    }
+
+    /**
+     * Copy chunk, abandon copy if buffer exceeds the limit.
+     * Chunk is copied, so reading it further does not affect the copy.
+     *
+     * @param chunk Chunk read.
+     */
+    void accept(final ByteBuffer chunk) {
+        if (!this.abandoned.get()) {
+            final byte[] bytes = new Remaining(chunk, true).bytes();
+            if (this.buffered.addAndGet(bytes.length) > this.limit) {
+                this.abandon(
+                    String.format("Copy exceeds buffer limit of %d bytes", this.limit)
+                );
+            } else {
+                this.processor.onNext(ByteBuffer.wrap(bytes));
+            }
+        }
+    }
+
+    /**
+     * Complete copy when all chunks are read.
+     */
+    void complete() {
+        if (!this.abandoned.get()) {
+            this.processor.onComplete();
+        }
+    }
+
+    /**
+     * Abandon copy if it is not consumed yet.
+     * Should be called when it is known consumer will not subscribe anymore.
+     */
+    void settle() {
+        if (!this.consumed.get()) {
+            this.abandon("Copy is not consumed");
+        }
+    }
+
+    /**
+     * Abandon copy: fail consumer and drop buffered chunks.
+     *
+     * @param reason Reason to abandon copy.
+     */
+    void abandon(final String reason) {
+        if (this.abandoned.compareAndSet(false, true)) {
+            this.processor.onError(new IllegalStateException(reason));
+            if (this.consumed.compareAndSet(false, true)) {
+                this.processor.ignoreElements().onErrorComplete().subscribe();
+            }
+        }
+    }
+}
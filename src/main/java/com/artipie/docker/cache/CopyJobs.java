@@ -0,0 +1,291 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.cache;
+
+import com.artipie.docker.Digest;
+import com.jcabi.log.Logger;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded queue of background jobs copying images from origin to cache.
+ * <p>
+ * Only limited number of jobs run at once, so copying does not compete
+ * with requests of clients for remote registry, and only limited number of jobs
+ * may wait in queue, jobs submitted to full queue are dropped.
+ * Job submitted while job with same name is queued or running is ignored.
+ * Job keeps its place until it ends, so the limit bounds downloads actually running,
+ * job running longer than timeout is reported.
+ * </p>
+ * <p>
+ * Jobs copy blobs one by one through {@link #blob(Digest, Supplier)},
+ * so each running job downloads at most one blob at once,
+ * and same blob is copied by one job at once.
+ * Blob being written to cache while read by client is registered by
+ * {@link #tee(Digest, CompletionStage)}, job waits for such write instead
+ * of downloading blob again. Client pulling blob being copied by job,
+ * found by {@link #copying(Digest)}, reads it from origin without waiting
+ * for the job and without writing it to cache again.
+ * </p>
+ *
+ * @since 0.6
+ */
+public final class CopyJobs {
+
+    /**
+     * Default number of jobs running at once.
+     */
+    private static final int PARALLEL = 2;
+
+    /**
+     * Default number of jobs waiting in queue.
+     */
+    private static final int CAPACITY = 256;
+
+    /**
+     * Default time of running job to report it after.
+     */
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    /**
+     * Maximum number of jobs running at once.
+     */
+    private final int parallel;
+
+    /**
+     * Maximum number of jobs waiting in queue.
+     */
+    private final int capacity;
+
+    /**
+     * Jobs waiting in queue by name, in order of submission.
+     */
+    private final Map<String, Supplier<CompletionStage<Void>>> queued;
+
+    /**
+     * Names of running jobs.
+     */
+    private final Set<String> running;
+
+    /**
+     * Time of running job to report it after.
+     */
+    private final Duration timeout;
+
+    /**
+     * Blobs being copied by jobs, by digest.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Void>> copies;
+
+    /**
+     * Blobs being written to cache while read by clients, by digest.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Void>> tees;
+
+    /**
+     * Ctor.
+     */
+    public CopyJobs() {
+        this(CopyJobs.PARALLEL, CopyJobs.CAPACITY);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param parallel Maximum number of jobs running at once.
+     * @param capacity Maximum number of jobs waiting in queue.
+     */
+    public CopyJobs(final int parallel, final int capacity) {
+        this(parallel, capacity, CopyJobs.TIMEOUT);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param parallel Maximum number of jobs running at once.
+     * @param capacity Maximum number of jobs waiting in queue.
+     * @param timeout Time of running job to report it after.
+     */
+    public CopyJobs(final int parallel, final int capacity, final Duration timeout) {
+        this.parallel = parallel;
+        this.capacity = capacity;
+        this.timeout = timeout;
+        this.queued = new LinkedHashMap<>();
+        this.running = new HashSet<>();
+        this.copies = new ConcurrentHashMap<>();
+        this.tees = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Submit job to run in background.
+     *
+     * @param name Job name.
+     * @param job Job.
+     */
+    public void submit(final String name, final Supplier<CompletionStage<Void>> job) {
+        final boolean accepted;
+        synchronized (this.queued) {
+            if (this.queued.containsKey(name) || this.running.contains(name)) {
+                accepted = true;
+            } else if (this.queued.size() < this.capacity) {
+                this.queued.put(name, job);
+                accepted = true;
+            } else {
+                accepted = false;
+            }
+        }
+        if (!accepted) {
+            Logger.warn(this, "Copy queue is full, %s is not copied", name);
+        }
+        this.next();
+    }
+
+    /**
+     * Copy blob as a step of running job.
+     * Waits for blob being written to cache while read by client or copied
+     * by another job, so copy is expected to find blob cached and skip download.
+     *
+     * @param digest Blob digest.
+     * @param copy Copy of blob, which skips blob already cached.
+     * @return Copy completion.
+     */
+    public CompletionStage<Void> blob(
+        final Digest digest, final Supplier<CompletionStage<Void>> copy
+    ) {
+        final String key = digest.string();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        final CompletableFuture<Void> other = this.copies.putIfAbsent(key, done);
+        final CompletionStage<Void> res;
+        if (other == null) {
+            res = CopyJobs.settled(this.tees.get(key))
+                .thenCompose(nothing -> copy.get())
+                .whenComplete(
+                    (nothing, ex) -> {
+                        this.copies.remove(key, done);
+                        done.complete(null);
+                    }
+                );
+        } else {
+            res = other.thenCompose(nothing -> copy.get());
+        }
+        return res;
+    }
+
+    /**
+     * Register blob being written to cache while read by client.
+     *
+     * @param digest Blob digest.
+     * @param write Completion of write to cache.
+     */
+    public void tee(final Digest digest, final CompletionStage<?> write) {
+        final String key = digest.string();
+        final CompletableFuture<Void> done = write.<Void>handle((res, ex) -> null)
+            .toCompletableFuture();
+        this.tees.put(key, done);
+        done.thenRun(() -> this.tees.remove(key, done));
+    }
+
+    /**
+     * Find copy of blob by running job.
+     *
+     * @param digest Blob digest.
+     * @return Copy completion, empty if blob is not being copied.
+     */
+    public Optional<CompletionStage<Void>> copying(final Digest digest) {
+        return Optional.ofNullable(this.copies.get(digest.string()));
+    }
+
+    /**
+     * Start next job from queue if number of running jobs allows.
+     */
+    private void next() {
+        Optional<Map.Entry<String, Supplier<CompletionStage<Void>>>> job = Optional.empty();
+        synchronized (this.queued) {
+            if (this.running.size() < this.parallel && !this.queued.isEmpty()) {
+                final Iterator<Map.Entry<String, Supplier<CompletionStage<Void>>>> iter =
+                    this.queued.entrySet().iterator();
+                final Map.Entry<String, Supplier<CompletionStage<Void>>> first = iter.next();
+                iter.remove();
+                this.running.add(first.getKey());
+                job = Optional.of(first);
+            }
+        }
+        job.ifPresent(this::run);
+    }
+
+    /**
+     * Run job, job keeps its place until it ends even if it runs longer than timeout.
+     *
+     * @param job Job name and job.
+     */
+    private void run(final Map.Entry<String, Supplier<CompletionStage<Void>>> job) {
+        final CompletableFuture<Void> work = CompletableFuture.allOf()
+            .thenCompose(nothing -> job.getValue().get())
+            .toCompletableFuture();
+        work.copy().orTimeout(this.timeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete(
+            (nothing, ex) -> {
+                if (ex instanceof TimeoutException) {
+                    Logger.warn(
+                        this, "Copy job %s runs longer than %s", job.getKey(), this.timeout
+                    );
+                }
+            }
+        );
+        work.whenComplete(
+            (nothing, ex) -> {
+                if (ex != null) {
+                    Logger.warn(this, "Copy job %s failed: %[exception]s", job.getKey(), ex);
+                }
+                synchronized (this.queued) {
+                    this.running.remove(job.getKey());
+                }
+                this.next();
+            }
+        );
+    }
+
+    /**
+     * Completion of running operation regardless of its result.
+     *
+     * @param running Running operation, may be null.
+     * @return Completion.
+     */
+    private static CompletionStage<Void> settled(final CompletableFuture<Void> running) {
+        return Optional.ofNullable(running)
+            .map(future -> future.exceptionally(ex -> null))
+            .orElseGet(() -> CompletableFuture.allOf());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.cache;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.CheckedBlobSource;
+import com.artipie.docker.Digest;
+import com.artipie.docker.Layers;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Source of blob pulled from origin layers only when it is saved,
+ * so blob which is already cached or being cached is not downloaded again.
+ * Content is checked against digest on saving.
+ *
+ * @since 0.6
+ */
+final class OriginBlobSource implements BlobSource {
+
+    /**
+     * Origin layers.
+     */
+    private final Layers origin;
+
+    /**
+     * Blob digest.
+     */
+    private final Digest dig;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin layers.
+     * @param dig Blob digest.
+     */
+    OriginBlobSource(final Layers origin, final Digest dig) {
+        this.origin = origin;
+        this.dig = dig;
+    }
+
+    @Override
+    public Digest digest() {
+        return this.dig;
+    }
+
+    @Override
+    public CompletionStage<Void> saveTo(final Storage storage, final Key key) {
+        return this.origin.pull(this.dig).thenCompose(
+            found -> found.map(Blob::content).orElseThrow(
+                () -> new IllegalArgumentException(
+                    String.format("Failed loading blob %s", this.dig.string())
+                )
+            )
+        ).thenCompose(
+            content -> new CheckedBlobSource(content, this.dig).saveTo(storage, key)
+        );
+    }
+}
@@ -23,11 +23,18 @@
  */
 package com.artipie.docker.composite;
 
+import com.artipie.docker.Catalog;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.misc.ParsedCatalog;
+import com.jcabi.log.Logger;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
 /**
@@ -69,7 +76,47 @@ public final class MultiReadDocker implements Docker {
     @Override
     public Repo repo(final RepoName name) {
         return new MultiReadRepo(
+            name,
             this.dockers.stream().map(docker -> docker.repo(name)).collect(Collectors.toList())
         );
     }
+
+    @Override
+    public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+        final List<CompletableFuture<Catalog>> pages = this.dockers.stream().map(
+            docker -> docker.catalog(from, limit).exceptionally(
+                throwable -> {
+                    Logger.error(this, "Failed to list catalog: %[exception]s", throwable);
+                    return new Catalog.From(Collections.emptyList(), Optional.empty());
+                }
+            ).toCompletableFuture()
+        ).collect(Collectors.toList());
+        final List<CompletableFuture<List<RepoName>>> parsed = pages.stream().map(
+            page -> page.thenCompose(catalog -> new ParsedCatalog(catalog.json()).repos())
+                .toCompletableFuture()
+        ).collect(Collectors.toList());
+        return CompletableFuture.allOf(parsed.toArray(new CompletableFuture<?>[0])).thenApply(
+            nothing -> {
+                final List<String> union = parsed.stream()
+                    .flatMap(list -> list.join().stream())
+                    .map(RepoName::value)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+                final List<RepoName> merged = union.stream()
+                    .limit(limit)
+                    .<RepoName>map(RepoName.Simple::new)
+                    .collect(Collectors.toList());
+                final boolean more = union.size() > merged.size()
+                    || pages.stream().anyMatch(page -> page.join().next().isPresent());
+                final Optional<RepoName> next;
+                if (more && !merged.isEmpty()) {
+                    next = Optional.of(merged.get(merged.size() - 1));
+                } else {
+                    next = Optional.empty();
+                }
+                return new Catalog.From(merged, next);
+            }
+        );
+    }
 }
@@ -23,10 +23,11 @@
  */
 package com.artipie.docker.composite;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
+import com.artipie.docker.error.ReadOnlyException;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -34,6 +35,8 @@ import java.util.concurrent.CompletionStage;
 
 /**
  * Multi-read {@link Layers} implementation.
+ * Layer is found in all layers at once, but pulled from layers one by one,
+ * as content of each found blob would be read otherwise.
  *
  * @since 0.3
  */
@@ -54,8 +57,10 @@ public final class MultiReadLayers implements Layers {
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
-        throw new UnsupportedOperationException();
+    public CompletionStage<Blob> put(final BlobSource source) {
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot add to multi-read layers, they are read-only")
+        );
     }
 
     @Override
@@ -80,4 +85,32 @@ public final class MultiReadLayers implements Layers {
         );
         return promise;
     }
+
+    @Override
+    public CompletionStage<Optional<Blob>> pull(final Digest digest) {
+        CompletionStage<Optional<Blob>> result = CompletableFuture.completedFuture(
+            Optional.empty()
+        );
+        for (final Layers layer : this.layers) {
+            result = result.thenCompose(
+                found -> {
+                    final CompletionStage<Optional<Blob>> next;
+                    if (found.isPresent()) {
+                        next = CompletableFuture.completedFuture(found);
+                    } else {
+                        next = layer.pull(digest).exceptionally(ignored -> Optional.empty());
+                    }
+                    return next;
+                }
+            );
+        }
+        return result;
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final Digest digest) {
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot delete from multi-read layers, they are read-only")
+        );
+    }
 }
@@ -25,9 +25,15 @@ package com.artipie.docker.composite;
 
 import com.artipie.asto.Content;
 import com.artipie.docker.Manifests;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
+import com.artipie.docker.error.ReadOnlyException;
 import com.artipie.docker.manifest.Manifest;
+import com.artipie.docker.misc.ParsedTags;
 import com.artipie.docker.ref.ManifestRef;
 import com.jcabi.log.Logger;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -42,6 +48,11 @@ import java.util.stream.Collectors;
  */
 public final class MultiReadManifests implements Manifests {
 
+    /**
+     * Repository name.
+     */
+    private final RepoName name;
+
     /**
      * Manifests for reading.
      */
@@ -50,15 +61,19 @@ public final class MultiReadManifests implements Manifests {
     /**
      * Ctor.
      *
+     * @param name Repository name.
      * @param manifests Manifests for reading.
      */
-    public MultiReadManifests(final List<Manifests> manifests) {
+    public MultiReadManifests(final RepoName name, final List<Manifests> manifests) {
+        this.name = name;
         this.manifests = manifests;
     }
 
     @Override
     public CompletionStage<Manifest> put(final ManifestRef ref, final Content content) {
-        throw new UnsupportedOperationException();
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot add to multi-read manifests, they are read-only")
+        );
     }
 
     @Override
@@ -85,6 +100,56 @@ public final class MultiReadManifests implements Manifests {
         );
     }
 
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        final List<CompletableFuture<Tags>> pages = this.manifests.stream().map(
+            mnfsts -> mnfsts.tags(from, limit).exceptionally(
+                throwable -> {
+                    Logger.error(
+                        this, "Failed to list tags of %s: %[exception]s",
+                        this.name.value(),
+                        throwable
+                    );
+                    return new Tags.From(this.name, Collections.emptyList(), Optional.empty());
+                }
+            ).toCompletableFuture()
+        ).collect(Collectors.toList());
+        final List<CompletableFuture<List<Tag>>> parsed = pages.stream().map(
+            page -> page.thenCompose(tags -> new ParsedTags(tags.json()).tags())
+                .toCompletableFuture()
+        ).collect(Collectors.toList());
+        return CompletableFuture.allOf(parsed.toArray(new CompletableFuture<?>[0])).thenApply(
+            nothing -> {
+                final List<String> union = parsed.stream()
+                    .flatMap(list -> list.join().stream())
+                    .map(Tag::value)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+                final List<Tag> merged = union.stream()
+                    .limit(limit)
+                    .<Tag>map(Tag.Valid::new)
+                    .collect(Collectors.toList());
+                final boolean more = union.size() > merged.size()
+                    || pages.stream().anyMatch(page -> page.join().next().isPresent());
+                final Optional<Tag> next;
+                if (more && !merged.isEmpty()) {
+                    next = Optional.of(merged.get(merged.size() - 1));
+                } else {
+                    next = Optional.empty();
+                }
+                return new Tags.From(this.name, merged, next);
+            }
+        );
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final ManifestRef ref) {
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot delete from multi-read manifests, they are read-only")
+        );
+    }
+
     /**
      * Returns a new CompletionStage that is completed when first CompletionStage
      * from the list completes with non-empty result.
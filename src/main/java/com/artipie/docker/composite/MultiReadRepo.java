@@ -26,6 +26,7 @@ package com.artipie.docker.composite;
 import com.artipie.docker.Layers;
 import com.artipie.docker.Manifests;
 import com.artipie.docker.Repo;
+import com.artipie.docker.RepoName;
 import com.artipie.docker.Uploads;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -37,6 +38,11 @@ import java.util.stream.Collectors;
  */
 public final class MultiReadRepo implements Repo {
 
+    /**
+     * Repository name.
+     */
+    private final RepoName name;
+
     /**
      * Repositories for reading.
      */
@@ -45,9 +51,11 @@ public final class MultiReadRepo implements Repo {
     /**
      * Ctor.
      *
+     * @param name Repository name.
      * @param repos Repositories for reading.
      */
-    public MultiReadRepo(final List<Repo> repos) {
+    public MultiReadRepo(final RepoName name, final List<Repo> repos) {
+        this.name = name;
         this.repos = repos;
     }
 
@@ -61,6 +69,7 @@ public final class MultiReadRepo implements Repo {
     @Override
     public Manifests manifests() {
         return new MultiReadManifests(
+            this.name,
             this.repos.stream().map(Repo::manifests).collect(Collectors.toList())
         );
     }
@@ -23,9 +23,12 @@
  */
 package com.artipie.docker.composite;
 
+import com.artipie.docker.Catalog;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Read-write {@link Docker} implementation.
@@ -63,4 +66,9 @@ public final class ReadWriteDocker implements Docker {
     public Repo repo(final RepoName name) {
         return new ReadWriteRepo(this.read.repo(name), this.write.repo(name));
     }
+
+    @Override
+    public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+        return this.read.catalog(from, limit);
+    }
 }
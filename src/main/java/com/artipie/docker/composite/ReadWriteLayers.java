@@ -23,8 +23,8 @@
  */
 package com.artipie.docker.composite;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
 import java.util.Optional;
@@ -59,12 +59,22 @@ public final class ReadWriteLayers implements Layers {
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
-        return this.write.put(content, digest);
+    public CompletionStage<Blob> put(final BlobSource source) {
+        return this.write.put(source);
     }
 
     @Override
     public CompletionStage<Optional<Blob>> get(final Digest digest) {
         return this.read.get(digest);
     }
+
+    @Override
+    public CompletionStage<Optional<Blob>> pull(final Digest digest) {
+        return this.read.pull(digest);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final Digest digest) {
+        return this.write.delete(digest);
+    }
 }
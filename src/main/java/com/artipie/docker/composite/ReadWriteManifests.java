@@ -25,6 +25,8 @@ package com.artipie.docker.composite;
 
 import com.artipie.asto.Content;
 import com.artipie.docker.Manifests;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
 import java.util.Optional;
@@ -67,4 +69,14 @@ public final class ReadWriteManifests implements Manifests {
     public CompletionStage<Optional<Manifest>> get(final ManifestRef ref) {
         return this.read.get(ref);
     }
+
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        return this.read.tags(from, limit);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final ManifestRef ref) {
+        return this.write.delete(ref);
+    }
 }
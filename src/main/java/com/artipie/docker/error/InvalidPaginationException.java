@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.error;
+
+import java.util.Optional;
+
+/**
+ * Invalid number of results requested in paginated listing.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("serial")
+public final class InvalidPaginationException extends RuntimeException implements DockerError {
+
+    /**
+     * Ctor.
+     *
+     * @param details Error details.
+     */
+    public InvalidPaginationException(final String details) {
+        super(details);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param details Error details.
+     * @param cause Cause.
+     */
+    public InvalidPaginationException(final String details, final Throwable cause) {
+        super(details, cause);
+    }
+
+    @Override
+    public String code() {
+        return "PAGINATION_NUMBER_INVALID";
+    }
+
+    @Override
+    public String message() {
+        return "invalid number of results requested";
+    }
+
+    @Override
+    public Optional<String> detail() {
+        return Optional.of(this.getMessage());
+    }
+}
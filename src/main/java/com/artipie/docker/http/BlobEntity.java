@@ -23,9 +23,9 @@
  */
 package com.artipie.docker.http;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Docker;
+import com.artipie.docker.Layers;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.error.BlobUnknownError;
 import com.artipie.docker.misc.RqByRegex;
@@ -34,6 +34,7 @@ import com.artipie.http.Slice;
 import com.artipie.http.async.AsyncResponse;
 import com.artipie.http.headers.ContentLength;
 import com.artipie.http.headers.ContentType;
+import com.artipie.http.headers.Header;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithBody;
 import com.artipie.http.rs.RsWithHeaders;
@@ -41,6 +42,7 @@ import com.artipie.http.rs.RsWithStatus;
 import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.regex.Pattern;
 import org.reactivestreams.Publisher;
 
@@ -49,6 +51,7 @@ import org.reactivestreams.Publisher;
  * See <a href="https://docs.docker.com/registry/spec/api/#blob">Blob</a>.
  *
  * @since 0.2
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 final class BlobEntity {
 
@@ -67,6 +70,8 @@ final class BlobEntity {
 
     /**
      * Slice for GET method.
+     * Content length is sent if blob content size is known,
+     * otherwise content is sent in chunks.
      *
      * @since 0.2
      */
@@ -95,19 +100,11 @@ final class BlobEntity {
             final Request request = new Request(line);
             final Digest digest = request.digest();
             return new AsyncResponse(
-                this.docker.repo(request.name()).layers().get(digest).thenApply(
+                this.docker.repo(request.name()).layers().pull(digest).thenApply(
                     found -> found.<Response>map(
                         blob -> new AsyncResponse(
-                            blob.content().thenCompose(
-                                content -> content.size()
-                                    .map(CompletableFuture::completedStage)
-                                    .orElseGet(blob::size)
-                                    .thenApply(
-                                        size -> new RsWithBody(
-                                            new BaseResponse(digest),
-                                            new Content.From(size, content)
-                                        )
-                                    )
+                            blob.content().thenApply(
+                                content -> new RsWithBody(new BaseResponse(digest), content)
                             )
                         )
                     ).orElseGet(
@@ -166,8 +163,69 @@ final class BlobEntity {
         }
     }
 
+    /**
+     * Slice for DELETE method.
+     * Deletion is delegated to repository layers,
+     * deletion from read-only repository is reported as unsupported operation.
+     *
+     * @since 0.6
+     */
+    static final class Delete implements Slice {
+
+        /**
+         * Docker repository.
+         */
+        private final Docker docker;
+
+        /**
+         * Ctor.
+         *
+         * @param docker Docker repository.
+         */
+        Delete(final Docker docker) {
+            this.docker = docker;
+        }
+
+        @Override
+        public Response response(
+            final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body
+        ) {
+            final Request request = new Request(line);
+            final Digest digest = request.digest();
+            final Layers layers = this.docker.repo(request.name()).layers();
+            return new AsyncResponse(
+                layers.get(digest).thenCompose(
+                    found -> {
+                        final CompletionStage<Response> res;
+                        if (found.isPresent()) {
+                            res = layers.delete(digest).thenApply(
+                                nothing -> new RsWithHeaders(
+                                    new RsWithStatus(RsStatus.ACCEPTED),
+                                    new DigestHeader(digest),
+                                    new ContentLength("0")
+                                )
+                            );
+                        } else {
+                            res = CompletableFuture.completedFuture(
+                                new ErrorsResponse(
+                                    RsStatus.NOT_FOUND, new BlobUnknownError(digest)
+                                )
+                            );
+                        }
+                        return res;
+                    }
+                )
+            );
+        }
+    }
+
     /**
      * Blob base response.
+     * Byte ranges are not supported as partial content status is not available
+     * in HTTP API, so whole blob is always sent and {@code Range} header is ignored
+     * as permitted by <a href="https://tools.ietf.org/html/rfc7233#section-3.1">RFC 7233</a>.
      *
      * @since 0.2
      */
@@ -183,7 +241,8 @@ final class BlobEntity {
                 new RsWithHeaders(
                     new RsWithStatus(RsStatus.OK),
                     new DigestHeader(digest),
-                    new ContentType("application/octet-stream")
+                    new ContentType("application/octet-stream"),
+                    new Header("Accept-Ranges", "none")
                 )
             );
         }
@@ -24,6 +24,7 @@
 package com.artipie.docker.http;
 
 import com.artipie.docker.Docker;
+import com.artipie.docker.manifest.ConversionCache;
 import com.artipie.http.Slice;
 import com.artipie.http.auth.Authentication;
 import com.artipie.http.auth.BasicIdentities;
@@ -42,7 +43,8 @@ import com.artipie.http.rt.SliceRoute;
  * See <a href="https://docs.docker.com/registry/spec/api/">Docker Registry HTTP API V2</a>.
  *
  * @since 0.1
- * @checkstyle ClassDataAbstractionCouplingCheck (2 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (3 lines)
+ * @checkstyle ClassFanOutComplexityCheck (2 lines)
  */
 public final class DockerSlice extends Slice.Wrap {
 
@@ -83,8 +85,24 @@ public final class DockerSlice extends Slice.Wrap {
      * @param perms Access permissions.
      * @param ids User identities.
      */
-    @SuppressWarnings("PMD.UnusedFormalParameter")
     public DockerSlice(final Docker docker, final Permissions perms, final Identities ids) {
+        this(docker, perms, ids, new ConversionCache());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param docker Docker repository.
+     * @param perms Access permissions.
+     * @param ids User identities.
+     * @param conversions Converted manifests cache.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    @SuppressWarnings({"PMD.UnusedFormalParameter", "PMD.ExcessiveMethodLength"})
+    private DockerSlice(
+        final Docker docker, final Permissions perms, final Identities ids,
+        final ConversionCache conversions
+    ) {
         super(
             new ErrorHandlingSlice(
                 new SliceRoute(
@@ -100,14 +118,14 @@ public final class DockerSlice extends Slice.Wrap {
                             new RtRule.ByPath(ManifestEntity.PATH),
                             new ByMethodsRule(RqMethod.HEAD)
                         ),
-                        authRead(new ManifestEntity.Head(docker), perms, ids)
+                        authRead(new ManifestEntity.Head(docker, conversions), perms, ids)
                     ),
                     new RtRulePath(
                         new RtRule.All(
                             new RtRule.ByPath(ManifestEntity.PATH),
                             ByMethodsRule.Standard.GET
                         ),
-                        authRead(new ManifestEntity.Get(docker), perms, ids)
+                        authRead(new ManifestEntity.Get(docker, conversions), perms, ids)
                     ),
                     new RtRulePath(
                         new RtRule.All(
@@ -116,6 +134,27 @@ public final class DockerSlice extends Slice.Wrap {
                         ),
                         authWrite(new ManifestEntity.Put(docker), perms, ids)
                     ),
+                    new RtRulePath(
+                        new RtRule.All(
+                            new RtRule.ByPath(ManifestEntity.PATH),
+                            ByMethodsRule.Standard.DELETE
+                        ),
+                        authWrite(new ManifestEntity.Delete(docker), perms, ids)
+                    ),
+                    new RtRulePath(
+                        new RtRule.All(
+                            new RtRule.ByPath(CatalogEntity.PATH),
+                            ByMethodsRule.Standard.GET
+                        ),
+                        authRead(new CatalogEntity.Get(docker), perms, ids)
+                    ),
+                    new RtRulePath(
+                        new RtRule.All(
+                            new RtRule.ByPath(TagsEntity.PATH),
+                            ByMethodsRule.Standard.GET
+                        ),
+                        authRead(new TagsEntity.Get(docker), perms, ids)
+                    ),
                     new RtRulePath(
                         new RtRule.All(
                             new RtRule.ByPath(BlobEntity.PATH),
@@ -130,6 +169,13 @@ public final class DockerSlice extends Slice.Wrap {
                         ),
                         authRead(new BlobEntity.Get(docker), perms, ids)
                     ),
+                    new RtRulePath(
+                        new RtRule.All(
+                            new RtRule.ByPath(BlobEntity.PATH),
+                            ByMethodsRule.Standard.DELETE
+                        ),
+                        authWrite(new BlobEntity.Delete(docker), perms, ids)
+                    ),
                     new RtRulePath(
                         new RtRule.All(
                             new RtRule.ByPath(UploadEntity.PATH),
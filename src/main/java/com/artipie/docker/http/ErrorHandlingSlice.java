@@ -23,7 +23,9 @@
  */
 package com.artipie.docker.http;
 
+import com.artipie.docker.error.InvalidPaginationException;
 import com.artipie.docker.error.InvalidRepoNameException;
+import com.artipie.docker.error.ReadOnlyException;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
 import com.artipie.http.rs.RsStatus;
@@ -31,6 +33,7 @@ import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
@@ -104,11 +107,24 @@ final class ErrorHandlingSlice implements Slice {
      */
     @SuppressWarnings("PMD.OnlyOneReturn")
     private static Optional<Response> handle(final Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return handle(throwable.getCause());
+        }
         if (throwable instanceof InvalidRepoNameException) {
             return Optional.of(
                 new ErrorsResponse(RsStatus.BAD_REQUEST, (InvalidRepoNameException) throwable)
             );
         }
+        if (throwable instanceof InvalidPaginationException) {
+            return Optional.of(
+                new ErrorsResponse(RsStatus.BAD_REQUEST, (InvalidPaginationException) throwable)
+            );
+        }
+        if (throwable instanceof ReadOnlyException) {
+            return Optional.of(
+                new ErrorsResponse(RsStatus.METHOD_NOT_ALLOWED, (ReadOnlyException) throwable)
+            );
+        }
         return Optional.empty();
     }
 }
@@ -25,8 +25,10 @@ package com.artipie.docker.http;
 
 import com.artipie.asto.Content;
 import com.artipie.docker.Docker;
+import com.artipie.docker.Manifests;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.error.ManifestError;
+import com.artipie.docker.manifest.ConversionCache;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.misc.RqByRegex;
 import com.artipie.docker.ref.ManifestRef;
@@ -36,7 +38,6 @@ import com.artipie.http.async.AsyncResponse;
 import com.artipie.http.headers.ContentLength;
 import com.artipie.http.headers.ContentType;
 import com.artipie.http.headers.Location;
-import com.artipie.http.rq.RqHeaders;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithBody;
 import com.artipie.http.rs.RsWithHeaders;
@@ -44,6 +45,8 @@ import com.artipie.http.rs.RsWithStatus;
 import com.artipie.http.rs.StandardRs;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.regex.Pattern;
 import org.reactivestreams.Publisher;
 
@@ -81,13 +84,20 @@ final class ManifestEntity {
          */
         private final Docker docker;
 
+        /**
+         * Converted manifests cache.
+         */
+        private final ConversionCache cache;
+
         /**
          * Ctor.
          *
          * @param docker Docker repository.
+         * @param cache Converted manifests cache.
          */
-        Head(final Docker docker) {
+        Head(final Docker docker, final ConversionCache cache) {
             this.docker = docker;
+            this.cache = cache;
         }
 
         @Override
@@ -97,25 +107,22 @@ final class ManifestEntity {
             final Publisher<ByteBuffer> body) {
             final Request request = new Request(line);
             final ManifestRef ref = request.reference();
+            final Negotiation negotiation = new Negotiation(
+                this.docker.repo(request.name()).manifests(), this.cache, headers
+            );
             return new AsyncResponse(
-                this.docker.repo(request.name()).manifests().get(ref).thenApply(
-                    manifest -> manifest.<Response>map(
-                        found -> new BaseResponse(found.convert(Head.acceptHeader(headers)))
+                negotiation.find(ref).thenCompose(
+                    manifest -> manifest.map(
+                        found -> negotiation.manifest(ref, found)
+                            .<Response>thenApply(BaseResponse::new)
                     ).orElseGet(
-                        () -> new ErrorsResponse(RsStatus.NOT_FOUND, new ManifestError(ref))
+                        () -> CompletableFuture.completedFuture(
+                            new ErrorsResponse(RsStatus.NOT_FOUND, new ManifestError(ref))
+                        )
                     )
                 )
             );
         }
-
-        /**
-         * Gets accept header.
-         * @param headers Request headers
-         * @return Accept headers
-         */
-        private static RqHeaders acceptHeader(final Iterable<Map.Entry<String, String>> headers) {
-            return new RqHeaders(headers, "Accept");
-        }
     }
 
     /**
@@ -130,13 +137,20 @@ final class ManifestEntity {
          */
         private final Docker docker;
 
+        /**
+         * Converted manifests cache.
+         */
+        private final ConversionCache cache;
+
         /**
          * Ctor.
          *
          * @param docker Docker repository.
+         * @param cache Converted manifests cache.
          */
-        Get(final Docker docker) {
+        Get(final Docker docker, final ConversionCache cache) {
             this.docker = docker;
+            this.cache = cache;
         }
 
         @Override
@@ -146,17 +160,21 @@ final class ManifestEntity {
             final Publisher<ByteBuffer> body
         ) {
             final Request request = new Request(line);
-            final RepoName name = request.name();
             final ManifestRef ref = request.reference();
+            final Negotiation negotiation = new Negotiation(
+                this.docker.repo(request.name()).manifests(), this.cache, headers
+            );
             return new AsyncResponse(
-                this.docker.repo(name).manifests().get(ref).thenApply(
-                    manifest -> manifest.<Response>map(
-                        found -> {
-                            final Manifest mnf = found.convert(Head.acceptHeader(headers));
-                            return new RsWithBody(new BaseResponse(mnf), mnf.content());
-                        }
+                negotiation.find(ref).thenCompose(
+                    manifest -> manifest.map(
+                        found -> negotiation.manifest(ref, found)
+                            .<Response>thenApply(
+                                mnf -> new RsWithBody(new BaseResponse(mnf), mnf.content())
+                            )
                     ).orElseGet(
-                        () -> new ErrorsResponse(RsStatus.NOT_FOUND, new ManifestError(ref))
+                        () -> CompletableFuture.completedFuture(
+                            new ErrorsResponse(RsStatus.NOT_FOUND, new ManifestError(ref))
+                        )
                     )
                 )
             );
@@ -209,6 +227,59 @@ final class ManifestEntity {
         }
     }
 
+    /**
+     * Slice for DELETE method, deleting manifest by tag or by digest.
+     *
+     * @since 0.6
+     */
+    public static class Delete implements Slice {
+
+        /**
+         * Docker repository.
+         */
+        private final Docker docker;
+
+        /**
+         * Ctor.
+         *
+         * @param docker Docker repository.
+         */
+        Delete(final Docker docker) {
+            this.docker = docker;
+        }
+
+        @Override
+        public Response response(
+            final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body
+        ) {
+            final Request request = new Request(line);
+            final ManifestRef ref = request.reference();
+            final Manifests manifests = this.docker.repo(request.name()).manifests();
+            return new AsyncResponse(
+                manifests.get(ref).thenCompose(
+                    manifest -> {
+                        final CompletionStage<Response> res;
+                        if (manifest.isPresent()) {
+                            res = manifests.delete(ref).thenApply(
+                                nothing -> new RsWithHeaders(
+                                    new RsWithStatus(RsStatus.ACCEPTED),
+                                    new ContentLength("0")
+                                )
+                            );
+                        } else {
+                            res = CompletableFuture.completedFuture(
+                                new ErrorsResponse(RsStatus.NOT_FOUND, new ManifestError(ref))
+                            );
+                        }
+                        return res;
+                    }
+                )
+            );
+        }
+    }
+
     /**
      * HTTP request to manifest entity.
      *
@@ -0,0 +1,237 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.docker.Digest;
+import com.artipie.docker.Manifests;
+import com.artipie.docker.manifest.ChildManifest;
+import com.artipie.docker.manifest.ConversionCache;
+import com.artipie.docker.manifest.JsonManifestList;
+import com.artipie.docker.manifest.Manifest;
+import com.artipie.docker.ref.ManifestRef;
+import com.artipie.http.rq.RqHeaders;
+import com.jcabi.log.Logger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+/**
+ * Manifest content negotiation by <code>Accept</code> request headers.
+ * <p>
+ * Manifest of accepted type is sent as is. Manifest list is resolved to manifest
+ * of default platform if client does not accept manifest lists.
+ * Otherwise manifest is converted between Docker and OCI formats.
+ * Converted manifest is cached and saved by repository apart from its revisions,
+ * see {@link Manifests#putConverted(ManifestRef, Digest, Manifest)},
+ * so client may pull it by digest later, on any node and after restart.
+ * Failure to save converted manifest is logged and not fatal.
+ * Repositories not saving converted manifests, like read-only ones, serve it by digest
+ * while it is cached and its original manifest exists in repository.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class Negotiation {
+
+    /**
+     * Platform of manifest to resolve manifest list to.
+     */
+    private static final String DEFAULT_PLATFORM = "linux/amd64";
+
+    /**
+     * Manifest list media types.
+     */
+    private static final List<String> LISTS = Arrays.asList(
+        JsonManifestList.DOCKER, JsonManifestList.OCI
+    );
+
+    /**
+     * Repository manifests.
+     */
+    private final Manifests manifests;
+
+    /**
+     * Converted manifests cache.
+     */
+    private final ConversionCache cache;
+
+    /**
+     * Request headers.
+     */
+    private final Iterable<Map.Entry<String, String>> headers;
+
+    /**
+     * Ctor.
+     *
+     * @param manifests Repository manifests.
+     * @param cache Converted manifests cache.
+     * @param headers Request headers.
+     */
+    Negotiation(
+        final Manifests manifests,
+        final ConversionCache cache,
+        final Iterable<Map.Entry<String, String>> headers
+    ) {
+        this.manifests = manifests;
+        this.cache = cache;
+        this.headers = headers;
+    }
+
+    /**
+     * Find manifest by reference in repository,
+     * or converted manifest by digest in repository or conversion cache.
+     *
+     * @param ref Manifest reference.
+     * @return Manifest if found.
+     */
+    CompletionStage<Optional<Manifest>> find(final ManifestRef ref) {
+        return this.manifests.get(ref).thenCompose(
+            found -> {
+                final Digest.FromString digest = new Digest.FromString(ref.string());
+                final CompletionStage<Optional<Manifest>> res;
+                if (found.isPresent() || !digest.valid()) {
+                    res = CompletableFuture.completedFuture(found);
+                } else {
+                    res = this.manifests.getConverted(digest).thenCompose(
+                        saved -> saved.<CompletionStage<Optional<Manifest>>>map(
+                            mnf -> CompletableFuture.completedFuture(Optional.of(mnf))
+                        ).orElseGet(() -> this.converted(digest))
+                    );
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Negotiate manifest to send to client.
+     *
+     * @param ref Reference manifest was found by.
+     * @param found Manifest found by reference.
+     * @return Manifest of type accepted by client.
+     */
+    CompletionStage<Manifest> manifest(final ManifestRef ref, final Manifest found) {
+        final Collection<String> accept = this.accept();
+        final CompletionStage<Manifest> res;
+        if (accept.isEmpty() || accept.contains(found.mediaType()) || accept.contains("*/*")) {
+            res = CompletableFuture.completedFuture(found);
+        } else if (!found.manifests().isEmpty()
+            && accept.stream().noneMatch(Negotiation.LISTS::contains)) {
+            res = this.platform(found);
+        } else {
+            res = this.cache.get(found.digest(), accept)
+                .<CompletionStage<Manifest>>map(CompletableFuture::completedFuture)
+                .orElseGet(() -> this.convert(ref, found, accept));
+        }
+        return res;
+    }
+
+    /**
+     * Resolve manifest list to child manifest of default platform,
+     * or the first child manifest if there is no default platform in the list.
+     *
+     * @param list Manifest list.
+     * @return Child manifest of type accepted by client.
+     */
+    private CompletionStage<Manifest> platform(final Manifest list) {
+        final ChildManifest child = list.manifests().stream()
+            .filter(mnf -> mnf.platform().equals(Optional.of(Negotiation.DEFAULT_PLATFORM)))
+            .findFirst()
+            .orElseGet(() -> list.manifests().iterator().next());
+        final ManifestRef ref = new ManifestRef.FromDigest(child.digest());
+        return this.manifests.get(ref).thenCompose(
+            opt -> this.manifest(
+                ref,
+                opt.orElseThrow(
+                    () -> new IllegalStateException(
+                        String.format(
+                            "Child manifest %s of %s not found",
+                            child.digest().string(), list.digest().string()
+                        )
+                    )
+                )
+            )
+        );
+    }
+
+    /**
+     * Find cached converted manifest by digest
+     * if its original manifest exists in repository.
+     *
+     * @param digest Converted manifest digest.
+     * @return Converted manifest if found.
+     */
+    private CompletionStage<Optional<Manifest>> converted(final Digest digest) {
+        return this.cache.byDigest(digest).map(
+            entry -> this.manifests.get(new ManifestRef.FromDigest(entry.getKey())).thenApply(
+                origin -> origin.map(found -> entry.getValue())
+            )
+        ).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    /**
+     * Convert manifest, cache it and save to repository.
+     *
+     * @param ref Reference manifest was found by.
+     * @param found Manifest found by reference.
+     * @param accept Types accepted by client.
+     * @return Converted manifest.
+     */
+    private CompletionStage<Manifest> convert(
+        final ManifestRef ref, final Manifest found, final Collection<String> accept
+    ) {
+        final Manifest converted = found.convert(accept);
+        this.cache.put(found.digest(), accept, converted);
+        return this.manifests.putConverted(ref, found.digest(), converted).handle(
+            (nothing, throwable) -> {
+                if (throwable != null) {
+                    Logger.warn(
+                        this, "Failed to save manifest %s converted from %s: %[exception]s",
+                        converted.digest().string(), found.digest().string(), throwable
+                    );
+                }
+                return converted;
+            }
+        );
+    }
+
+    /**
+     * Read types accepted by client.
+     * Each <code>Accept</code> header may contain several types with parameters.
+     *
+     * @return Accepted types.
+     */
+    private Collection<String> accept() {
+        return new RqHeaders(this.headers, "Accept").stream()
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(type -> type.split(";")[0].trim())
+            .filter(type -> !type.isEmpty())
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.docker.error.InvalidPaginationException;
+import com.artipie.docker.misc.RqParams;
+
+/**
+ * Maximum number of results in paginated listing from `n` query parameter.
+ *
+ * @since 0.6
+ */
+final class PageLimit {
+
+    /**
+     * HTTP request query parameters.
+     */
+    private final RqParams params;
+
+    /**
+     * Ctor.
+     *
+     * @param params HTTP request query parameters.
+     */
+    PageLimit(final RqParams params) {
+        this.params = params;
+    }
+
+    /**
+     * Get maximum number of results.
+     *
+     * @return Maximum number of results, unlimited if parameter is absent.
+     * @throws InvalidPaginationException If parameter is not a non-negative number.
+     */
+    int value() {
+        return this.params.value("n").map(PageLimit::number).orElse(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parse non-negative number.
+     *
+     * @param value Parameter value.
+     * @return Number.
+     */
+    private static int number(final String value) {
+        final int res;
+        try {
+            res = Integer.parseInt(value);
+        } catch (final NumberFormatException ex) {
+            throw new InvalidPaginationException(
+                String.format("n is not a number: %s", value), ex
+            );
+        }
+        if (res < 0) {
+            throw new InvalidPaginationException(String.format("n is negative: %s", value));
+        }
+        return res;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.docker.Docker;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.misc.RqByRegex;
+import com.artipie.docker.misc.RqParams;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.ContentType;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.reactivestreams.Publisher;
+
+/**
+ * Tags entity in Docker HTTP API.
+ * See <a href="https://docs.docker.com/registry/spec/api/#listing-image-tags">Listing Image Tags</a>.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+final class TagsEntity {
+
+    /**
+     * RegEx pattern for path.
+     */
+    public static final Pattern PATH = Pattern.compile("^/v2/(?<name>.*)/tags/list$");
+
+    /**
+     * Ctor.
+     */
+    private TagsEntity() {
+    }
+
+    /**
+     * Slice for GET method, listing repository tags.
+     *
+     * @since 0.6
+     */
+    public static class Get implements Slice {
+
+        /**
+         * Docker repository.
+         */
+        private final Docker docker;
+
+        /**
+         * Ctor.
+         *
+         * @param docker Docker repository.
+         */
+        Get(final Docker docker) {
+            this.docker = docker;
+        }
+
+        @Override
+        public Response response(
+            final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body
+        ) {
+            final Request request = new Request(line);
+            final RepoName name = request.name();
+            final int limit = request.limit();
+            return new AsyncResponse(
+                this.docker.repo(name).manifests().tags(request.last(), limit).thenApply(
+                    tags -> {
+                        final Response page = new RsWithBody(
+                            new RsWithHeaders(
+                                new RsWithStatus(RsStatus.OK),
+                                new ContentType("application/json; charset=utf-8")
+                            ),
+                            tags.json()
+                        );
+                        return tags.next().<Response>map(
+                            next -> new RsWithHeaders(
+                                page,
+                                new Header(
+                                    "Link",
+                                    String.format(
+                                        "</v2/%s/tags/list?n=%d&last=%s>; rel=\"next\"",
+                                        name.value(),
+                                        limit,
+                                        next.value()
+                                    )
+                                )
+                            )
+                        ).orElse(page);
+                    }
+                )
+            );
+        }
+    }
+
+    /**
+     * HTTP request to tags entity.
+     *
+     * @since 0.6
+     */
+    static final class Request {
+
+        /**
+         * HTTP request line.
+         */
+        private final String line;
+
+        /**
+         * Ctor.
+         *
+         * @param line HTTP request line.
+         */
+        Request(final String line) {
+            this.line = line;
+        }
+
+        /**
+         * Get repository name.
+         *
+         * @return Repository name.
+         */
+        RepoName name() {
+            return new RepoName.Valid(
+                new RqByRegex(this.line, TagsEntity.PATH).path().group("name")
+            );
+        }
+
+        /**
+         * Get maximum number of tags to list from `n` query parameter.
+         *
+         * @return Maximum number of tags, unlimited if parameter is absent.
+         */
+        int limit() {
+            return new PageLimit(new RqParams(this.line)).value();
+        }
+
+        /**
+         * Get tag to list tags after from `last` query parameter.
+         *
+         * @return Tag to list tags after, empty if parameter is absent.
+         */
+        Optional<Tag> last() {
+            return new RqParams(this.line).value("last").map(Tag.Valid::new);
+        }
+    }
+}
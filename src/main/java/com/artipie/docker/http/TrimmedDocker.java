@@ -23,9 +23,13 @@
  */
 package com.artipie.docker.http;
 
+import com.artipie.docker.Catalog;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.misc.ParsedCatalog;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -45,6 +49,11 @@ public final class TrimmedDocker implements Docker {
      */
     private final Pattern prefix;
 
+    /**
+     * Prefix to add to repository names listed in catalog.
+     */
+    private final Optional<String> literal;
+
     /**
      * Ctor.
      * @param origin Docker origin
@@ -53,7 +62,8 @@ public final class TrimmedDocker implements Docker {
     public TrimmedDocker(final Docker origin, final String prefix) {
         this(
             origin,
-            Pattern.compile(String.format("(?:%s)\\/(.+)", prefix))
+            Pattern.compile(String.format("(?:%s)\\/(.+)", prefix)),
+            Optional.ofNullable(prefix)
         );
     }
 
@@ -63,8 +73,21 @@ public final class TrimmedDocker implements Docker {
      * @param prefix Prefix to cut
      */
     public TrimmedDocker(final Docker origin, final Pattern prefix) {
+        this(origin, prefix, Optional.empty());
+    }
+
+    /**
+     * Ctor.
+     * @param origin Docker origin
+     * @param prefix Prefix to cut
+     * @param literal Prefix to add to repository names listed in catalog
+     */
+    private TrimmedDocker(
+        final Docker origin, final Pattern prefix, final Optional<String> literal
+    ) {
         this.origin = origin;
         this.prefix = prefix;
+        this.literal = literal;
     }
 
     @Override
@@ -80,4 +103,38 @@ public final class TrimmedDocker implements Docker {
         }
         return this.origin.repo(new RepoName.Valid(matcher.group(1)));
     }
+
+    @Override
+    public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+        final String added = this.literal.orElseThrow(
+            () -> new UnsupportedOperationException(
+                String.format("Catalog is not supported for prefix `%s`", this.prefix.pattern())
+            )
+        );
+        return this.origin.catalog(
+            from.map(name -> this.prefix.matcher(name.value()))
+                .filter(Matcher::matches)
+                .map(matcher -> new RepoName.Simple(matcher.group(1))),
+            limit
+        ).thenCompose(
+            catalog -> new ParsedCatalog(catalog.json()).repos().thenApply(
+                names -> new Catalog.From(
+                    () -> names.stream()
+                        .map(name -> TrimmedDocker.prefixed(added, name))
+                        .iterator(),
+                    catalog.next().map(name -> TrimmedDocker.prefixed(added, name))
+                )
+            )
+        );
+    }
+
+    /**
+     * Add prefix to repository name.
+     * @param added Prefix
+     * @param name Repository name
+     * @return Prefixed repository name
+     */
+    private static RepoName prefixed(final String added, final RepoName name) {
+        return new RepoName.Simple(String.format("%s/%s", added, name.value()));
+    }
 }
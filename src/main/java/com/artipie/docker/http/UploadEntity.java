@@ -23,12 +23,16 @@
  */
 package com.artipie.docker.http;
 
+import com.artipie.asto.Content;
+import com.artipie.docker.CheckedBlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.TrustedBlobSource;
 import com.artipie.docker.error.UploadUnknownError;
 import com.artipie.docker.misc.RqByRegex;
+import com.artipie.docker.misc.RqParams;
 import com.artipie.http.Connection;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
@@ -43,6 +47,7 @@ import com.artipie.http.rs.RsWithStatus;
 import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
@@ -101,7 +106,107 @@ public final class UploadEntity {
             final Iterable<Map.Entry<String, String>> headers,
             final Publisher<ByteBuffer> body
         ) {
-            final RepoName name = new Request(line).name();
+            final Request request = new Request(line);
+            final RepoName name = request.name();
+            final Optional<Digest> mount = request.mount();
+            final Optional<RepoName> from = request.from();
+            final Optional<Digest> digest = request.monolithic();
+            final Response response;
+            if (mount.isPresent() && from.isPresent()) {
+                response = this.mount(name, mount.get(), from.get());
+            } else if (digest.isPresent()) {
+                response = this.upload(name, digest.get(), body);
+            } else {
+                response = this.start(name);
+            }
+            return response;
+        }
+
+        /**
+         * Upload blob in single request, writing it directly to layers
+         * without creating upload session.
+         *
+         * @param name Repository name.
+         * @param digest Blob digest.
+         * @param body Blob content.
+         * @return HTTP response.
+         */
+        private Response upload(
+            final RepoName name, final Digest digest, final Publisher<ByteBuffer> body
+        ) {
+            return new AsyncResponse(
+                this.docker.repo(name).layers().put(
+                    new CheckedBlobSource(new Content.From(body), digest)
+                ).handle(
+                    (blob, throwable) -> {
+                        final Response res;
+                        if (throwable == null) {
+                            res = Put.getResponse(name, digest);
+                        } else {
+                            res = new RsWithStatus(RsStatus.BAD_REQUEST);
+                        }
+                        return res;
+                    }
+                )
+            );
+        }
+
+        /**
+         * Mount blob from another repository.
+         * Blob already available in target repository, as blob store is shared
+         * by repositories, is mounted without reading it.
+         * Otherwise it is copied from source repository,
+         * and if blob is not found there, new upload is started.
+         *
+         * @param name Target repository name.
+         * @param digest Blob digest.
+         * @param from Source repository name.
+         * @return HTTP response.
+         */
+        private Response mount(final RepoName name, final Digest digest, final RepoName from) {
+            return new AsyncResponse(
+                this.docker.repo(name).layers().get(digest).thenCompose(
+                    existing -> existing.<CompletionStage<Response>>map(
+                        blob -> CompletableFuture.completedFuture(Put.getResponse(name, digest))
+                    ).orElseGet(() -> this.copy(name, digest, from))
+                )
+            );
+        }
+
+        /**
+         * Copy blob from another repository.
+         * If blob is not found in that repository, new upload is started.
+         *
+         * @param name Target repository name.
+         * @param digest Blob digest.
+         * @param from Source repository name.
+         * @return HTTP response.
+         */
+        private CompletionStage<Response> copy(
+            final RepoName name, final Digest digest, final RepoName from
+        ) {
+            return this.docker.repo(from).layers().get(digest).thenCompose(
+                found -> found.map(
+                    blob -> blob.content().thenCompose(
+                        content -> this.docker.repo(name).layers().put(
+                            new TrustedBlobSource(content, digest)
+                        )
+                    ).<Response>thenApply(
+                        mounted -> Put.getResponse(name, digest)
+                    )
+                ).orElseGet(
+                    () -> CompletableFuture.completedFuture(this.start(name))
+                )
+            );
+        }
+
+        /**
+         * Start new upload.
+         *
+         * @param name Repository name.
+         * @return HTTP response.
+         */
+        private Response start(final RepoName name) {
             return new AsyncResponse(
                 this.docker.repo(name).uploads().start().thenApply(
                     upload -> new StatusResponse(name, upload.uuid(), 0)
@@ -194,25 +299,21 @@ public final class UploadEntity {
                 repo.uploads().get(uuid).thenApply(
                     found -> found.<Response>map(
                         upload -> new AsyncResponse(
-                            upload.content().thenCompose(
-                                content -> repo.layers()
-                                    .put(content, request.digest())
-                                    .handle(
-                                        (blob, throwable) -> {
-                                            final CompletionStage<Response> res;
-                                            if (throwable == null) {
-                                                res = upload.delete().thenApply(
-                                                    any -> Put.getResponse(name, request.digest())
-                                                );
-                                            } else {
-                                                res = CompletableFuture.completedStage(
-                                                    new RsWithStatus(RsStatus.BAD_REQUEST)
-                                                );
-                                            }
-                                            return res;
-                                        }
-                                    ).thenCompose(Function.identity())
-                            )
+                            upload.putTo(repo.layers(), request.digest()).handle(
+                                (nothing, throwable) -> {
+                                    final CompletionStage<Response> res;
+                                    if (throwable == null) {
+                                        res = upload.delete().thenApply(
+                                            any -> Put.getResponse(name, request.digest())
+                                        );
+                                    } else {
+                                        res = CompletableFuture.completedStage(
+                                            new RsWithStatus(RsStatus.BAD_REQUEST)
+                                        );
+                                    }
+                                    return res;
+                                }
+                            ).thenCompose(Function.identity())
                         )
                     ).orElseGet(
                         () -> new ErrorsResponse(RsStatus.NOT_FOUND, new UploadUnknownError(uuid))
@@ -352,6 +453,33 @@ public final class UploadEntity {
             }
             return new Digest.FromString(matcher.group("digest"));
         }
+
+        /**
+         * Get digest of blob uploaded in single POST request.
+         *
+         * @return Digest, empty if monolithic upload is not requested.
+         */
+        Optional<Digest> monolithic() {
+            return new RqParams(this.line).value("digest").map(Digest.FromString::new);
+        }
+
+        /**
+         * Get digest of blob to mount from another repository.
+         *
+         * @return Digest, empty if blob mount is not requested.
+         */
+        Optional<Digest> mount() {
+            return new RqParams(this.line).value("mount").map(Digest.FromString::new);
+        }
+
+        /**
+         * Get name of repository to mount blob from.
+         *
+         * @return Repository name, empty if blob mount is not requested.
+         */
+        Optional<RepoName> from() {
+            return new RqParams(this.line).value("from").map(RepoName.Valid::new);
+        }
     }
 
     /**
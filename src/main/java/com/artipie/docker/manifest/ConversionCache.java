@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.manifest;
+
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.BoundedCache;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Bounded cache of converted manifests.
+ * <p>
+ * Conversion result depends only on original manifest content, which is addressed
+ * by its digest, and on types the manifest is converted to,
+ * so converted manifest is cached by these two and never invalidated.
+ * Converted manifest is also cached by its own digest together with original digest,
+ * so client may pull it by digest while it is cached from repository
+ * which does not save converted manifests.
+ * </p>
+ *
+ * @since 0.6
+ */
+public final class ConversionCache {
+
+    /**
+     * Default number of entries in cache.
+     */
+    private static final int CAPACITY = 1_000;
+
+    /**
+     * Converted manifests by original digest and target types.
+     */
+    private final BoundedCache<String, Manifest> converted;
+
+    /**
+     * Original digests with converted manifests by converted digest.
+     */
+    private final BoundedCache<String, Map.Entry<Digest, Manifest>> digests;
+
+    /**
+     * Ctor.
+     */
+    public ConversionCache() {
+        this(ConversionCache.CAPACITY);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Maximum number of entries.
+     */
+    public ConversionCache(final int capacity) {
+        this.converted = new BoundedCache<>(capacity);
+        this.digests = new BoundedCache<>(capacity);
+    }
+
+    /**
+     * Get converted manifest.
+     *
+     * @param digest Original manifest digest.
+     * @param options Types the manifest was converted to.
+     * @return Converted manifest, empty if not cached.
+     */
+    public Optional<Manifest> get(final Digest digest, final Collection<String> options) {
+        return this.converted.get(ConversionCache.key(digest, options));
+    }
+
+    /**
+     * Get converted manifest by its own digest.
+     *
+     * @param digest Converted manifest digest.
+     * @return Original manifest digest with converted manifest, empty if not cached.
+     */
+    public Optional<Map.Entry<Digest, Manifest>> byDigest(final Digest digest) {
+        return this.digests.get(digest.string());
+    }
+
+    /**
+     * Cache converted manifest.
+     *
+     * @param digest Original manifest digest.
+     * @param options Types the manifest was converted to.
+     * @param manifest Converted manifest.
+     */
+    public void put(
+        final Digest digest, final Collection<String> options, final Manifest manifest
+    ) {
+        this.converted.put(ConversionCache.key(digest, options), manifest);
+        this.digests.put(
+            manifest.digest().string(), new AbstractMap.SimpleImmutableEntry<>(digest, manifest)
+        );
+    }
+
+    /**
+     * Cache key.
+     *
+     * @param digest Original manifest digest.
+     * @param options Types the manifest was converted to.
+     * @return Key string.
+     */
+    private static String key(final Digest digest, final Collection<String> options) {
+        return String.format("%s %s", digest.string(), new TreeSet<>(options));
+    }
+}
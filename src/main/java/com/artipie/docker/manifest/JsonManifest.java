@@ -38,9 +38,12 @@ import javax.json.JsonObject;
 import javax.json.JsonReader;
 import javax.json.JsonString;
 import javax.json.JsonValue;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
 
 /**
  * Image manifest in JSON format.
+ * JSON is parsed lazily once and reused by all accessors.
  *
  * @since 0.2
  */
@@ -57,6 +60,16 @@ public final class JsonManifest implements Manifest {
      */
     private final byte[] source;
 
+    /**
+     * JSON object parsed from source once on first access.
+     */
+    private final Unchecked<JsonObject> parsed;
+
+    /**
+     * Layers read from JSON once on first access.
+     */
+    private final Unchecked<Collection<Layer>> lrs;
+
     /**
      * Ctor.
      *
@@ -64,8 +77,45 @@ public final class JsonManifest implements Manifest {
      * @param source JSON bytes.
      */
     public JsonManifest(final Digest dgst, final byte[] source) {
+        this(dgst, source, Optional.empty());
+    }
+
+    /**
+     * Ctor for manifest already parsed to JSON object.
+     *
+     * @param dgst Manifest digest.
+     * @param source JSON bytes.
+     * @param json JSON object parsed from source.
+     */
+    JsonManifest(final Digest dgst, final byte[] source, final JsonObject json) {
+        this(dgst, source, Optional.of(json));
+    }
+
+    /**
+     * Primary ctor.
+     *
+     * @param dgst Manifest digest.
+     * @param source JSON bytes.
+     * @param json JSON object parsed from source, empty to parse it on first access.
+     */
+    private JsonManifest(
+        final Digest dgst, final byte[] source, final Optional<JsonObject> json
+    ) {
         this.dgst = dgst;
         this.source = Arrays.copyOf(source, source.length);
+        this.parsed = new Unchecked<>(
+            new Solid<>(() -> json.orElseGet(() -> JsonManifest.read(this.source)))
+        );
+        this.lrs = new Unchecked<>(
+            new Solid<>(
+                () -> Collections.unmodifiableList(
+                    this.json().getJsonArray("layers")
+                        .getValuesAs(JsonValue::asJsonObject).stream()
+                        .map(JsonLayer::new)
+                        .collect(Collectors.toList())
+                )
+            )
+        );
     }
 
     @Override
@@ -76,12 +126,21 @@ public final class JsonManifest implements Manifest {
     @Override
     public Manifest convert(final Collection<String> options) {
         final String type = this.mediaType();
-        if (!options.contains(type)) {
-            throw new IllegalArgumentException(
-                String.format("Cannot convert from '%s' to any of '%s'", type, options)
+        final Manifest res;
+        if (options.contains(type)) {
+            res = this;
+        } else {
+            final TypeConversion conversion = new TypeConversion(this.json());
+            final byte[] bytes = conversion.bytes(
+                TypeConversion.target(type, options).orElseThrow(
+                    () -> new IllegalArgumentException(
+                        String.format("Cannot convert from '%s' to any of '%s'", type, options)
+                    )
+                )
             );
+            res = new JsonManifest(new Digest.Sha256(bytes), bytes);
         }
-        return this;
+        return res;
     }
 
     @Override
@@ -91,9 +150,12 @@ public final class JsonManifest implements Manifest {
 
     @Override
     public Collection<Layer> layers() {
-        return this.json().getJsonArray("layers").getValuesAs(JsonValue::asJsonObject).stream()
-            .map(JsonLayer::new)
-            .collect(Collectors.toList());
+        return this.lrs.value();
+    }
+
+    @Override
+    public Collection<ChildManifest> manifests() {
+        return Collections.emptyList();
     }
 
     @Override
@@ -107,12 +169,22 @@ public final class JsonManifest implements Manifest {
     }
 
     /**
-     * Read manifest content as JSON object.
+     * Manifest content as JSON object, parsed only once.
      *
      * @return JSON object.
      */
     private JsonObject json() {
-        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(this.source))) {
+        return this.parsed.value();
+    }
+
+    /**
+     * Read manifest content as JSON object.
+     *
+     * @param source JSON bytes.
+     * @return JSON object.
+     */
+    private static JsonObject read(final byte[] source) {
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(source))) {
             return reader.readObject();
         }
     }
@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.manifest;
+
+import com.artipie.asto.Content;
+import com.artipie.docker.Digest;
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
+
+/**
+ * Manifest list or OCI image index in JSON format.
+ * See <a href="https://docs.docker.com/registry/spec/manifest-v2-2/#manifest-list">Manifest List</a>
+ * and <a href="https://github.com/opencontainers/image-spec/blob/master/image-index.md">Image Index</a>.
+ * Manifest list references child manifests for different platforms
+ * instead of config and layers blobs.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class JsonManifestList implements Manifest {
+
+    /**
+     * Docker manifest list media type.
+     */
+    public static final String DOCKER = "application/vnd.docker.distribution.manifest.list.v2+json";
+
+    /**
+     * OCI image index media type.
+     */
+    public static final String OCI = "application/vnd.oci.image.index.v1+json";
+
+    /**
+     * Manifest digest.
+     */
+    private final Digest dgst;
+
+    /**
+     * JSON bytes.
+     */
+    private final byte[] source;
+
+    /**
+     * JSON object parsed from source once on first access.
+     */
+    private final Unchecked<JsonObject> parsed;
+
+    /**
+     * Child manifests read from JSON once on first access.
+     */
+    private final Unchecked<Collection<ChildManifest>> children;
+
+    /**
+     * Ctor.
+     *
+     * @param dgst Manifest digest.
+     * @param source JSON bytes.
+     */
+    public JsonManifestList(final Digest dgst, final byte[] source) {
+        this(dgst, source, Optional.empty());
+    }
+
+    /**
+     * Ctor for manifest already parsed to JSON object.
+     *
+     * @param dgst Manifest digest.
+     * @param source JSON bytes.
+     * @param json JSON object parsed from source.
+     */
+    JsonManifestList(final Digest dgst, final byte[] source, final JsonObject json) {
+        this(dgst, source, Optional.of(json));
+    }
+
+    /**
+     * Primary ctor.
+     *
+     * @param dgst Manifest digest.
+     * @param source JSON bytes.
+     * @param json JSON object parsed from source, empty to parse it on first access.
+     */
+    private JsonManifestList(
+        final Digest dgst, final byte[] source, final Optional<JsonObject> json
+    ) {
+        this.dgst = dgst;
+        this.source = Arrays.copyOf(source, source.length);
+        this.parsed = new Unchecked<>(
+            new Solid<>(() -> json.orElseGet(() -> JsonManifestList.read(this.source)))
+        );
+        this.children = new Unchecked<>(
+            new Solid<>(
+                () -> Collections.unmodifiableList(
+                    this.json().getJsonArray("manifests")
+                        .getValuesAs(JsonValue::asJsonObject).stream()
+                        .map(JsonChild::new)
+                        .collect(Collectors.toList())
+                )
+            )
+        );
+    }
+
+    @Override
+    public String mediaType() {
+        return this.json().getString("mediaType", JsonManifestList.OCI);
+    }
+
+    @Override
+    public Manifest convert(final Collection<String> options) {
+        final String type = this.mediaType();
+        final Manifest res;
+        if (options.contains(type)) {
+            res = this;
+        } else {
+            final TypeConversion conversion = new TypeConversion(this.json());
+            final byte[] bytes = conversion.bytes(
+                TypeConversion.target(type, options).orElseThrow(
+                    () -> new IllegalArgumentException(
+                        String.format("Cannot convert from '%s' to any of '%s'", type, options)
+                    )
+                )
+            );
+            res = new JsonManifestList(new Digest.Sha256(bytes), bytes);
+        }
+        return res;
+    }
+
+    @Override
+    public Digest config() {
+        throw new UnsupportedOperationException(
+            String.format("Manifest list %s has no config", this.dgst.string())
+        );
+    }
+
+    @Override
+    public Collection<Layer> layers() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Collection<ChildManifest> manifests() {
+        return this.children.value();
+    }
+
+    @Override
+    public Digest digest() {
+        return this.dgst;
+    }
+
+    @Override
+    public Content content() {
+        return new Content.From(this.source);
+    }
+
+    /**
+     * Manifest content as JSON object, parsed only once.
+     *
+     * @return JSON object.
+     */
+    private JsonObject json() {
+        return this.parsed.value();
+    }
+
+    /**
+     * Read manifest content as JSON object.
+     *
+     * @param source JSON bytes.
+     * @return JSON object.
+     */
+    private static JsonObject read(final byte[] source) {
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(source))) {
+            return reader.readObject();
+        }
+    }
+
+    /**
+     * Child manifest description in JSON format.
+     *
+     * @since 0.6
+     */
+    private static final class JsonChild implements ChildManifest {
+
+        /**
+         * JSON object.
+         */
+        private final JsonObject json;
+
+        /**
+         * Ctor.
+         *
+         * @param json JSON object.
+         */
+        private JsonChild(final JsonObject json) {
+            this.json = json;
+        }
+
+        @Override
+        public Digest digest() {
+            return new Digest.FromString(this.json.getString("digest"));
+        }
+
+        @Override
+        public Optional<String> platform() {
+            return Optional.ofNullable(this.json.getJsonObject("platform")).map(
+                platform -> {
+                    final StringBuilder res = new StringBuilder()
+                        .append(platform.getString("os"))
+                        .append('/')
+                        .append(platform.getString("architecture"));
+                    if (platform.containsKey("variant")) {
+                        res.append('/').append(platform.getString("variant"));
+                    }
+                    return res.toString();
+                }
+            );
+        }
+    }
+}
@@ -64,6 +64,13 @@ public interface Manifest {
      */
     Collection<Layer> layers();
 
+    /**
+     * Read child manifests of manifest list or image index.
+     *
+     * @return Child manifests, empty for image manifest.
+     */
+    Collection<ChildManifest> manifests();
+
     /**
      * Manifest digest.
      *
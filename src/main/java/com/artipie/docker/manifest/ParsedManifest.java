@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.manifest;
+
+import com.artipie.asto.Content;
+import com.artipie.docker.Digest;
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
+
+/**
+ * Manifest parsed from JSON bytes of unknown kind.
+ * Behaves as {@link JsonManifestList} if JSON lists child manifests
+ * and as {@link JsonManifest} otherwise.
+ *
+ * @since 0.6
+ */
+public final class ParsedManifest implements Manifest {
+
+    /**
+     * Manifest digest.
+     */
+    private final Digest dgst;
+
+    /**
+     * JSON bytes.
+     */
+    private final byte[] source;
+
+    /**
+     * Manifest of detected kind, created once on first access.
+     */
+    private final Unchecked<Manifest> origin;
+
+    /**
+     * Ctor.
+     *
+     * @param dgst Manifest digest.
+     * @param source JSON bytes.
+     */
+    public ParsedManifest(final Digest dgst, final byte[] source) {
+        this.dgst = dgst;
+        this.source = Arrays.copyOf(source, source.length);
+        this.origin = new Unchecked<>(new Solid<>(this::detect));
+    }
+
+    @Override
+    public String mediaType() {
+        return this.origin.value().mediaType();
+    }
+
+    @Override
+    public Manifest convert(final Collection<String> options) {
+        return this.origin.value().convert(options);
+    }
+
+    @Override
+    public Digest config() {
+        return this.origin.value().config();
+    }
+
+    @Override
+    public Collection<Layer> layers() {
+        return this.origin.value().layers();
+    }
+
+    @Override
+    public Collection<ChildManifest> manifests() {
+        return this.origin.value().manifests();
+    }
+
+    @Override
+    public Digest digest() {
+        return this.dgst;
+    }
+
+    @Override
+    public Content content() {
+        return new Content.From(this.source);
+    }
+
+    /**
+     * Detect manifest kind by JSON content.
+     * JSON is parsed once and passed to manifest of detected kind.
+     *
+     * @return Manifest of detected kind.
+     */
+    private Manifest detect() {
+        final JsonObject json;
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(this.source))) {
+            json = reader.readObject();
+        }
+        final Manifest res;
+        if (json.containsKey("manifests")) {
+            res = new JsonManifestList(this.dgst, this.source, json);
+        } else {
+            res = new JsonManifest(this.dgst, this.source, json);
+        }
+        return res;
+    }
+}
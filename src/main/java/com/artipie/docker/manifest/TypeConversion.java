@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.manifest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+
+/**
+ * Conversion of manifest JSON between Docker and OCI media types.
+ * <p>
+ * Type of manifest and types of config and layers descriptors are replaced
+ * by their counterparts, while digests are kept as is,
+ * so converted manifest references same blobs as original one.
+ * See <a href="https://github.com/opencontainers/image-spec/blob/master/media-types.md#compatibility-matrix">compatibility matrix</a>.
+ * </p>
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class TypeConversion {
+
+    /**
+     * Docker media types and OCI counterparts.
+     */
+    private static final String[][] PAIRS = {
+        {
+            "application/vnd.docker.distribution.manifest.v2+json",
+            "application/vnd.oci.image.manifest.v1+json",
+        },
+        {JsonManifestList.DOCKER, JsonManifestList.OCI},
+        {
+            "application/vnd.docker.container.image.v1+json",
+            "application/vnd.oci.image.config.v1+json",
+        },
+        {
+            "application/vnd.docker.image.rootfs.diff.tar.gzip",
+            "application/vnd.oci.image.layer.v1.tar+gzip",
+        },
+        {
+            "application/vnd.docker.image.rootfs.foreign.diff.tar.gzip",
+            "application/vnd.oci.image.layer.nondistributable.v1.tar+gzip",
+        },
+    };
+
+    /**
+     * Media types counterparts in both directions.
+     */
+    private static final Map<String, String> COUNTERPARTS = TypeConversion.bothWays();
+
+    /**
+     * Manifest JSON.
+     */
+    private final JsonObject json;
+
+    /**
+     * Ctor.
+     *
+     * @param json Manifest JSON.
+     */
+    TypeConversion(final JsonObject json) {
+        this.json = json;
+    }
+
+    /**
+     * Find type manifest can be converted to.
+     *
+     * @param type Manifest media type.
+     * @param options Types the manifest may be converted to.
+     * @return Target type, empty if manifest cannot be converted to any of options.
+     */
+    static Optional<String> target(final String type, final Collection<String> options) {
+        return Optional.ofNullable(TypeConversion.COUNTERPARTS.get(type)).filter(options::contains);
+    }
+
+    /**
+     * Convert manifest JSON to target type.
+     *
+     * @param target Target manifest media type.
+     * @return Converted manifest JSON bytes.
+     */
+    byte[] bytes(final String target) {
+        final JsonObjectBuilder res = Json.createObjectBuilder(this.json)
+            .add("mediaType", target);
+        if (this.json.containsKey("config")) {
+            res.add("config", TypeConversion.descriptor(this.json.getJsonObject("config")));
+        }
+        if (this.json.containsKey("layers")) {
+            final JsonArrayBuilder layers = Json.createArrayBuilder();
+            this.json.getJsonArray("layers").getValuesAs(JsonValue::asJsonObject).stream()
+                .map(TypeConversion::descriptor)
+                .forEach(layers::add);
+            res.add("layers", layers);
+        }
+        return res.build().toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Convert descriptor media type, descriptors of unknown types are kept as is.
+     *
+     * @param descriptor Descriptor JSON.
+     * @return Converted descriptor JSON.
+     */
+    private static JsonObject descriptor(final JsonObject descriptor) {
+        return Optional.ofNullable(descriptor.getString("mediaType", null))
+            .map(TypeConversion.COUNTERPARTS::get)
+            .map(type -> Json.createObjectBuilder(descriptor).add("mediaType", type).build())
+            .orElse(descriptor);
+    }
+
+    /**
+     * Build media types counterparts in both directions.
+     *
+     * @return Counterparts by media type.
+     */
+    private static Map<String, String> bothWays() {
+        final Map<String, String> res = new HashMap<>();
+        for (final String[] pair : TypeConversion.PAIRS) {
+            res.put(pair[0], pair[1]);
+            res.put(pair[1], pair[0]);
+        }
+        return res;
+    }
+}
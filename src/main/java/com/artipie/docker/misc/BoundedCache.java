@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory cache with limited number of entries.
+ * Least recently used entry is evicted when cache is full.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 0.6
+ */
+public final class BoundedCache<K, V> {
+
+    /**
+     * Maximum number of entries.
+     */
+    private final int capacity;
+
+    /**
+     * Cached values by keys in access order.
+     */
+    private final Map<K, V> entries;
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Maximum number of entries.
+     */
+    public BoundedCache(final int capacity) {
+        this.capacity = capacity;
+        // @checkstyle MagicNumberCheck (1 line)
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true));
+    }
+
+    /**
+     * Get cached value.
+     *
+     * @param key Key.
+     * @return Value, empty if it is not cached.
+     */
+    public Optional<V> get(final K key) {
+        return Optional.ofNullable(this.entries.get(key));
+    }
+
+    /**
+     * Cache value, replacing value previously cached by same key.
+     *
+     * @param key Key.
+     * @param value Value.
+     */
+    public void put(final K key, final V value) {
+        synchronized (this.entries) {
+            this.entries.put(key, value);
+            if (this.entries.size() > this.capacity) {
+                final Iterator<K> keys = this.entries.keySet().iterator();
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * Forget cached value.
+     *
+     * @param key Key.
+     */
+    public void remove(final K key) {
+        this.entries.remove(key);
+    }
+
+    /**
+     * Forget cached value if it is still cached by key.
+     *
+     * @param key Key.
+     * @param value Value.
+     */
+    public void remove(final K key, final V value) {
+        this.entries.remove(key, value);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.docker.Tag;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+
+/**
+ * Tags parsed from tags list JSON.
+ * @since 0.6
+ */
+public final class ParsedTags {
+
+    /**
+     * Tags list JSON.
+     */
+    private final Content json;
+
+    /**
+     * Ctor.
+     * @param json Tags list JSON
+     */
+    public ParsedTags(final Content json) {
+        this.json = json;
+    }
+
+    /**
+     * Read tags.
+     *
+     * @return Tags in order they are listed in JSON.
+     */
+    public CompletionStage<List<Tag>> tags() {
+        return new PublisherAs(this.json).asciiString().thenApply(
+            str -> {
+                try (JsonReader reader = Json.createReader(new StringReader(str))) {
+                    return reader.readObject().getJsonArray("tags")
+                        .getValuesAs(JsonString.class).stream()
+                        .<Tag>map(tag -> new Tag.Valid(tag.getString()))
+                        .collect(Collectors.toList());
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import com.artipie.docker.Digest;
+import java.nio.ByteBuffer;
+import org.apache.commons.codec.binary.Hex;
+
+/**
+ * SHA-256 digest with resumable state.
+ * <p>
+ * Unlike {@link java.security.MessageDigest} intermediate state of this digest
+ * can be exported as bytes and restored later, even in another process,
+ * so the digest of data received in several parts can be calculated
+ * without reading all the data once again.
+ * See <a href="https://nvlpubs.nist.gov/nistpubs/FIPS/NIST.FIPS.180-4.pdf">FIPS 180-4</a>.
+ * </p>
+ *
+ * @since 0.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ArrayIsStoredDirectly"})
+public final class ResumableSha256 {
+
+    /**
+     * Block size in bytes.
+     */
+    private static final int BLOCK = 64;
+
+    /**
+     * Size of state without buffered bytes: eight hash words and length.
+     */
+    private static final int HEADER = 40;
+
+    /**
+     * Round constants.
+     */
+    private static final int[] ROUNDS = {
+        0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5,
+        0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+        0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3,
+        0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+        0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc,
+        0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+        0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7,
+        0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+        0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13,
+        0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+        0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3,
+        0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+        0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5,
+        0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+        0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208,
+        0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2,
+    };
+
+    /**
+     * Initial hash value.
+     */
+    private static final int[] INITIAL = {
+        0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a,
+        0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19,
+    };
+
+    /**
+     * Current hash value.
+     */
+    private final int[] hash;
+
+    /**
+     * Buffered bytes of incomplete block.
+     */
+    private final byte[] block;
+
+    /**
+     * Message schedule, reused between blocks.
+     */
+    private final int[] schedule;
+
+    /**
+     * Total number of bytes digested.
+     */
+    private long total;
+
+    /**
+     * Ctor.
+     */
+    public ResumableSha256() {
+        this(ResumableSha256.empty());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param state State exported by {@link #state()}.
+     */
+    public ResumableSha256(final byte[] state) {
+        this(
+            ResumableSha256.words(state),
+            ResumableSha256.tail(state),
+            ResumableSha256.length(state)
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param hash Current hash value.
+     * @param block Buffered bytes of incomplete block.
+     * @param total Total number of bytes digested.
+     */
+    private ResumableSha256(final int[] hash, final byte[] block, final long total) {
+        this.hash = hash;
+        this.block = block;
+        this.total = total;
+        this.schedule = new int[ResumableSha256.ROUNDS.length];
+    }
+
+    /**
+     * Update digest with bytes remaining in buffer.
+     * Buffer position is not changed.
+     *
+     * @param buffer Buffer.
+     */
+    public void update(final ByteBuffer buffer) {
+        final ByteBuffer buf = buffer.duplicate();
+        while (buf.hasRemaining()) {
+            final int pos = this.buffered();
+            if (pos == 0 && buf.hasArray() && buf.remaining() >= ResumableSha256.BLOCK) {
+                this.compress(buf.array(), buf.arrayOffset() + buf.position());
+                buf.position(buf.position() + ResumableSha256.BLOCK);
+                this.total += ResumableSha256.BLOCK;
+            } else {
+                final int count = Math.min(ResumableSha256.BLOCK - pos, buf.remaining());
+                buf.get(this.block, pos, count);
+                this.total += count;
+                if (pos + count == ResumableSha256.BLOCK) {
+                    this.compress(this.block, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Total number of bytes digested.
+     *
+     * @return Number of bytes.
+     */
+    public long length() {
+        return this.total;
+    }
+
+    /**
+     * Export digest state.
+     *
+     * @return State bytes.
+     */
+    public byte[] state() {
+        final ByteBuffer buf = ByteBuffer.allocate(ResumableSha256.HEADER + this.buffered());
+        for (final int word : this.hash) {
+            buf.putInt(word);
+        }
+        buf.putLong(this.total);
+        buf.put(this.block, 0, this.buffered());
+        return buf.array();
+    }
+
+    /**
+     * Calculate digest of all bytes digested so far.
+     * Digest state is not changed, so more bytes can be digested after that.
+     *
+     * @return Digest.
+     */
+    public Digest digest() {
+        final ResumableSha256 copy = new ResumableSha256(this.state());
+        final long bits = copy.total * Byte.SIZE;
+        final int pad;
+        if (copy.buffered() < ResumableSha256.BLOCK - Long.BYTES) {
+            pad = ResumableSha256.BLOCK - Long.BYTES - copy.buffered();
+        } else {
+            pad = 2 * ResumableSha256.BLOCK - Long.BYTES - copy.buffered();
+        }
+        final byte[] padding = new byte[pad + Long.BYTES];
+        padding[0] = (byte) 0x80;
+        ByteBuffer.wrap(padding, pad, Long.BYTES).putLong(bits);
+        copy.update(ByteBuffer.wrap(padding));
+        final ByteBuffer out = ByteBuffer.allocate(copy.hash.length * Integer.BYTES);
+        for (final int word : copy.hash) {
+            out.putInt(word);
+        }
+        return new Digest.Sha256(Hex.encodeHexString(out.array()));
+    }
+
+    /**
+     * Number of bytes buffered in incomplete block.
+     *
+     * @return Number of bytes.
+     */
+    private int buffered() {
+        return (int) (this.total % ResumableSha256.BLOCK);
+    }
+
+    /**
+     * Process one block of data.
+     *
+     * @param data Data array.
+     * @param offset Offset of block in array.
+     * @checkstyle ExecutableStatementCountCheck (60 lines)
+     */
+    private void compress(final byte[] data, final int offset) {
+        final int[] words = this.schedule;
+        final ByteBuffer buf = ByteBuffer.wrap(data, offset, ResumableSha256.BLOCK);
+        for (int idx = 0; idx < 16; idx += 1) {
+            words[idx] = buf.getInt();
+        }
+        for (int idx = 16; idx < words.length; idx += 1) {
+            words[idx] = words[idx - 16] + ResumableSha256.lowSigma(words[idx - 15], 7, 18, 3)
+                + words[idx - 7] + ResumableSha256.lowSigma(words[idx - 2], 17, 19, 10);
+        }
+        int alpha = this.hash[0];
+        int beta = this.hash[1];
+        int gamma = this.hash[2];
+        int delta = this.hash[3];
+        int epsilon = this.hash[4];
+        int zeta = this.hash[5];
+        int eta = this.hash[6];
+        int theta = this.hash[7];
+        for (int idx = 0; idx < words.length; idx += 1) {
+            final int first = theta + ResumableSha256.bigSigma(epsilon, 6, 11, 25)
+                + ResumableSha256.choice(epsilon, zeta, eta)
+                + ResumableSha256.ROUNDS[idx] + words[idx];
+            final int second = ResumableSha256.bigSigma(alpha, 2, 13, 22)
+                + ResumableSha256.majority(alpha, beta, gamma);
+            theta = eta;
+            eta = zeta;
+            zeta = epsilon;
+            epsilon = delta + first;
+            delta = gamma;
+            gamma = beta;
+            beta = alpha;
+            alpha = first + second;
+        }
+        this.hash[0] += alpha;
+        this.hash[1] += beta;
+        this.hash[2] += gamma;
+        this.hash[3] += delta;
+        this.hash[4] += epsilon;
+        this.hash[5] += zeta;
+        this.hash[6] += eta;
+        this.hash[7] += theta;
+    }
+
+    /**
+     * Sigma function of compression rounds.
+     *
+     * @param word Word.
+     * @param first First rotation distance.
+     * @param second Second rotation distance.
+     * @param third Third rotation distance.
+     * @return Result.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static int bigSigma(
+        final int word, final int first, final int second, final int third
+    ) {
+        return Integer.rotateRight(word, first) ^ Integer.rotateRight(word, second)
+            ^ Integer.rotateRight(word, third);
+    }
+
+    /**
+     * Sigma function of message schedule.
+     *
+     * @param word Word.
+     * @param first First rotation distance.
+     * @param second Second rotation distance.
+     * @param shift Shift distance.
+     * @return Result.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static int lowSigma(
+        final int word, final int first, final int second, final int shift
+    ) {
+        return Integer.rotateRight(word, first) ^ Integer.rotateRight(word, second)
+            ^ word >>> shift;
+    }
+
+    /**
+     * Choice function: bits of second or third word chosen by bits of first word.
+     *
+     * @param first First word.
+     * @param second Second word.
+     * @param third Third word.
+     * @return Result.
+     */
+    private static int choice(final int first, final int second, final int third) {
+        return first & second ^ ~first & third;
+    }
+
+    /**
+     * Majority function: bits set in majority of words.
+     *
+     * @param first First word.
+     * @param second Second word.
+     * @param third Third word.
+     * @return Result.
+     */
+    private static int majority(final int first, final int second, final int third) {
+        final int pair = first & second ^ first & third;
+        return pair ^ second & third;
+    }
+
+    /**
+     * Read hash words from state.
+     *
+     * @param state State bytes.
+     * @return Hash words.
+     */
+    private static int[] words(final byte[] state) {
+        if (state.length < ResumableSha256.HEADER) {
+            throw new IllegalArgumentException(
+                String.format("SHA-256 state is too short: %d bytes", state.length)
+            );
+        }
+        final ByteBuffer buf = ByteBuffer.wrap(state);
+        final int[] words = new int[ResumableSha256.INITIAL.length];
+        for (int idx = 0; idx < words.length; idx += 1) {
+            words[idx] = buf.getInt();
+        }
+        return words;
+    }
+
+    /**
+     * Read total number of digested bytes from state.
+     *
+     * @param state State bytes.
+     * @return Number of bytes.
+     */
+    private static long length(final byte[] state) {
+        return ByteBuffer.wrap(state, 0, ResumableSha256.HEADER)
+            .getLong(ResumableSha256.HEADER - Long.BYTES);
+    }
+
+    /**
+     * Read buffered bytes of incomplete block from state.
+     *
+     * @param state State bytes.
+     * @return Block with buffered bytes.
+     */
+    private static byte[] tail(final byte[] state) {
+        final int buffered = (int) (ResumableSha256.length(state) % ResumableSha256.BLOCK);
+        if (state.length - ResumableSha256.HEADER != buffered) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "SHA-256 state has %d buffered bytes, but %d expected",
+                    state.length - ResumableSha256.HEADER, buffered
+                )
+            );
+        }
+        final byte[] block = new byte[ResumableSha256.BLOCK];
+        System.arraycopy(state, ResumableSha256.HEADER, block, 0, buffered);
+        return block;
+    }
+
+    /**
+     * Initial state.
+     *
+     * @return State bytes.
+     */
+    private static byte[] empty() {
+        final ByteBuffer buf = ByteBuffer.allocate(ResumableSha256.HEADER);
+        for (final int word : ResumableSha256.INITIAL) {
+            buf.putInt(word);
+        }
+        buf.putLong(0);
+        return buf.array();
+    }
+}
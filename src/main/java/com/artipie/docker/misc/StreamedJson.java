@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import com.artipie.asto.Content;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON object with list of strings, streamed by batches of strings,
+ * so whole JSON document is never built in memory.
+ * JSON looks like <code>{&lt;head&gt;"&lt;field&gt;":["&lt;value&gt;",...]}</code>.
+ * Values are written as is, they are expected to require no escaping.
+ *
+ * @since 0.6
+ */
+public final class StreamedJson {
+
+    /**
+     * Number of values written to JSON in one buffer.
+     */
+    private static final int BATCH = 100;
+
+    /**
+     * JSON object members written before list.
+     */
+    private final String head;
+
+    /**
+     * List field name.
+     */
+    private final String field;
+
+    /**
+     * List values.
+     */
+    private final Iterable<String> values;
+
+    /**
+     * Ctor.
+     *
+     * @param field List field name.
+     * @param values List values.
+     */
+    public StreamedJson(final String field, final Iterable<String> values) {
+        this("", field, values);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param head JSON object members written before list, including trailing comma.
+     * @param field List field name.
+     * @param values List values.
+     */
+    public StreamedJson(final String head, final String field, final Iterable<String> values) {
+        this.head = head;
+        this.field = field;
+        this.values = values;
+    }
+
+    /**
+     * JSON content.
+     *
+     * @return Content.
+     */
+    public Content content() {
+        return new Content.From(
+            Flowable.just(String.format("{%s\"%s\":[", this.head, this.field))
+                .concatWith(
+                    Flowable.fromIterable(this.values)
+                        .map(value -> String.format("\"%s\"", value))
+                        .buffer(StreamedJson.BATCH)
+                        .zipWith(
+                            Flowable.range(0, Integer.MAX_VALUE),
+                            (batch, idx) -> {
+                                final String joined = String.join(",", batch);
+                                final String res;
+                                if (idx == 0) {
+                                    res = joined;
+                                } else {
+                                    res = String.format(",%s", joined);
+                                }
+                                return res;
+                            }
+                        )
+                )
+                .concatWith(Flowable.just("]}"))
+                .map(str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.US_ASCII)))
+        );
+    }
+}
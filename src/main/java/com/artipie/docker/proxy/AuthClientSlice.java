@@ -32,6 +32,7 @@ import com.artipie.http.client.ClientSlices;
 import com.artipie.http.headers.Authorization;
 import com.artipie.http.headers.WwwAuthenticate;
 import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RequestLineFrom;
 import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsFull;
 import com.artipie.http.rs.RsStatus;
@@ -40,19 +41,35 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.reactivestreams.Publisher;
 
 /**
  * Slice augmenting requests with Authorization header when needed.
+ * <p>
+ * Bearer tokens are cached by realm, service and scope until shortly before they expire.
+ * Once remote registry challenged request to a repository,
+ * following requests to the repository are authorized up front
+ * without waiting for another challenge.
+ * </p>
  *
  * @since 0.3
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class AuthClientSlice implements Slice {
 
+    /**
+     * Pattern of request path to a repository resource.
+     */
+    private static final Pattern REPO_PATH = Pattern.compile(
+        "^(?<repo>.*)/(manifests|blobs|tags)/[^/]+$"
+    );
+
     /**
      * Client slices.
      */
@@ -68,6 +85,11 @@ public final class AuthClientSlice implements Slice {
      */
     private final Credentials credentials;
 
+    /**
+     * Tokens cache.
+     */
+    private final TokenCache cache;
+
     /**
      * Ctor.
      *
@@ -89,10 +111,29 @@ public final class AuthClientSlice implements Slice {
         final ClientSlices client,
         final Slice origin,
         final Credentials credentials
+    ) {
+        this(client, origin, credentials, new TokenCache());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param client Client slices.
+     * @param origin Origin slice.
+     * @param credentials Credentials.
+     * @param cache Tokens cache.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    AuthClientSlice(
+        final ClientSlices client,
+        final Slice origin,
+        final Credentials credentials,
+        final TokenCache cache
     ) {
         this.client = client;
         this.origin = origin;
         this.credentials = credentials;
+        this.cache = cache;
     }
 
     @Override
@@ -100,74 +141,161 @@ public final class AuthClientSlice implements Slice {
         final String line,
         final Iterable<Map.Entry<String, String>> headers,
         final Publisher<ByteBuffer> body) {
-        final CompletableFuture<Response> promise = new CompletableFuture<>();
+        final String resource = AuthClientSlice.resource(line);
         return new AsyncResponse(
-            this.origin.response(line, headers, body).send(
-                (rsstatus, rsheaders, rsbody) -> {
-                    final RsFull original = new RsFull(rsstatus, rsheaders, rsbody);
-                    final Response response;
-                    if (rsstatus == RsStatus.UNAUTHORIZED) {
-                        response = new AsyncResponse(
-                            this.authenticate(new WwwAuthenticate(rsheaders)).thenApply(
-                                authorization -> this.origin.response(
-                                    line,
-                                    new Headers.From(headers, authorization),
-                                    body
-                                )
+            this.cache.challenge(resource).map(
+                challenge -> this.authenticate(new WwwAuthenticate(challenge))
+                    .thenApply(Optional::of)
+            ).orElseGet(
+                () -> CompletableFuture.completedFuture(Optional.empty())
+            ).thenCompose(
+                token -> this.send(line, headers, body, resource, token)
+            )
+        );
+    }
+
+    /**
+     * Send request to origin, authenticate and retry it if challenged.
+     *
+     * @param line Request line.
+     * @param headers Request headers.
+     * @param body Request body.
+     * @param resource Resource requested.
+     * @param token Token sent up front, if any.
+     * @return Response.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private CompletionStage<Response> send(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body,
+        final String resource,
+        final Optional<String> token
+    ) {
+        final CompletableFuture<Response> promise = new CompletableFuture<>();
+        return this.origin.response(
+            line,
+            token.<Iterable<Map.Entry<String, String>>>map(
+                value -> new Headers.From(headers, new Authorization.Bearer(value))
+            ).orElse(headers),
+            body
+        ).send(
+            (rsstatus, rsheaders, rsbody) -> {
+                final Response response;
+                if (rsstatus == RsStatus.UNAUTHORIZED) {
+                    final WwwAuthenticate challenge = new WwwAuthenticate(rsheaders);
+                    this.cache.remember(resource, challenge.getValue());
+                    token.ifPresent(
+                        value -> this.cache.evict(AuthClientSlice.key(challenge), value)
+                    );
+                    response = new AsyncResponse(
+                        this.authenticate(challenge).thenApply(
+                            value -> this.origin.response(
+                                line,
+                                new Headers.From(headers, new Authorization.Bearer(value)),
+                                body
                             )
-                        );
-                    } else {
-                        response = original;
-                    }
-                    promise.complete(response);
-                    return CompletableFuture.allOf();
+                        )
+                    );
+                } else {
+                    response = new RsFull(rsstatus, rsheaders, rsbody);
                 }
-            ).thenCompose(nothing -> promise)
-        );
+                promise.complete(response);
+                return CompletableFuture.allOf();
+            }
+        ).thenCompose(nothing -> promise);
     }
 
     /**
-     * Create Authorization header for given WWW-Authenticate header.
+     * Get token for given WWW-Authenticate header.
+     * Cached token is used if it is not going to expire soon,
+     * concurrent requests for same token share single token request.
      *
      * @param header WWW-Authenticate header.
-     * @return Authorization header.
+     * @return Token.
      */
-    private CompletionStage<Map.Entry<String, String>> authenticate(final WwwAuthenticate header) {
-        final String scheme = header.scheme();
-        if (!scheme.equals("Bearer")) {
-            throw new IllegalArgumentException(
-                String.format("Unsupported authentication scheme: %s", scheme)
-            );
-        }
+    private CompletionStage<String> authenticate(final WwwAuthenticate header) {
+        return this.cache.token(AuthClientSlice.key(header), () -> this.token(header));
+    }
+
+    /**
+     * Request token from authorization server.
+     *
+     * @param header WWW-Authenticate header.
+     * @return Token response.
+     */
+    private CompletionStage<TokenResponse> token(final WwwAuthenticate header) {
         final URI realm;
         try {
             realm = new URI(header.realm());
         } catch (final URISyntaxException ex) {
             throw new IllegalArgumentException(ex);
         }
-        final String path = realm.getPath();
-        final String query = header.params().stream()
-            .filter(param -> !param.name().equals("realm"))
-            .map(param -> String.format("%s=%s", param.name(), param.value()))
-            .collect(Collectors.joining("&"));
-        final CompletableFuture<String> promise = new CompletableFuture<>();
+        final CompletableFuture<TokenResponse> promise = new CompletableFuture<>();
         return this.client.https(realm.getHost()).response(
             new RequestLine(
                 RqMethod.GET,
-                String.format("%s?%s", path, query)
+                String.format("%s?%s", realm.getPath(), AuthClientSlice.query(header))
             ).toString(),
             this.credentials.headers(),
             Flowable.empty()
         ).send(
             (status, headers, body) -> new PublisherAs(body).bytes()
                 .thenApply(TokenResponse::new)
-                .thenApply(TokenResponse::token)
                 .thenCompose(
                     token -> {
                         promise.complete(token);
                         return CompletableFuture.allOf();
                     }
                 )
-        ).thenCompose(ignored -> promise).thenApply(Authorization.Bearer::new);
+        ).thenCompose(ignored -> promise);
+    }
+
+    /**
+     * Key of token in cache: realm, service and scope of challenge.
+     *
+     * @param header WWW-Authenticate header.
+     * @return Token key.
+     */
+    private static String key(final WwwAuthenticate header) {
+        final String scheme = header.scheme();
+        if (!scheme.equals("Bearer")) {
+            throw new IllegalArgumentException(
+                String.format("Unsupported authentication scheme: %s", scheme)
+            );
+        }
+        return String.join("?", header.realm(), AuthClientSlice.query(header));
+    }
+
+    /**
+     * Token request query built from challenge parameters except realm.
+     *
+     * @param header WWW-Authenticate header.
+     * @return Query string.
+     */
+    private static String query(final WwwAuthenticate header) {
+        return header.params().stream()
+            .filter(param -> !param.name().equals("realm"))
+            .map(param -> String.format("%s=%s", param.name(), param.value()))
+            .collect(Collectors.joining("&"));
+    }
+
+    /**
+     * Resource requested: repository path for manifests, blobs and tags requests,
+     * whole path for other requests.
+     *
+     * @param line Request line.
+     * @return Resource.
+     */
+    private static String resource(final String line) {
+        final String path = new RequestLineFrom(line).uri().getPath();
+        final Matcher matcher = AuthClientSlice.REPO_PATH.matcher(path);
+        final String res;
+        if (matcher.matches()) {
+            res = matcher.group("repo");
+        } else {
+            res = path;
+        }
+        return res;
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.proxy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * URI of paginated list in remote registry, like tags list or catalog.
+ * See <a href="https://docs.docker.com/registry/spec/api/#pagination">Pagination</a>.
+ *
+ * @since 0.6
+ */
+final class PageUri {
+
+    /**
+     * List path.
+     */
+    private final String path;
+
+    /**
+     * Entry to list entries after.
+     */
+    private final Optional<String> last;
+
+    /**
+     * Maximum number of entries to list.
+     */
+    private final int limit;
+
+    /**
+     * Ctor.
+     *
+     * @param path List path.
+     * @param last Entry to list entries after, empty to list from the beginning.
+     * @param limit Maximum number of entries to list, unlimited if equals to max integer.
+     */
+    PageUri(final String path, final Optional<String> last, final int limit) {
+        this.path = path;
+        this.last = last;
+        this.limit = limit;
+    }
+
+    /**
+     * Build URI string.
+     *
+     * @return URI string.
+     */
+    public String string() {
+        final List<String> params = new ArrayList<>(2);
+        if (this.limit < Integer.MAX_VALUE) {
+            params.add(String.format("n=%d", this.limit));
+        }
+        this.last.ifPresent(value -> params.add(String.format("last=%s", value)));
+        final StringBuilder uri = new StringBuilder(this.path);
+        if (!params.isEmpty()) {
+            uri.append('?').append(String.join("&", params));
+        }
+        return uri.toString();
+    }
+}
@@ -29,12 +29,14 @@ import com.artipie.docker.Digest;
 import com.artipie.docker.RepoName;
 import com.artipie.http.Headers;
 import com.artipie.http.Slice;
-import com.artipie.http.headers.ContentLength;
 import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
 import com.artipie.http.rq.RqMethod;
 import io.reactivex.Flowable;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Proxy implementation of {@link Blob}.
@@ -63,9 +65,14 @@ public final class ProxyBlob implements Blob {
     private final Digest dig;
 
     /**
-     * Blob size.
+     * Blob size, empty if unknown.
      */
-    private final long bsize;
+    private final Optional<Long> bsize;
+
+    /**
+     * Content already received from remote repository and not read yet.
+     */
+    private final AtomicReference<Content> received;
 
     /**
      * Ctor.
@@ -81,11 +88,33 @@ public final class ProxyBlob implements Blob {
         final RepoName name,
         final Digest dig,
         final long size
+    ) {
+        this(remote, name, dig, Optional.of(size), null);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param remote Remote repository.
+     * @param name Repository name.
+     * @param dig Blob digest.
+     * @param size Blob size, empty if unknown, then it is requested when asked for.
+     * @param received Content already received from remote repository,
+     *  it is returned by first {@link #content()} call.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    ProxyBlob(
+        final Slice remote,
+        final RepoName name,
+        final Digest dig,
+        final Optional<Long> size,
+        final Content received
     ) {
         this.remote = remote;
         this.name = name;
         this.dig = dig;
         this.bsize = size;
+        this.received = new AtomicReference<>(received);
     }
 
     @Override
@@ -95,11 +124,31 @@ public final class ProxyBlob implements Blob {
 
     @Override
     public CompletionStage<Long> size() {
-        return CompletableFuture.completedFuture(this.bsize);
+        return this.bsize.<CompletionStage<Long>>map(CompletableFuture::completedFuture)
+            .orElseGet(
+                () -> new ProxyLayers(this.remote, this.name).get(this.dig).thenApply(
+                    found -> found.orElseThrow(
+                        () -> new IllegalStateException(
+                            String.format("Blob %s not found", this.dig.string())
+                        )
+                    )
+                ).thenCompose(Blob::size)
+            );
     }
 
     @Override
     public CompletionStage<Content> content() {
+        return Optional.ofNullable(this.received.getAndSet(null))
+            .<CompletionStage<Content>>map(CompletableFuture::completedFuture)
+            .orElseGet(this::request);
+    }
+
+    /**
+     * Request content from remote repository.
+     *
+     * @return Content.
+     */
+    private CompletionStage<Content> request() {
         final CompletableFuture<Content> result = new CompletableFuture<>();
         this.remote.response(
             new RequestLine(RqMethod.GET, new BlobPath(this.name, this.dig).string()).toString(),
@@ -110,7 +159,9 @@ public final class ProxyBlob implements Blob {
                 final CompletableFuture<Void> terminated = new CompletableFuture<>();
                 result.complete(
                     new Content.From(
-                        new ContentLength(headers).longValue(),
+                        new RqHeaders(headers, "Content-Length").stream()
+                            .findFirst()
+                            .map(Long::parseLong),
                         Flowable.fromPublisher(body)
                             .doOnError(terminated::completeExceptionally)
                             .doOnTerminate(() -> terminated.complete(null))
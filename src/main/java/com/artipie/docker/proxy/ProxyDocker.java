@@ -23,15 +23,28 @@
  */
 package com.artipie.docker.proxy;
 
+import com.artipie.asto.Content;
+import com.artipie.docker.Catalog;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.misc.ParsedCatalog;
+import com.artipie.http.Headers;
 import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Proxy {@link Docker} implementation.
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class ProxyDocker implements Docker {
 
@@ -53,4 +66,40 @@ public final class ProxyDocker implements Docker {
     public Repo repo(final RepoName name) {
         return new ProxyRepo(this.remote, name);
     }
+
+    @Override
+    public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+        final CompletableFuture<Catalog> promise = new CompletableFuture<>();
+        return this.remote.response(
+            new RequestLine(
+                RqMethod.GET,
+                new PageUri("/v2/_catalog", from.map(RepoName::value), limit).string()
+            ).toString(),
+            Headers.EMPTY,
+            Flowable.empty()
+        ).send(
+            (status, headers, body) -> {
+                final CompletionStage<Catalog> result;
+                if (status == RsStatus.OK) {
+                    final boolean more = !new RqHeaders(headers, "Link").isEmpty();
+                    result = new ParsedCatalog(new Content.From(body)).repos().thenApply(
+                        names -> {
+                            final Optional<RepoName> next;
+                            if (more && !names.isEmpty()) {
+                                next = Optional.of(names.get(names.size() - 1));
+                            } else {
+                                next = Optional.empty();
+                            }
+                            return new Catalog.From(names, next);
+                        }
+                    );
+                } else {
+                    result = CompletableFuture.failedFuture(
+                        new IllegalArgumentException(String.format("Unexpected status: %s", status))
+                    );
+                }
+                return result.thenAccept(promise::complete).toCompletableFuture();
+            }
+        ).thenCompose(nothing -> promise);
+    }
 }
@@ -25,25 +25,36 @@ package com.artipie.docker.proxy;
 
 import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.error.ReadOnlyException;
 import com.artipie.http.Headers;
 import com.artipie.http.Slice;
 import com.artipie.http.headers.ContentLength;
 import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
 import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 /**
  * Proxy implementation of {@link Layers}.
+ * Layer is found by HEAD request to remote repository,
+ * while pulled layer status, size and content are received by single GET request.
+ * If GET response has no content length, as chunked response,
+ * its body is kept and layer size is unknown until it is asked for.
+ * Connection of GET request is released when content is read, failed or cancelled.
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 public final class ProxyLayers implements Layers {
 
     /**
@@ -68,8 +79,10 @@ public final class ProxyLayers implements Layers {
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
-        throw new UnsupportedOperationException();
+    public CompletionStage<Blob> put(final BlobSource source) {
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot add to proxy layers, they are read-only")
+        );
     }
 
     @Override
@@ -104,4 +117,61 @@ public final class ProxyLayers implements Layers {
             }
         ).thenCompose(nothing -> promise);
     }
+
+    @Override
+    public CompletionStage<Optional<Blob>> pull(final Digest digest) {
+        final CompletableFuture<Optional<Blob>> promise = new CompletableFuture<>();
+        this.remote.response(
+            new RequestLine(RqMethod.GET, new BlobPath(this.name, digest).string()).toString(),
+            Headers.EMPTY,
+            Flowable.empty()
+        ).send(
+            (status, headers, body) -> {
+                final CompletableFuture<Void> terminated = new CompletableFuture<>();
+                final Flowable<ByteBuffer> content = Flowable.fromPublisher(body)
+                    .doOnError(terminated::completeExceptionally)
+                    .doFinally(() -> terminated.complete(null));
+                final Optional<Long> size = new RqHeaders(headers, "Content-Length").stream()
+                    .findFirst()
+                    .map(Long::parseLong);
+                if (status == RsStatus.OK) {
+                    promise.complete(
+                        Optional.of(
+                            new ProxyBlob(
+                                this.remote, this.name, digest, size,
+                                new Content.From(size, content)
+                            )
+                        )
+                    );
+                } else {
+                    if (status == RsStatus.NOT_FOUND) {
+                        promise.complete(Optional.empty());
+                    } else {
+                        promise.completeExceptionally(
+                            new IllegalArgumentException(
+                                String.format("Unexpected status: %s", status)
+                            )
+                        );
+                    }
+                    content.ignoreElements().onErrorComplete().subscribe();
+                }
+                return terminated;
+            }
+        ).handle(
+            (nothing, throwable) -> {
+                if (throwable != null) {
+                    promise.completeExceptionally(throwable);
+                }
+                return nothing;
+            }
+        );
+        return promise;
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final Digest digest) {
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot delete from proxy layers, they are read-only")
+        );
+    }
 }
@@ -29,16 +29,24 @@ import com.artipie.docker.Digest;
 import com.artipie.docker.Manifests;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
+import com.artipie.docker.error.ReadOnlyException;
 import com.artipie.docker.http.DigestHeader;
-import com.artipie.docker.manifest.JsonManifest;
+import com.artipie.docker.manifest.JsonManifestList;
 import com.artipie.docker.manifest.Manifest;
+import com.artipie.docker.manifest.ParsedManifest;
+import com.artipie.docker.misc.ParsedTags;
 import com.artipie.docker.ref.ManifestRef;
 import com.artipie.http.Headers;
 import com.artipie.http.Slice;
+import com.artipie.http.headers.Header;
 import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
 import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import io.reactivex.Flowable;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -47,9 +55,22 @@ import java.util.concurrent.CompletionStage;
  * Proxy implementation of {@link Repo}.
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 public final class ProxyManifests implements Manifests {
 
+    /**
+     * Manifest media types accepted from remote,
+     * so remote sends manifest lists and OCI manifests instead of converting them.
+     */
+    private static final Headers ACCEPT = new Headers.From(
+        new Header("Accept", "application/vnd.docker.distribution.manifest.v2+json"),
+        new Header("Accept", JsonManifestList.DOCKER),
+        new Header("Accept", "application/vnd.oci.image.manifest.v1+json"),
+        new Header("Accept", JsonManifestList.OCI)
+    );
+
     /**
      * Remote repository.
      */
@@ -73,7 +94,9 @@ public final class ProxyManifests implements Manifests {
 
     @Override
     public CompletionStage<Manifest> put(final ManifestRef ref, final Content content) {
-        throw new UnsupportedOperationException();
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot add to proxy manifests, they are read-only")
+        );
     }
 
     @Override
@@ -81,7 +104,7 @@ public final class ProxyManifests implements Manifests {
         final CompletableFuture<Optional<Manifest>> promise = new CompletableFuture<>();
         return this.remote.response(
             new RequestLine(RqMethod.GET, new ManifestPath(this.name, ref).string()).toString(),
-            Headers.EMPTY,
+            ProxyManifests.ACCEPT,
             Flowable.empty()
         ).send(
             (status, headers, body) -> {
@@ -89,7 +112,7 @@ public final class ProxyManifests implements Manifests {
                 if (status == RsStatus.OK) {
                     final Digest digest = new DigestHeader(headers).value();
                     result = new PublisherAs(body).bytes().thenApply(
-                        bytes -> Optional.of(new JsonManifest(digest, bytes))
+                        bytes -> Optional.of(new ParsedManifest(digest, bytes))
                     );
                 } else if (status == RsStatus.NOT_FOUND) {
                     result = CompletableFuture.completedFuture(Optional.empty());
@@ -102,4 +125,55 @@ public final class ProxyManifests implements Manifests {
             }
         ).thenCompose(nothing -> promise);
     }
+
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        final CompletableFuture<Tags> promise = new CompletableFuture<>();
+        return this.remote.response(
+            new RequestLine(
+                RqMethod.GET,
+                new PageUri(
+                    String.format("/v2/%s/tags/list", this.name.value()),
+                    from.map(Tag::value),
+                    limit
+                ).string()
+            ).toString(),
+            Headers.EMPTY,
+            Flowable.empty()
+        ).send(
+            (status, headers, body) -> {
+                final CompletionStage<Tags> result;
+                if (status == RsStatus.OK) {
+                    final boolean more = !new RqHeaders(headers, "Link").isEmpty();
+                    result = new ParsedTags(new Content.From(body)).tags().thenApply(
+                        tags -> {
+                            final Optional<Tag> next;
+                            if (more && !tags.isEmpty()) {
+                                next = Optional.of(tags.get(tags.size() - 1));
+                            } else {
+                                next = Optional.empty();
+                            }
+                            return new Tags.From(this.name, tags, next);
+                        }
+                    );
+                } else if (status == RsStatus.NOT_FOUND) {
+                    result = CompletableFuture.completedFuture(
+                        new Tags.From(this.name, Collections.emptyList(), Optional.empty())
+                    );
+                } else {
+                    result = CompletableFuture.failedFuture(
+                        new IllegalArgumentException(String.format("Unexpected status: %s", status))
+                    );
+                }
+                return result.thenAccept(promise::complete).toCompletableFuture();
+            }
+        ).thenCompose(nothing -> promise);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final ManifestRef ref) {
+        return CompletableFuture.failedFuture(
+            new ReadOnlyException("Cannot delete from proxy manifests, they are read-only")
+        );
+    }
 }
@@ -0,0 +1,273 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.proxy;
+
+import com.artipie.docker.misc.BoundedCache;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of bearer tokens obtained from authorization servers.
+ * <p>
+ * Tokens are keyed by realm, service and scope they were requested for
+ * and are considered valid until shortly before they expire,
+ * so they are refreshed before remote registry starts to reject them.
+ * Authentication challenge received for a resource is remembered too,
+ * so next request to the resource may be authorized up front.
+ * Concurrent requests for a token which is not cached are coalesced
+ * into single request to authorization server.
+ * Both tokens and challenges are kept for limited number of least recently used keys,
+ * expired token is evicted when it is looked up.
+ * </p>
+ *
+ * @since 0.6
+ */
+final class TokenCache {
+
+    /**
+     * Maximum time before expiration when token is refreshed.
+     */
+    private static final Duration REFRESH = Duration.ofSeconds(10);
+
+    /**
+     * Default maximum number of cached challenges and tokens.
+     */
+    private static final int CAPACITY = 1_000;
+
+    /**
+     * WWW-Authenticate header values by resource.
+     */
+    private final BoundedCache<String, String> challenges;
+
+    /**
+     * Tokens by realm, service and scope.
+     */
+    private final BoundedCache<String, Token> tokens;
+
+    /**
+     * Tokens being requested by realm, service and scope.
+     */
+    private final ConcurrentMap<String, CompletableFuture<String>> pending;
+
+    /**
+     * Ctor.
+     */
+    TokenCache() {
+        this(TokenCache.CAPACITY);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Maximum number of cached challenges and tokens.
+     */
+    TokenCache(final int capacity) {
+        this(new BoundedCache<>(capacity), new BoundedCache<>(capacity), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param challenges WWW-Authenticate header values by resource.
+     * @param tokens Tokens by realm, service and scope.
+     * @param pending Tokens being requested by realm, service and scope.
+     */
+    private TokenCache(
+        final BoundedCache<String, String> challenges,
+        final BoundedCache<String, Token> tokens,
+        final ConcurrentMap<String, CompletableFuture<String>> pending
+    ) {
+        this.challenges = challenges;
+        this.tokens = tokens;
+        this.pending = pending;
+    }
+
+    /**
+     * Find authentication challenge last received for resource.
+     *
+     * @param resource Resource.
+     * @return WWW-Authenticate header value, empty if unknown.
+     */
+    Optional<String> challenge(final String resource) {
+        return this.challenges.get(resource);
+    }
+
+    /**
+     * Remember authentication challenge received for resource.
+     *
+     * @param resource Resource.
+     * @param challenge WWW-Authenticate header value.
+     */
+    void remember(final String resource, final String challenge) {
+        this.challenges.put(resource, challenge);
+    }
+
+    /**
+     * Get token which is not going to expire soon from cache,
+     * or request it if absent or expiring.
+     * Only one request for a token is performed at a time,
+     * concurrent callers wait for the request in progress.
+     *
+     * @param key Realm, service and scope.
+     * @param request Token request.
+     * @return Token.
+     */
+    CompletionStage<String> token(
+        final String key, final Supplier<CompletionStage<TokenResponse>> request
+    ) {
+        return this.cached(key).<CompletionStage<String>>map(CompletableFuture::completedFuture)
+            .orElseGet(() -> this.request(key, request));
+    }
+
+    /**
+     * Evict token rejected by remote registry.
+     * Token is kept if it was already replaced with another one.
+     *
+     * @param key Realm, service and scope.
+     * @param value Rejected token value.
+     */
+    void evict(final String key, final String value) {
+        this.tokens.get(key)
+            .filter(token -> token.value.equals(value))
+            .ifPresent(token -> this.tokens.remove(key, token));
+    }
+
+    /**
+     * Find token which is not going to expire soon.
+     * Token which is expiring is evicted.
+     *
+     * @param key Realm, service and scope.
+     * @return Token, empty if absent or expiring.
+     */
+    private Optional<String> cached(final String key) {
+        final Optional<Token> found = this.tokens.get(key);
+        final Optional<Token> valid = found.filter(token -> Instant.now().isBefore(token.refresh));
+        if (valid.isEmpty()) {
+            found.ifPresent(token -> this.tokens.remove(key, token));
+        }
+        return valid.map(token -> token.value);
+    }
+
+    /**
+     * Request token unless it is being requested already.
+     *
+     * @param key Realm, service and scope.
+     * @param request Token request.
+     * @return Token.
+     */
+    private CompletionStage<String> request(
+        final String key, final Supplier<CompletionStage<TokenResponse>> request
+    ) {
+        final CompletableFuture<String> promise = new CompletableFuture<>();
+        final CompletableFuture<String> existing = this.pending.putIfAbsent(key, promise);
+        final CompletionStage<String> res;
+        if (existing == null) {
+            final Optional<String> cached = this.cached(key);
+            final CompletionStage<String> token;
+            if (cached.isPresent()) {
+                token = CompletableFuture.completedFuture(cached.get());
+            } else {
+                token = CompletableFuture.allOf().thenCompose(nothing -> request.get())
+                    .thenApply(
+                        response -> {
+                            this.put(key, response);
+                            return response.token();
+                        }
+                    );
+            }
+            token.whenComplete(
+                (value, err) -> {
+                    this.pending.remove(key, promise);
+                    if (err == null) {
+                        promise.complete(value);
+                    } else {
+                        promise.completeExceptionally(err);
+                    }
+                }
+            );
+            res = promise;
+        } else {
+            res = existing;
+        }
+        return res;
+    }
+
+    /**
+     * Put token received from authorization server.
+     * Token is issued at the time specified in response,
+     * but not later than now to tolerate clock skew.
+     *
+     * @param key Realm, service and scope.
+     * @param response Token response.
+     */
+    private void put(final String key, final TokenResponse response) {
+        final Instant now = Instant.now();
+        final Instant issued = response.issuedAt().filter(now::isAfter).orElse(now);
+        final Duration lifetime = response.expiresIn();
+        final Duration margin;
+        if (lifetime.compareTo(TokenCache.REFRESH.multipliedBy(2)) > 0) {
+            margin = TokenCache.REFRESH;
+        } else {
+            margin = lifetime.dividedBy(2);
+        }
+        this.tokens.put(
+            key, new Token(response.token(), issued.plus(lifetime).minus(margin))
+        );
+    }
+
+    /**
+     * Cached token.
+     *
+     * @since 0.6
+     */
+    private static final class Token {
+
+        /**
+         * Token value.
+         */
+        private final String value;
+
+        /**
+         * Time to refresh token at.
+         */
+        private final Instant refresh;
+
+        /**
+         * Ctor.
+         *
+         * @param value Token value.
+         * @param refresh Time to refresh token at.
+         */
+        Token(final String value, final Instant refresh) {
+            this.value = value;
+            this.refresh = refresh;
+        }
+    }
+}
@@ -24,8 +24,13 @@
 package com.artipie.docker.proxy;
 
 import java.io.ByteArrayInputStream;
-import java.util.Arrays;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
 import javax.json.Json;
+import javax.json.JsonObject;
 
 /**
  * Authentication token response.
@@ -36,9 +41,14 @@ import javax.json.Json;
 final class TokenResponse {
 
     /**
-     * Response content.
+     * Token lifetime in seconds if not specified in response.
      */
-    private final byte[] content;
+    private static final int DEFAULT_LIFETIME = 60;
+
+    /**
+     * Response JSON.
+     */
+    private final JsonObject json;
 
     /**
      * Ctor.
@@ -46,7 +56,16 @@ final class TokenResponse {
      * @param content Response content.
      */
     TokenResponse(final byte[] content) {
-        this.content = Arrays.copyOf(content, content.length);
+        this(Json.createReader(new ByteArrayInputStream(content)).readObject());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param json Response JSON.
+     */
+    TokenResponse(final JsonObject json) {
+        this.json = json;
     }
 
     /**
@@ -55,8 +74,35 @@ final class TokenResponse {
      * @return Token string.
      */
     public String token() {
-        return Json.createReader(new ByteArrayInputStream(this.content))
-            .readObject()
-            .getString("token");
+        return this.json.getString("token");
+    }
+
+    /**
+     * Reads duration the token remains valid since it was issued.
+     * Defaults to 60 seconds when omitted.
+     *
+     * @return Token lifetime.
+     */
+    public Duration expiresIn() {
+        return Duration.ofSeconds(
+            this.json.getInt("expires_in", TokenResponse.DEFAULT_LIFETIME)
+        );
+    }
+
+    /**
+     * Reads time the token was issued at.
+     *
+     * @return Issue time, empty if omitted or malformed.
+     */
+    public Optional<Instant> issuedAt() {
+        Optional<Instant> res;
+        try {
+            res = Optional.ofNullable(this.json.getString("issued_at", null))
+                .map(OffsetDateTime::parse)
+                .map(OffsetDateTime::toInstant);
+        } catch (final DateTimeParseException ex) {
+            res = Optional.empty();
+        }
+        return res;
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker;
+
+import com.artipie.asto.ext.PublisherAs;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.json.Json;
+import javax.json.JsonString;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Tags.From}.
+ *
+ * @since 0.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class TagsFromTest {
+
+    @Test
+    void shouldWriteEmptyTags() {
+        MatcherAssert.assertThat(
+            new PublisherAs(
+                new Tags.From(
+                    new RepoName.Simple("empty"), Collections.emptyList(), Optional.empty()
+                ).json()
+            ).asciiString().toCompletableFuture().join(),
+            new IsEqual<>("{\"name\":\"empty\",\"tags\":[]}")
+        );
+    }
+
+    @Test
+    void shouldWriteManyTagsInBatches() {
+        final List<String> tags = IntStream.range(0, 250)
+            .mapToObj(num -> String.format("tag%03d", num))
+            .collect(Collectors.toList());
+        final String json = new PublisherAs(
+            new Tags.From(
+                new RepoName.Simple("many"),
+                tags.stream().<Tag>map(Tag.Valid::new).collect(Collectors.toList()),
+                Optional.empty()
+            ).json()
+        ).asciiString().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            Json.createReader(new StringReader(json)).readObject()
+                .getJsonArray("tags").getValuesAs(JsonString.class).stream()
+                .map(JsonString::getString)
+                .collect(Collectors.toList()),
+            new IsEqual<>(tags)
+        );
+    }
+}
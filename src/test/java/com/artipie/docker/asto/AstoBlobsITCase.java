@@ -27,6 +27,7 @@ import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.blocking.BlockingStorage;
 import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.CheckedBlobSource;
 import com.artipie.docker.Digest;
 import com.google.common.base.Throwables;
 import io.reactivex.Flowable;
@@ -53,7 +54,9 @@ final class AstoBlobsITCase {
         final AstoBlobs blobs = new AstoBlobs(storage);
         final ByteBuffer buf = ByteBuffer.wrap(new byte[]{0x00, 0x01, 0x02, 0x03});
         final Digest digest = blobs.put(
-            new Content.From(Flowable.fromArray(buf)), new Digest.Sha256(buf.array())
+            new CheckedBlobSource(
+                new Content.From(Flowable.fromArray(buf)), new Digest.Sha256(buf.array())
+            )
         ).toCompletableFuture().get().digest();
         MatcherAssert.assertThat(
             "Digest alg is not correct",
@@ -80,7 +83,9 @@ final class AstoBlobsITCase {
         final AstoBlobs blobs = new AstoBlobs(storage);
         final ByteBuffer buf = ByteBuffer.wrap(new byte[]{0x00, 0x01, 0x02, 0x03});
         blobs.put(
-            new Content.From(Flowable.fromArray(buf)), new Digest.Sha256("sha256:123")
+            new CheckedBlobSource(
+                new Content.From(Flowable.fromArray(buf)), new Digest.Sha256("sha256:123")
+            )
         ).toCompletableFuture().handle(
             (blob, throwable) -> {
                 MatcherAssert.assertThat(
@@ -103,12 +108,28 @@ final class AstoBlobsITCase {
         ).join();
     }
 
+    @Test
+    void keepsNothingOnDigestMismatch() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        final ByteBuffer buf = ByteBuffer.wrap(new byte[]{0x0a, 0x0b, 0x0c});
+        final Digest digest = new Digest.Sha256("abc".getBytes());
+        new AstoBlobs(storage).put(
+            new CheckedBlobSource(new Content.From(Flowable.fromArray(buf)), digest)
+        ).toCompletableFuture().handle((blob, throwable) -> blob).join();
+        MatcherAssert.assertThat(
+            storage.list(Key.ROOT).join(),
+            Matchers.empty()
+        );
+    }
+
     @Test
     void writeAndReadBlob() throws Exception {
         final AstoBlobs blobs = new AstoBlobs(new InMemoryStorage());
         final ByteBuffer buf = ByteBuffer.wrap(new byte[] {0x05, 0x06, 0x07, 0x08});
         final Digest digest = blobs.put(
-            new Content.From(Flowable.fromArray(buf)), new Digest.Sha256(buf.array())
+            new CheckedBlobSource(
+                new Content.From(Flowable.fromArray(buf)), new Digest.Sha256(buf.array())
+            )
         ).toCompletableFuture().get().digest();
         final byte[] read = Flowable.fromPublisher(
             blobs.blob(digest)
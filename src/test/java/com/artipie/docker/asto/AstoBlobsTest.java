@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.Digest;
+import com.artipie.docker.TrustedBlobSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AstoBlobs}.
+ *
+ * @since 0.6
+ */
+final class AstoBlobsTest {
+
+    @Test
+    void shouldWriteConcurrentPutsOfSameDigestOnce() {
+        final AstoBlobs blobs = new AstoBlobs(new InMemoryStorage());
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        final CountingSource source = new CountingSource(gate);
+        final CompletionStage<Blob> first = blobs.put(source);
+        final CompletionStage<Blob> second = blobs.put(source);
+        gate.complete(null);
+        MatcherAssert.assertThat(
+            "Blobs have different digests",
+            first.toCompletableFuture().join().digest().string(),
+            new IsEqual<>(second.toCompletableFuture().join().digest().string())
+        );
+        MatcherAssert.assertThat(
+            "Blob was written more than once",
+            source.count(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldNotWriteExistingBlob() {
+        final AstoBlobs blobs = new AstoBlobs(new InMemoryStorage());
+        final CountingSource source = new CountingSource(CompletableFuture.allOf());
+        blobs.put(source).toCompletableFuture().join();
+        blobs.put(source).toCompletableFuture().join();
+        MatcherAssert.assertThat(source.count(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldSkipSourceOfBlobBeingWrittenOrExisting() {
+        final AstoBlobs blobs = new AstoBlobs(new InMemoryStorage());
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        final CountingSource source = new CountingSource(gate);
+        final CompletionStage<Blob> first = blobs.put(source);
+        blobs.put(source);
+        gate.complete(null);
+        first.toCompletableFuture().join();
+        blobs.put(source).toCompletableFuture().join();
+        MatcherAssert.assertThat(source.skipped(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldFailWaitersWhenWriteFails() {
+        final AstoBlobs blobs = new AstoBlobs(new InMemoryStorage());
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        final CountingSource source = new CountingSource(gate);
+        blobs.put(source);
+        final CompletionStage<Blob> waiter = blobs.put(source);
+        gate.completeExceptionally(new IllegalStateException("Write failed"));
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> waiter.toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            "Blob was written again",
+            source.count(),
+            new IsEqual<>(1)
+        );
+    }
+
+    /**
+     * Blob source counting writes, each write completes when gate is open.
+     *
+     * @since 0.6
+     */
+    private static final class CountingSource implements BlobSource {
+
+        /**
+         * Blob data.
+         */
+        private static final byte[] DATA = "blob".getBytes();
+
+        /**
+         * Gate to complete writes.
+         */
+        private final CompletableFuture<Void> gate;
+
+        /**
+         * Number of writes.
+         */
+        private final AtomicInteger writes;
+
+        /**
+         * Number of skips.
+         */
+        private final AtomicInteger skips;
+
+        /**
+         * Ctor.
+         *
+         * @param gate Gate to complete writes.
+         */
+        CountingSource(final CompletableFuture<Void> gate) {
+            this.gate = gate;
+            this.writes = new AtomicInteger();
+            this.skips = new AtomicInteger();
+        }
+
+        @Override
+        public Digest digest() {
+            return new Digest.Sha256(CountingSource.DATA);
+        }
+
+        @Override
+        public CompletionStage<Void> saveTo(final Storage storage, final Key key) {
+            this.writes.incrementAndGet();
+            return this.gate.thenCompose(
+                nothing -> new TrustedBlobSource(CountingSource.DATA).saveTo(storage, key)
+            );
+        }
+
+        @Override
+        public void skip() {
+            this.skips.incrementAndGet();
+        }
+
+        /**
+         * Number of writes.
+         *
+         * @return Count.
+         */
+        int count() {
+            return this.writes.get();
+        }
+
+        /**
+         * Number of skips.
+         *
+         * @return Count.
+         */
+        int skipped() {
+            return this.skips.get();
+        }
+    }
+}
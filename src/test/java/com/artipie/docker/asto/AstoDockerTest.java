@@ -24,16 +24,29 @@
 
 package com.artipie.docker.asto;
 
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
 import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.TrustedBlobSource;
+import com.artipie.docker.ref.ManifestRef;
+import java.util.Optional;
+import javax.json.Json;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Test;
 
 /**
  * Test case for {@link AstoDocker}.
  * @since 0.1
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 final class AstoDockerTest {
     @Test
     void createsAstoRepo() {
@@ -42,4 +55,31 @@ final class AstoDockerTest {
             Matchers.instanceOf(AstoRepo.class)
         );
     }
+
+    @Test
+    void listsRepositoryWithPutManifest() {
+        final Storage storage = new InMemoryStorage();
+        final AstoDocker docker = new AstoDocker(storage);
+        final Repo repo = docker.repo(new RepoName.Simple("my/repo"));
+        final Blob config = repo.layers().put(new TrustedBlobSource("config".getBytes()))
+            .toCompletableFuture().join();
+        repo.manifests().put(
+            new ManifestRef.FromTag(new Tag.Valid("latest")),
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add(
+                        "config",
+                        Json.createObjectBuilder().add("digest", config.digest().string())
+                    )
+                    .add("layers", Json.createArrayBuilder())
+                    .build().toString().getBytes()
+            )
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            docker.catalog(Optional.empty(), Integer.MAX_VALUE)
+                .thenCompose(catalog -> new PublisherAs(catalog.json()).asciiString())
+                .toCompletableFuture().join(),
+            new IsEqual<>("{\"repositories\":[\"my/repo\"]}")
+        );
+    }
 }
@@ -23,12 +23,12 @@
  */
 package com.artipie.docker.asto;
 
-import com.artipie.asto.Content;
 import com.artipie.asto.ext.PublisherAs;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.docker.Blob;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
+import com.artipie.docker.TrustedBlobSource;
 import java.util.Optional;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
@@ -63,7 +63,7 @@ final class AstoLayersTest {
     @Test
     void shouldAddLayer() {
         final byte[] data = "data".getBytes();
-        final Digest digest = this.layers.put(new Content.From(data), new Digest.Sha256(data))
+        final Digest digest = this.layers.put(new TrustedBlobSource(data))
             .toCompletableFuture().join().digest();
         final Optional<Blob> found = this.blobs.blob(digest).toCompletableFuture().join();
         MatcherAssert.assertThat(found.isPresent(), new IsEqual<>(true));
@@ -73,7 +73,7 @@ final class AstoLayersTest {
     @Test
     void shouldReadExistingLayer() {
         final byte[] data = "content".getBytes();
-        final Digest digest = this.blobs.put(new Content.From(data), new Digest.Sha256(data))
+        final Digest digest = this.blobs.put(new TrustedBlobSource(data))
             .toCompletableFuture().join().digest();
         final Optional<Blob> found = this.layers.get(digest).toCompletableFuture().join();
         MatcherAssert.assertThat(found.isPresent(), new IsEqual<>(true));
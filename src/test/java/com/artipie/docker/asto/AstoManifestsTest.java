@@ -25,20 +25,28 @@
 package com.artipie.docker.asto;
 
 import com.artipie.asto.Content;
+import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
 import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.docker.Blob;
 import com.artipie.docker.Digest;
 import com.artipie.docker.ExampleStorage;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.Tag;
+import com.artipie.docker.TrustedBlobSource;
+import com.artipie.docker.manifest.JsonManifestList;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 import javax.json.Json;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -50,7 +58,7 @@ import org.junit.jupiter.api.Timeout;
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  * @checkstyle MagicNumberCheck (500 lines)
  */
-@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
 final class AstoManifestsTest {
 
     /**
@@ -96,10 +104,10 @@ final class AstoManifestsTest {
     void shouldReadAddedManifest() {
         final byte[] conf = "config".getBytes();
         final Blob config = new AstoBlobs(this.storage)
-            .put(new Content.From(conf), new Digest.Sha256(conf)).toCompletableFuture().join();
+            .put(new TrustedBlobSource(conf)).toCompletableFuture().join();
         final byte[] lyr = "layer".getBytes();
         final Blob layer = new AstoBlobs(this.storage)
-            .put(new Content.From(lyr), new Digest.Sha256(lyr)).toCompletableFuture().join();
+            .put(new TrustedBlobSource(lyr)).toCompletableFuture().join();
         final byte[] data = Json.createObjectBuilder()
             .add(
                 "config",
@@ -128,10 +136,237 @@ final class AstoManifestsTest {
         );
     }
 
+    @Test
+    @Timeout(5)
+    void shouldReadCachedDigestLinkWithoutStorage() {
+        final Storage memory = new InMemoryStorage();
+        final AstoManifests cached = new AstoManifests(
+            memory, new AstoBlobs(memory), new RepoName.Simple("cached")
+        );
+        final Manifest manifest = cached.put(
+            new ManifestRef.FromTag(new Tag.Valid("cached-tag")),
+            new Content.From(AstoManifestsTest.manifest(memory, "conf"))
+        ).toCompletableFuture().join();
+        final ManifestRef ref = new ManifestRef.FromDigest(manifest.digest());
+        memory.delete(
+            new Key.From(
+                "docker", "registry", "v2", "repositories", "cached",
+                "_manifests", ref.link().string()
+            )
+        ).join();
+        MatcherAssert.assertThat(
+            cached.get(ref).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldReadCachedTagLinkWithoutStorage() {
+        final Storage memory = new InMemoryStorage();
+        final AstoManifests cached = new AstoManifests(
+            memory, new AstoBlobs(memory), new RepoName.Simple("cached")
+        );
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("hot"));
+        cached.put(ref, new Content.From(AstoManifestsTest.manifest(memory, "hot")))
+            .toCompletableFuture().join();
+        memory.delete(
+            new Key.From(
+                "docker", "registry", "v2", "repositories", "cached",
+                "_manifests", ref.link().string()
+            )
+        ).join();
+        MatcherAssert.assertThat(
+            cached.get(ref).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldReadTagUpdatedByAnotherNodeWhenCachedLinkExpires() {
+        final Storage memory = new InMemoryStorage();
+        final RepoName name = new RepoName.Simple("shared");
+        final AstoManifests first = new AstoManifests(
+            memory, new AstoBlobs(memory), name,
+            new LinksCache(1, Duration.ZERO), new RepoIndex(memory)
+        );
+        final AstoManifests second = new AstoManifests(memory, new AstoBlobs(memory), name);
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("moved"));
+        first.put(ref, new Content.From(AstoManifestsTest.manifest(memory, "old")))
+            .toCompletableFuture().join();
+        first.get(ref).toCompletableFuture().join();
+        final Manifest updated = second.put(
+            ref, new Content.From(AstoManifestsTest.manifest(memory, "new"))
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            first.get(ref).toCompletableFuture().join().map(mnf -> mnf.digest().string()),
+            new IsEqual<>(Optional.of(updated.digest().string()))
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldDeleteTagOnly() {
+        final Storage memory = new InMemoryStorage();
+        final AstoManifests mnfs = new AstoManifests(
+            memory, new AstoBlobs(memory), new RepoName.Simple("deleted")
+        );
+        final byte[] data = AstoManifestsTest.manifest(memory, "tag");
+        final ManifestRef first = new ManifestRef.FromTag(new Tag.Valid("first"));
+        final ManifestRef second = new ManifestRef.FromTag(new Tag.Valid("second"));
+        final Manifest manifest = mnfs.put(first, new Content.From(data))
+            .toCompletableFuture().join();
+        mnfs.put(second, new Content.From(data)).toCompletableFuture().join();
+        mnfs.delete(first).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Deleted tag is absent",
+            mnfs.get(first).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Other tag is present",
+            mnfs.get(second).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Revision is present",
+            mnfs.get(new ManifestRef.FromDigest(manifest.digest()))
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Deleted tag is not listed",
+            new PublisherAs(
+                mnfs.tags(Optional.empty(), 10).toCompletableFuture().join().json()
+            ).asciiString().toCompletableFuture().join(),
+            new IsEqual<>("{\"name\":\"deleted\",\"tags\":[\"second\"]}")
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldDeleteRevisionWithCurrentTags() {
+        final Storage memory = new InMemoryStorage();
+        final AstoManifests mnfs = new AstoManifests(
+            memory, new AstoBlobs(memory), new RepoName.Simple("revision")
+        );
+        final byte[] old = AstoManifestsTest.manifest(memory, "old");
+        final ManifestRef stable = new ManifestRef.FromTag(new Tag.Valid("stable"));
+        final ManifestRef moved = new ManifestRef.FromTag(new Tag.Valid("moved"));
+        final Manifest manifest = mnfs.put(stable, new Content.From(old))
+            .toCompletableFuture().join();
+        mnfs.put(moved, new Content.From(old)).toCompletableFuture().join();
+        final byte[] fresh = AstoManifestsTest.manifest(memory, "new");
+        final Manifest current = mnfs.put(moved, new Content.From(fresh))
+            .toCompletableFuture().join();
+        final ManifestRef ref = new ManifestRef.FromDigest(manifest.digest());
+        mnfs.delete(ref).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Revision is absent",
+            mnfs.get(ref).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Tag pointing to revision is absent",
+            mnfs.get(stable).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Moved tag points to current revision",
+            mnfs.get(moved).toCompletableFuture().join().map(Manifest::digest)
+                .map(Digest::string),
+            new IsEqual<>(Optional.of(current.digest().string()))
+        );
+        MatcherAssert.assertThat(
+            "Moved tag history does not contain revision",
+            memory.exists(
+                new Key.From(
+                    "docker", "registry", "v2", "repositories", "revision", "_manifests",
+                    "tags", "moved", "index", "sha256", manifest.digest().hex(), "link"
+                )
+            ).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldReadAddedManifestList() {
+        final Storage memory = new InMemoryStorage();
+        final AstoManifests mnfs = new AstoManifests(
+            memory, new AstoBlobs(memory), new RepoName.Simple("multi")
+        );
+        final Manifest child = mnfs.put(
+            new ManifestRef.FromTag(new Tag.Valid("amd64")),
+            new Content.From(AstoManifestsTest.manifest(memory, "amd64"))
+        ).toCompletableFuture().join();
+        final byte[] data = AstoManifestsTest.list(child.digest());
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("latest"));
+        mnfs.put(ref, new Content.From(data)).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            mnfs.get(ref).toCompletableFuture().join().orElseThrow().manifests().stream()
+                .map(mnf -> mnf.digest().string())
+                .collect(Collectors.toList()),
+            Matchers.contains(child.digest().string())
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldFailPutManifestListWithUnknownChild() {
+        final Storage memory = new InMemoryStorage();
+        final AstoManifests mnfs = new AstoManifests(
+            memory, new AstoBlobs(memory), new RepoName.Simple("unknown")
+        );
+        final CompletionException cause = Assertions.assertThrows(
+            CompletionException.class,
+            () -> mnfs.put(
+                new ManifestRef.FromTag(new Tag.Valid("latest")),
+                new Content.From(AstoManifestsTest.list(new Digest.Sha256("abc")))
+            ).toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            cause.getCause(),
+            Matchers.isA(IllegalArgumentException.class)
+        );
+    }
+
     private byte[] manifest(final ManifestRef ref) {
         return this.manifests.get(ref)
             .thenCompose(
                 opt -> opt.map(mnf -> new PublisherAs(mnf.content()).bytes()).orElseThrow()
             ).toCompletableFuture().join();
     }
+
+    private static byte[] manifest(final Storage storage, final String conf) {
+        final Blob config = new AstoBlobs(storage).put(new TrustedBlobSource(conf.getBytes()))
+            .toCompletableFuture().join();
+        return Json.createObjectBuilder()
+            .add(
+                "config",
+                Json.createObjectBuilder().add("digest", config.digest().string())
+            )
+            .add("layers", Json.createArrayBuilder())
+            .build().toString().getBytes();
+    }
+
+    private static byte[] list(final Digest child) {
+        return Json.createObjectBuilder()
+            .add("mediaType", JsonManifestList.DOCKER)
+            .add(
+                "manifests",
+                Json.createArrayBuilder().add(
+                    Json.createObjectBuilder()
+                        .add("digest", child.string())
+                        .add(
+                            "platform",
+                            Json.createObjectBuilder()
+                                .add("architecture", "amd64")
+                                .add("os", "linux")
+                        )
+                )
+            )
+            .build().toString().getBytes();
+    }
 }
@@ -24,13 +24,18 @@
 package com.artipie.docker.asto;
 
 import com.artipie.asto.Content;
+import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
 import com.artipie.asto.ext.PublisherAs;
 import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
 import com.artipie.docker.RepoName;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import org.hamcrest.MatcherAssert;
@@ -45,7 +50,9 @@ import org.junit.jupiter.api.Test;
  * Tests for {@link AstoUpload}.
  *
  * @since 0.2
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
 class AstoUploadTest {
 
     /**
@@ -98,19 +105,44 @@ class AstoUploadTest {
     }
 
     @Test
-    void shouldFailAppendedSecondChunk() {
+    void shouldReadAllAppendedChunks() {
         this.upload.start().toCompletableFuture().join();
         this.upload.append(Flowable.just(ByteBuffer.wrap("one".getBytes())))
             .toCompletableFuture()
             .join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap("two".getBytes())))
+            .toCompletableFuture()
+            .join();
         MatcherAssert.assertThat(
-            Assertions.assertThrows(
-                CompletionException.class,
-                () -> this.upload.append(Flowable.just(ByteBuffer.wrap("two".getBytes())))
-                    .toCompletableFuture()
-                    .join()
-            ).getCause(),
-            new IsInstanceOf(UnsupportedOperationException.class)
+            new PublisherAs(this.contentFromUpload()).bytes().toCompletableFuture().join(),
+            new IsEqual<>("onetwo".getBytes())
+        );
+    }
+
+    @Test
+    void shouldReturnOffsetWhenAppendedSecondChunk() {
+        final byte[] first = "first".getBytes();
+        final byte[] second = "second".getBytes();
+        this.upload.start().toCompletableFuture().join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap(first))).toCompletableFuture().join();
+        final Long offset = this.upload.append(Flowable.just(ByteBuffer.wrap(second)))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            offset,
+            new IsEqual<>((long) first.length + second.length - 1)
+        );
+    }
+
+    @Test
+    void shouldReportContentSizeOfAllChunks() {
+        final byte[] first = "abc".getBytes();
+        final byte[] second = "defg".getBytes();
+        this.upload.start().toCompletableFuture().join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap(first))).toCompletableFuture().join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap(second))).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.contentFromUpload().size(),
+            new IsEqual<>(Optional.of((long) first.length + second.length))
         );
     }
 
@@ -143,6 +175,79 @@ class AstoUploadTest {
         );
     }
 
+    @Test
+    void shouldPutContentToLayers() throws Exception {
+        this.upload.start().toCompletableFuture().join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap("lay".getBytes())))
+            .toCompletableFuture()
+            .join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap("er".getBytes())))
+            .toCompletableFuture()
+            .join();
+        final Digest digest = new Digest.Sha256("layer".getBytes());
+        this.upload.putTo(new AstoLayers(new AstoBlobs(this.storage)), digest)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new BlockingStorage(this.storage).value(new BlobKey(digest)),
+            new IsEqual<>("layer".getBytes())
+        );
+    }
+
+    @Test
+    void shouldFailPutToLayersWhenDigestDiffers() {
+        this.upload.start().toCompletableFuture().join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap("abc".getBytes())))
+            .toCompletableFuture()
+            .join();
+        final Digest digest = new Digest.Sha256("xyz".getBytes());
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                CompletionException.class,
+                () -> this.upload.putTo(new AstoLayers(new AstoBlobs(this.storage)), digest)
+                    .toCompletableFuture()
+                    .join()
+            ).getCause(),
+            new IsInstanceOf(IllegalArgumentException.class)
+        );
+        MatcherAssert.assertThat(
+            this.storage.exists(new BlobKey(digest)).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldSaveDigestStateInDistributionLayout() {
+        this.upload.start().toCompletableFuture().join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap("data".getBytes())))
+            .toCompletableFuture()
+            .join();
+        MatcherAssert.assertThat(
+            this.storage.list(new Key.From(this.upload.root(), "hashstates", "sha256"))
+                .join().isEmpty(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldPutContentToLayersWhenDigestStateIsMissing() {
+        this.upload.start().toCompletableFuture().join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap("data".getBytes())))
+            .toCompletableFuture()
+            .join();
+        this.storage.list(new Key.From(this.upload.root(), "hashstates")).thenCompose(
+            keys -> CompletableFuture.allOf(
+                keys.stream().map(this.storage::delete).toArray(CompletableFuture[]::new)
+            )
+        ).join();
+        final Digest digest = new Digest.Sha256("data".getBytes());
+        this.upload.putTo(new AstoLayers(new AstoBlobs(this.storage)), digest)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.exists(new BlobKey(digest)).join(),
+            new IsEqual<>(true)
+        );
+    }
+
     /**
      * Gets content from upload.
      * @return Content
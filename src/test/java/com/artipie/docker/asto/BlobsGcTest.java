@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Repo;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.TrustedBlobSource;
+import com.artipie.docker.ref.ManifestRef;
+import java.time.Duration;
+import java.time.Instant;
+import javax.json.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BlobsGc}.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class BlobsGcTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Docker used in tests.
+     */
+    private AstoDocker docker;
+
+    /**
+     * Blob referenced by manifest.
+     */
+    private Blob layer;
+
+    /**
+     * Blob not referenced by any manifest.
+     */
+    private Blob orphan;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.docker = new AstoDocker(this.storage);
+        final Repo repo = this.docker.repo(new RepoName.Simple("gc/repo"));
+        final Blob config = BlobsGcTest.put(repo, "config");
+        this.layer = BlobsGcTest.put(repo, "layer");
+        this.orphan = BlobsGcTest.put(repo, "orphan");
+        repo.manifests().put(
+            new ManifestRef.FromTag(new Tag.Valid("latest")),
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add(
+                        "config",
+                        Json.createObjectBuilder().add("digest", config.digest().string())
+                    )
+                    .add(
+                        "layers",
+                        Json.createArrayBuilder().add(
+                            Json.createObjectBuilder().add("digest", this.layer.digest().string())
+                        )
+                    )
+                    .build().toString().getBytes()
+            )
+        ).toCompletableFuture().join();
+    }
+
+    @Test
+    void deletesUnreferencedBlob() {
+        final BlobsGc.Report report = this.docker.collector(Duration.ZERO).collect()
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Wrong number of deleted blobs",
+            report.deleted(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Wrong number of reclaimed bytes",
+            report.reclaimed(),
+            new IsEqual<>((long) "orphan".length())
+        );
+        MatcherAssert.assertThat(
+            "Unreferenced blob exists",
+            this.exists(this.orphan),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Referenced blob is deleted",
+            this.exists(this.layer),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void keepsUnreferencedBlobForGracePeriod() {
+        final BlobsGc collector = this.docker.collector(Duration.ofHours(1));
+        collector.collect().toCompletableFuture().join();
+        final BlobsGc.Report report = collector.collect().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Wrong number of pending blobs",
+            report.pending(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Unreferenced blob is deleted",
+            this.exists(this.orphan),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void reportsDeletedBlobAbsent() {
+        this.docker.collector(Duration.ZERO).collect().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.docker.repo(new RepoName.Simple("gc/repo")).layers()
+                .get(this.orphan.digest())
+                .toCompletableFuture().join()
+                .isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void keepsTouchedBlobForAnotherGracePeriod() {
+        this.storage.save(
+            new Key.From(RegistryRoot.V2, "_gc", "candidates"),
+            new Content.From(
+                String.format(
+                    "%s %d",
+                    this.orphan.digest().string(),
+                    Instant.now().minus(Duration.ofHours(2)).toEpochMilli()
+                ).getBytes()
+            )
+        ).join();
+        new AstoDocker(this.storage).repo(new RepoName.Simple("gc/repo")).layers()
+            .get(this.orphan.digest()).toCompletableFuture().join();
+        this.docker.collector(Duration.ofHours(1)).collect().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.exists(this.orphan),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void keepsBlobTouchedRightBeforeDeletion() {
+        this.storage.save(
+            new TouchKey(this.orphan.digest()),
+            new Content.From(String.valueOf(System.currentTimeMillis()).getBytes())
+        ).join();
+        final BlobsGc.Report report = this.docker.collector(Duration.ZERO).collect()
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Touched blob is deleted",
+            this.exists(this.orphan),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Touched blob is not pending",
+            report.pending(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void deletesStagingLeftover() {
+        final Key staged = new Key.From(RegistryRoot.V2, "_staging", "leftover");
+        this.storage.save(staged, new Content.From("partial".getBytes())).join();
+        this.docker.collector(Duration.ZERO).collect().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.exists(staged).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    private boolean exists(final Blob blob) {
+        return this.storage.exists(new BlobKey(blob.digest())).join();
+    }
+
+    private static Blob put(final Repo repo, final String data) {
+        return repo.layers().put(new TrustedBlobSource(data.getBytes()))
+            .toCompletableFuture().join();
+    }
+}
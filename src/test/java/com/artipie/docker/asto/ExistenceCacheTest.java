@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.docker.Digest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ExistenceCache}.
+ *
+ * @since 0.6
+ */
+final class ExistenceCacheTest {
+
+    /**
+     * Blob digest.
+     */
+    private static final Digest DIGEST = new Digest.Sha256("abc".getBytes());
+
+    @Test
+    void shouldRememberPresentBlob() {
+        final ExistenceCache cache = new ExistenceCache();
+        final Origin origin = new Origin(true);
+        cache.exists(ExistenceCacheTest.DIGEST, origin).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Blob is not present",
+            cache.exists(ExistenceCacheTest.DIGEST, origin).toCompletableFuture().join(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Origin was checked twice",
+            origin.count(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldRememberAbsentBlobForLimitedTime() {
+        final ExistenceCache cache = new ExistenceCache(1, Duration.ZERO);
+        final Origin origin = new Origin(false);
+        cache.exists(ExistenceCacheTest.DIGEST, origin).toCompletableFuture().join();
+        cache.exists(ExistenceCacheTest.DIGEST, origin).toCompletableFuture().join();
+        MatcherAssert.assertThat(origin.count(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldForgetAbsenceWhenBlobIsPresent() {
+        final ExistenceCache cache = new ExistenceCache();
+        cache.exists(ExistenceCacheTest.DIGEST, new Origin(false)).toCompletableFuture().join();
+        cache.present(ExistenceCacheTest.DIGEST);
+        MatcherAssert.assertThat(
+            cache.exists(ExistenceCacheTest.DIGEST, new Origin(false))
+                .toCompletableFuture().join(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldForgetRemovedBlob() {
+        final ExistenceCache cache = new ExistenceCache();
+        cache.present(ExistenceCacheTest.DIGEST);
+        cache.remove(ExistenceCacheTest.DIGEST);
+        MatcherAssert.assertThat(
+            cache.exists(ExistenceCacheTest.DIGEST, new Origin(false))
+                .toCompletableFuture().join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldEvictEntriesWhenFull() {
+        final ExistenceCache cache = new ExistenceCache(1, Duration.ofHours(1));
+        cache.present(ExistenceCacheTest.DIGEST);
+        cache.present(new Digest.Sha256("xyz".getBytes()));
+        final Origin origin = new Origin(true);
+        cache.exists(ExistenceCacheTest.DIGEST, origin).toCompletableFuture().join();
+        MatcherAssert.assertThat(origin.count(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldRememberPresentBlobForLimitedTime() {
+        final ExistenceCache cache = new ExistenceCache(1, Duration.ZERO, Duration.ZERO);
+        final Origin origin = new Origin(true);
+        cache.exists(ExistenceCacheTest.DIGEST, origin).toCompletableFuture().join();
+        cache.exists(ExistenceCacheTest.DIGEST, origin).toCompletableFuture().join();
+        MatcherAssert.assertThat(origin.count(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldNotCacheCheckRacingWithRemoval() {
+        final ExistenceCache cache = new ExistenceCache();
+        final CompletableFuture<Boolean> check = new CompletableFuture<>();
+        final CompletionStage<Boolean> stale = cache.exists(
+            ExistenceCacheTest.DIGEST, () -> check
+        );
+        cache.remove(ExistenceCacheTest.DIGEST);
+        check.complete(true);
+        stale.toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            cache.exists(ExistenceCacheTest.DIGEST, new Origin(false))
+                .toCompletableFuture().join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    /**
+     * Origin existence check counting calls.
+     *
+     * @since 0.6
+     */
+    private static final class Origin implements Supplier<CompletionStage<Boolean>> {
+
+        /**
+         * Existence result.
+         */
+        private final boolean exists;
+
+        /**
+         * Number of calls.
+         */
+        private final AtomicInteger calls;
+
+        /**
+         * Ctor.
+         *
+         * @param exists Existence result.
+         */
+        Origin(final boolean exists) {
+            this.exists = exists;
+            this.calls = new AtomicInteger();
+        }
+
+        @Override
+        public CompletionStage<Boolean> get() {
+            this.calls.incrementAndGet();
+            return CompletableFuture.completedFuture(this.exists);
+        }
+
+        /**
+         * Number of calls.
+         *
+         * @return Count.
+         */
+        int count() {
+            return this.calls.get();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.docker.Digest;
+import java.time.Duration;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LinksCache}.
+ *
+ * @since 0.6
+ */
+final class LinksCacheTest {
+
+    /**
+     * Link key.
+     */
+    private static final Key KEY = new Key.From("tags", "latest");
+
+    @Test
+    void shouldReturnCachedLink() {
+        final LinksCache cache = new LinksCache();
+        final Digest digest = new Digest.Sha256("one".getBytes());
+        cache.put(LinksCacheTest.KEY, digest);
+        MatcherAssert.assertThat(
+            cache.get(LinksCacheTest.KEY).map(Digest::string),
+            new IsEqual<>(Optional.of(digest.string()))
+        );
+    }
+
+    @Test
+    void shouldReplaceCachedLink() {
+        final LinksCache cache = new LinksCache();
+        cache.put(LinksCacheTest.KEY, new Digest.Sha256("old".getBytes()));
+        final Digest digest = new Digest.Sha256("new".getBytes());
+        cache.put(LinksCacheTest.KEY, digest);
+        MatcherAssert.assertThat(
+            cache.get(LinksCacheTest.KEY).map(Digest::string),
+            new IsEqual<>(Optional.of(digest.string()))
+        );
+    }
+
+    @Test
+    void shouldForgetRemovedLink() {
+        final LinksCache cache = new LinksCache();
+        cache.put(LinksCacheTest.KEY, new Digest.Sha256("removed".getBytes()));
+        cache.remove(LinksCacheTest.KEY);
+        MatcherAssert.assertThat(
+            cache.get(LinksCacheTest.KEY).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldNotCacheLinkReadBeforeRemoval() {
+        final LinksCache cache = new LinksCache();
+        final long version = cache.version();
+        cache.remove(new Key.From("revisions", "deleted"));
+        cache.put(LinksCacheTest.KEY, new Digest.Sha256("stale".getBytes()), version);
+        MatcherAssert.assertThat(
+            cache.get(LinksCacheTest.KEY).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldNotCacheLinkReadBeforeUpdate() {
+        final LinksCache cache = new LinksCache();
+        final long version = cache.version();
+        final Digest digest = new Digest.Sha256("updated".getBytes());
+        cache.put(LinksCacheTest.KEY, digest);
+        cache.put(LinksCacheTest.KEY, new Digest.Sha256("outdated".getBytes()), version);
+        MatcherAssert.assertThat(
+            cache.get(LinksCacheTest.KEY).map(Digest::string),
+            new IsEqual<>(Optional.of(digest.string()))
+        );
+    }
+
+    @Test
+    void shouldExpireLinks() {
+        final LinksCache cache = new LinksCache(1, Duration.ZERO);
+        cache.put(LinksCacheTest.KEY, new Digest.Sha256("expired".getBytes()));
+        MatcherAssert.assertThat(
+            cache.get(LinksCacheTest.KEY).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldEvictLinksWhenFull() {
+        final LinksCache cache = new LinksCache(1);
+        cache.put(LinksCacheTest.KEY, new Digest.Sha256("first".getBytes()));
+        cache.put(new Key.From("other"), new Digest.Sha256("second".getBytes()));
+        MatcherAssert.assertThat(
+            cache.get(LinksCacheTest.KEY).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+}
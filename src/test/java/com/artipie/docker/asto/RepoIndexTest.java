@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Catalog;
+import com.artipie.docker.RepoName;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RepoIndex}.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class RepoIndexTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Repositories index being tested.
+     */
+    private RepoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.index = new RepoIndex(this.storage);
+    }
+
+    @Test
+    void shouldListPageOfAddedRepositories() {
+        for (final String name : new String[] {"library/ubuntu", "alpine", "library/debian"}) {
+            this.index.add(new RepoName.Simple(name)).toCompletableFuture().join();
+        }
+        final Catalog catalog = this.index.catalog(Optional.empty(), 2)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Wrong page repositories",
+            new PublisherAs(catalog.json()).asciiString().toCompletableFuture().join(),
+            new IsEqual<>("{\"repositories\":[\"alpine\",\"library/debian\"]}")
+        );
+        MatcherAssert.assertThat(
+            "Wrong next repository",
+            catalog.next().map(RepoName::value),
+            new IsEqual<>(Optional.of("library/debian"))
+        );
+    }
+
+    @Test
+    void shouldNotListRemovedRepository() {
+        this.index.add(new RepoName.Simple("kept")).toCompletableFuture().join();
+        this.index.add(new RepoName.Simple("removed")).toCompletableFuture().join();
+        this.index.remove(new RepoName.Simple("removed")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.index.catalog(Optional.empty(), Integer.MAX_VALUE)
+                .thenCompose(catalog -> new PublisherAs(catalog.json()).asciiString())
+                .toCompletableFuture().join(),
+            new IsEqual<>("{\"repositories\":[\"kept\"]}")
+        );
+    }
+
+    @Test
+    void shouldBuildIndexFromRepositoriesTree() {
+        for (final String name : new String[] {"my/second", "first"}) {
+            this.storage.save(
+                new Key.From(
+                    RegistryRoot.V2, "repositories", name,
+                    "_manifests", "tags", "latest", "current", "link"
+                ),
+                new Content.From("sha256:123".getBytes())
+            ).join();
+        }
+        MatcherAssert.assertThat(
+            this.index.catalog(Optional.of(new RepoName.Simple("first")), 1)
+                .thenCompose(catalog -> new PublisherAs(catalog.json()).asciiString())
+                .toCompletableFuture().join(),
+            new IsEqual<>("{\"repositories\":[\"my/second\"]}")
+        );
+    }
+}
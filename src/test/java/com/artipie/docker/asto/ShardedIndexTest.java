@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ShardedIndex}.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class ShardedIndexTest {
+
+    /**
+     * Index root key.
+     */
+    private static final Key ROOT = new Key.From("sharded");
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Index being tested.
+     */
+    private ShardedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.index = new ShardedIndex(
+            this.storage, ShardedIndexTest.ROOT, new Key.From("tree"),
+            path -> Optional.empty(), "abc"
+        );
+        for (final String name : new String[] {"cat", "apple", "bee", "ant"}) {
+            this.index.add(name).toCompletableFuture().join();
+        }
+    }
+
+    @Test
+    void shouldListPageAcrossShards() {
+        MatcherAssert.assertThat(
+            "Wrong page names",
+            this.index.page(Optional.of("ant"), 2, (names, next) -> names)
+                .toCompletableFuture().join(),
+            new IsEqual<>(Arrays.asList("apple", "bee"))
+        );
+        MatcherAssert.assertThat(
+            "Wrong next name",
+            this.index.page(Optional.of("ant"), 2, (names, next) -> next)
+                .toCompletableFuture().join(),
+            new IsEqual<>(Optional.of("bee"))
+        );
+    }
+
+    @Test
+    void shouldListAllNames() {
+        final List<String> names = this.index.page(
+            Optional.empty(), Integer.MAX_VALUE, (all, next) -> all
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            names,
+            new IsEqual<>(Arrays.asList("ant", "apple", "bee", "cat"))
+        );
+    }
+
+    @Test
+    void shouldBuildShardsFromTree() {
+        final Storage tree = new InMemoryStorage();
+        for (final String name : new String[] {"cow", "bat", "ape"}) {
+            tree.save(new Key.From("tree", name, "data"), new Content.From(new byte[0])).join();
+        }
+        MatcherAssert.assertThat(
+            new ShardedIndex(
+                tree, ShardedIndexTest.ROOT, new Key.From("tree"),
+                path -> Optional.of(path.substring(0, path.indexOf('/'))), "abc"
+            ).page(Optional.of("ape"), 2, (names, next) -> names).toCompletableFuture().join(),
+            new IsEqual<>(Arrays.asList("bat", "cow"))
+        );
+    }
+
+    @Test
+    void shouldStoreNamesInShard() {
+        MatcherAssert.assertThat(
+            this.storage.list(new Key.From(ShardedIndexTest.ROOT, "b")).join().size(),
+            new IsEqual<>(1)
+        );
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SortedIndex}.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class SortedIndexTest {
+
+    /**
+     * Index root key.
+     */
+    private static final Key ROOT = new Key.From("index");
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void shouldKeepNamesAfterCompaction() {
+        final SortedIndex index = this.index(Integer.MAX_VALUE);
+        this.add(index, "b", "a", "c");
+        index.remove("b").toCompletableFuture().join();
+        this.index(1).compact().toCompletableFuture().join();
+        this.index(1).compact().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Journal is not compacted",
+            this.storage.list(new Key.From(SortedIndexTest.ROOT, "journal")).join().isEmpty(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Wrong names after compaction",
+            SortedIndexTest.names(index, Optional.empty(), 2),
+            new IsEqual<>(Arrays.asList("a", "c"))
+        );
+    }
+
+    @Test
+    void shouldNotCompactShortJournal() {
+        final SortedIndex index = this.index(Integer.MAX_VALUE);
+        this.add(index, "x", "y");
+        index.compact().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.list(new Key.From(SortedIndexTest.ROOT, "journal")).join().size(),
+            new IsEqual<>(2)
+        );
+    }
+
+    @Test
+    void shouldApplyOldEntryWrittenAfterCompaction() {
+        final SortedIndex index = this.index(Integer.MAX_VALUE);
+        this.add(index, "new");
+        this.index(1).compact().toCompletableFuture().join();
+        this.storage.save(
+            new Key.From(SortedIndexTest.ROOT, "journal", "0000000000001-late", "add", "old"),
+            new Content.From(new byte[0])
+        ).join();
+        this.index(1).compact().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            SortedIndexTest.names(index, Optional.empty(), Integer.MAX_VALUE),
+            new IsEqual<>(Arrays.asList("new", "old"))
+        );
+    }
+
+    @Test
+    void shouldListPageWithNamesRemovedFromBase() {
+        this.add(this.index(Integer.MAX_VALUE), "a", "b", "c", "d", "e");
+        this.index(1).compact().toCompletableFuture().join();
+        final SortedIndex index = this.index(Integer.MAX_VALUE);
+        index.remove("b").toCompletableFuture().join();
+        index.remove("c").toCompletableFuture().join();
+        index.add("f").toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            SortedIndexTest.names(index, Optional.of("a"), 2),
+            new IsEqual<>(Arrays.asList("d", "e"))
+        );
+    }
+
+    @Test
+    void shouldHaveNextOnlyWhenMoreNamesLeft() {
+        final SortedIndex index = this.index(1);
+        this.add(index, "one", "two");
+        MatcherAssert.assertThat(
+            "Wrong next on first page",
+            index.page(Optional.empty(), 1, (names, next) -> next)
+                .toCompletableFuture().join(),
+            new IsEqual<>(Optional.of("one"))
+        );
+        MatcherAssert.assertThat(
+            "Wrong next on last page",
+            index.page(Optional.of("one"), 1, (names, next) -> next)
+                .toCompletableFuture().join(),
+            new IsEqual<>(Optional.empty())
+        );
+    }
+
+    private SortedIndex index(final int threshold) {
+        return new SortedIndex(
+            this.storage, SortedIndexTest.ROOT,
+            () -> CompletableFuture.completedFuture(Collections.emptyList()), threshold
+        );
+    }
+
+    private void add(final SortedIndex index, final String... names) {
+        for (final String name : names) {
+            index.add(name).toCompletableFuture().join();
+        }
+    }
+
+    private static List<String> names(
+        final SortedIndex index, final Optional<String> from, final int limit
+    ) {
+        return index.page(from, limit, (names, next) -> names).toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TagIndex}.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class TagIndexTest {
+
+    /**
+     * Repository manifests root.
+     */
+    private static final Key ROOT = new Key.From("repo", "_manifests");
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Tag index being tested.
+     */
+    private TagIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.index = new TagIndex(this.storage, TagIndexTest.ROOT);
+    }
+
+    @Test
+    void shouldListAddedTagsSorted() {
+        this.add("latest", "1.0", "beta", "1.0");
+        MatcherAssert.assertThat(
+            TagIndexTest.json(this.index.tags(new RepoName.Simple("test"), Optional.empty(), 10)),
+            new IsEqual<>("{\"name\":\"test\",\"tags\":[\"1.0\",\"beta\",\"latest\"]}")
+        );
+    }
+
+    @Test
+    void shouldListPageAfterTag() {
+        this.add("a", "b", "c", "d");
+        final Tags page = this.index.tags(
+            new RepoName.Simple("paged"), Optional.of(new Tag.Valid("a")), 2
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Wrong page tags",
+            new PublisherAs(page.json()).asciiString().toCompletableFuture().join(),
+            new IsEqual<>("{\"name\":\"paged\",\"tags\":[\"b\",\"c\"]}")
+        );
+        MatcherAssert.assertThat(
+            "Wrong next tag",
+            page.next().map(Tag::value),
+            new IsEqual<>(Optional.of("c"))
+        );
+    }
+
+    @Test
+    void shouldHaveNoNextOnLastPage() {
+        this.add("x", "y");
+        MatcherAssert.assertThat(
+            this.index.tags(new RepoName.Simple("last"), Optional.of(new Tag.Valid("x")), 1)
+                .toCompletableFuture().join()
+                .next().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldBuildIndexFromTagsTree() {
+        for (final String tag : new String[] {"v2", "v1"}) {
+            this.storage.save(
+                new Key.From(TagIndexTest.ROOT, "tags", tag, "current", "link"),
+                new Content.From("sha256:123".getBytes())
+            ).join();
+        }
+        this.add("v3");
+        MatcherAssert.assertThat(
+            TagIndexTest.json(this.index.tags(new RepoName.Simple("tree"), Optional.empty(), 5)),
+            new IsEqual<>("{\"name\":\"tree\",\"tags\":[\"v1\",\"v2\",\"v3\"]}")
+        );
+    }
+
+    private void add(final String... tags) {
+        for (final String tag : tags) {
+            this.index.add(new Tag.Valid(tag)).toCompletableFuture().join();
+        }
+    }
+
+    private static String json(final CompletionStage<Tags> tags) {
+        return tags.thenCompose(page -> new PublisherAs(page.json()).asciiString())
+            .toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
+import com.artipie.docker.Tag;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TagRevisions}.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class TagRevisionsTest {
+
+    /**
+     * Repository manifests root.
+     */
+    private static final Key ROOT = new Key.From("repo", "_manifests");
+
+    /**
+     * First revision.
+     */
+    private static final Digest FIRST = new Digest.Sha256("aaa");
+
+    /**
+     * Second revision.
+     */
+    private static final Digest SECOND = new Digest.Sha256("bbb");
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Tag revisions being tested.
+     */
+    private TagRevisions revisions;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.revisions = new TagRevisions(this.storage, TagRevisionsTest.ROOT);
+    }
+
+    @Test
+    void shouldFindTagsEverPointedToRevision() {
+        this.add("stable", TagRevisionsTest.FIRST);
+        this.add("latest", TagRevisionsTest.FIRST);
+        this.add("latest", TagRevisionsTest.SECOND);
+        MatcherAssert.assertThat(
+            "Finds all tags of first revision",
+            TagRevisionsTest.names(
+                this.revisions.tags(TagRevisionsTest.FIRST).toCompletableFuture().join()
+            ),
+            Matchers.contains("latest", "stable")
+        );
+        MatcherAssert.assertThat(
+            "Finds tag of second revision",
+            TagRevisionsTest.names(
+                this.revisions.tags(TagRevisionsTest.SECOND).toCompletableFuture().join()
+            ),
+            Matchers.contains("latest")
+        );
+    }
+
+    @Test
+    void shouldForgetTagsOfRemovedRevisions() {
+        this.add("stable", TagRevisionsTest.FIRST);
+        this.add("latest", TagRevisionsTest.FIRST);
+        this.add("latest", TagRevisionsTest.SECOND);
+        this.revisions.remove(new Tag.Valid("stable"), TagRevisionsTest.FIRST)
+            .toCompletableFuture().join();
+        this.revisions.clear(new Tag.Valid("latest")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Forgets tags of first revision",
+            this.revisions.tags(TagRevisionsTest.FIRST).toCompletableFuture().join(),
+            Matchers.emptyIterable()
+        );
+        MatcherAssert.assertThat(
+            "Forgets tags of second revision",
+            this.revisions.tags(TagRevisionsTest.SECOND).toCompletableFuture().join(),
+            Matchers.emptyIterable()
+        );
+    }
+
+    @Test
+    void shouldFindTagHistory() {
+        this.add("latest", TagRevisionsTest.SECOND);
+        this.add("latest", TagRevisionsTest.FIRST);
+        this.add("latest-old", TagRevisionsTest.SECOND);
+        MatcherAssert.assertThat(
+            this.revisions.revisions(new Tag.Valid("latest")).toCompletableFuture().join()
+                .stream().map(Digest::string).collect(Collectors.toList()),
+            Matchers.contains(TagRevisionsTest.FIRST.string(), TagRevisionsTest.SECOND.string())
+        );
+    }
+
+    @Test
+    void shouldFindNoHistoryForAbsentTag() {
+        this.add("latest", TagRevisionsTest.FIRST);
+        MatcherAssert.assertThat(
+            this.revisions.revisions(new Tag.Valid("absent")).toCompletableFuture().join(),
+            Matchers.emptyIterable()
+        );
+    }
+
+    @Test
+    void shouldReadCurrentLinkOfTagWithoutIndex() {
+        this.storage.save(
+            new Key.From(TagRevisionsTest.ROOT, "tags", "legacy", "current", "link"),
+            new Content.From(TagRevisionsTest.SECOND.string().getBytes())
+        ).join();
+        MatcherAssert.assertThat(
+            "Does not find tag by revision",
+            this.revisions.tags(TagRevisionsTest.SECOND).toCompletableFuture().join(),
+            Matchers.emptyIterable()
+        );
+        MatcherAssert.assertThat(
+            "Finds current revision as history",
+            this.revisions.revisions(new Tag.Valid("legacy")).toCompletableFuture().join()
+                .stream().map(Digest::string).collect(Collectors.toList()),
+            new IsEqual<>(List.of(TagRevisionsTest.SECOND.string()))
+        );
+    }
+
+    private void add(final String tag, final Digest digest) {
+        final Tag valid = new Tag.Valid(tag);
+        this.storage.save(
+            new Key.From(TagRevisionsTest.ROOT, "tags", tag, "current", "link"),
+            new Content.From(digest.string().getBytes())
+        ).join();
+        this.revisions.add(valid, digest).toCompletableFuture().join();
+    }
+
+    private static List<String> names(final Collection<Tag> tags) {
+        return tags.stream().map(Tag::value).collect(Collectors.toList());
+    }
+}
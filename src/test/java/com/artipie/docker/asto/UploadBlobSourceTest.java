@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link UploadBlobSource}.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class UploadBlobSourceTest {
+
+    /**
+     * Storage where upload is located.
+     */
+    private Storage storage;
+
+    /**
+     * Upload chunks.
+     */
+    private UploadChunks chunks;
+
+    /**
+     * Blob key.
+     */
+    private Key key;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.chunks = new UploadChunks(this.storage, new Key.From("upload", "chunks"));
+        this.key = new Key.From("blobs", "blob");
+    }
+
+    @Test
+    void shouldMoveSingleChunk() {
+        this.append("single");
+        this.source().saveTo(this.storage, this.key).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Blob content is wrong",
+            this.read(this.storage),
+            new IsEqual<>("single")
+        );
+        MatcherAssert.assertThat(
+            "Chunk was not moved",
+            this.chunks.keys().toCompletableFuture().join().isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldCopySeveralChunks() {
+        this.append("first");
+        this.append("-second");
+        this.source().saveTo(this.storage, this.key).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.read(this.storage),
+            new IsEqual<>("first-second")
+        );
+    }
+
+    @Test
+    void shouldCopyChunkToAnotherStorage() {
+        this.append("other");
+        final Storage other = new InMemoryStorage();
+        this.source().saveTo(other, this.key).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Blob content is wrong",
+            this.read(other),
+            new IsEqual<>("other")
+        );
+        MatcherAssert.assertThat(
+            "Chunk was removed",
+            this.chunks.keys().toCompletableFuture().join().size(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldBeAtomicForSingleChunkOnSameStorage() {
+        this.append("atomic");
+        MatcherAssert.assertThat(
+            this.source().atomic(this.storage).toCompletableFuture().join(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldNotBeAtomicForSeveralChunks() {
+        this.append("one");
+        this.append("two");
+        MatcherAssert.assertThat(
+            this.source().atomic(this.storage).toCompletableFuture().join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    private UploadBlobSource source() {
+        return new UploadBlobSource(this.storage, this.chunks, new Digest.Sha256("123"));
+    }
+
+    private void append(final String data) {
+        this.chunks.append(Flowable.just(ByteBuffer.wrap(data.getBytes())))
+            .toCompletableFuture().join();
+    }
+
+    private String read(final Storage target) {
+        return target.value(this.key)
+            .thenCompose(content -> new PublisherAs(content).asciiString())
+            .toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link UploadChunks}.
+ *
+ * @since 0.6
+ */
+final class UploadChunksTest {
+
+    /**
+     * Chunks being tested.
+     */
+    private UploadChunks chunks;
+
+    @BeforeEach
+    void setUp() {
+        this.chunks = new UploadChunks(new InMemoryStorage(), new Key.From("chunks"));
+    }
+
+    @Test
+    void shouldHaveZeroSizeWhenEmpty() {
+        MatcherAssert.assertThat(
+            this.chunks.size().toCompletableFuture().join(),
+            new IsEqual<>(0L)
+        );
+    }
+
+    @Test
+    void shouldReturnSizeAfterAppend() {
+        this.chunks.append(Flowable.just(ByteBuffer.wrap("12".getBytes())))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.chunks.append(Flowable.just(ByteBuffer.wrap("345".getBytes())))
+                .toCompletableFuture().join(),
+            new IsEqual<>((long) "12345".length())
+        );
+    }
+
+    @Test
+    void shouldStoreChunksByOffset() {
+        this.chunks.append(Flowable.just(ByteBuffer.wrap("abc".getBytes())))
+            .toCompletableFuture().join();
+        this.chunks.append(Flowable.just(ByteBuffer.wrap("de".getBytes())))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.chunks.keys().toCompletableFuture().join().stream()
+                .map(Key::string)
+                .collect(Collectors.toList()),
+            new IsEqual<>(
+                Arrays.asList(
+                    "chunks/0000000000000000000",
+                    "chunks/0000000000000000003"
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldReadChunksAsSingleContent() {
+        for (final String part : new String[] {"one", "-", "two"}) {
+            this.chunks.append(Flowable.just(ByteBuffer.wrap(part.getBytes())))
+                .toCompletableFuture().join();
+        }
+        MatcherAssert.assertThat(
+            this.chunks.content()
+                .thenCompose(content -> new PublisherAs(content).asciiString())
+                .toCompletableFuture().join(),
+            new IsEqual<>("one-two")
+        );
+    }
+}
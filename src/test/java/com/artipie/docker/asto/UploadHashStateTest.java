@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.ResumableSha256;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link UploadHashState}.
+ *
+ * @since 0.6
+ */
+final class UploadHashStateTest {
+
+    /**
+     * States root key.
+     */
+    private static final Key ROOT = new Key.From("hashstate");
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    /**
+     * Uploaded chunks.
+     */
+    private UploadChunks chunks;
+
+    /**
+     * State being tested.
+     */
+    private UploadHashState state;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.chunks = new UploadChunks(this.storage, new Key.From("chunks"));
+        this.state = new UploadHashState(this.storage, UploadHashStateTest.ROOT);
+    }
+
+    @Test
+    void shouldCalculateDigestOfAppendedChunks() {
+        this.append("hello, ");
+        this.append("world");
+        MatcherAssert.assertThat(
+            this.state.digest(this.chunks).toCompletableFuture().join().string(),
+            new IsEqual<>(new Digest.Sha256("hello, world".getBytes()).string())
+        );
+    }
+
+    @Test
+    void shouldKeepOnlyLatestState() {
+        this.append("one");
+        this.append("two");
+        MatcherAssert.assertThat(
+            this.storage.list(UploadHashStateTest.ROOT).join().stream()
+                .map(Key::string)
+                .collect(Collectors.toList()),
+            new IsEqual<>(Collections.singletonList("hashstate/0000000000000000006"))
+        );
+    }
+
+    @Test
+    void shouldCatchUpWhenLatestStateIsMissing() {
+        this.append("abc");
+        this.chunks.append(Flowable.just(ByteBuffer.wrap("def".getBytes())))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.state.digest(this.chunks).toCompletableFuture().join().string(),
+            new IsEqual<>(new Digest.Sha256("abcdef".getBytes()).string())
+        );
+    }
+
+    @Test
+    void shouldIgnoreStateNotAtChunkBoundary() {
+        final ResumableSha256 sha = new ResumableSha256();
+        sha.update(ByteBuffer.wrap("x".getBytes()));
+        this.state.save(sha).toCompletableFuture().join();
+        this.chunks.append(Flowable.just(ByteBuffer.wrap("yz".getBytes())))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.state.digest(this.chunks).toCompletableFuture().join().string(),
+            new IsEqual<>(new Digest.Sha256("yz".getBytes()).string())
+        );
+    }
+
+    private void append(final String data) {
+        final ResumableSha256 sha = this.state.load(this.chunks).toCompletableFuture().join();
+        this.chunks.append(
+            Flowable.just(ByteBuffer.wrap(data.getBytes())).doOnNext(sha::update)
+        ).toCompletableFuture().join();
+        this.state.save(sha).toCompletableFuture().join();
+    }
+}
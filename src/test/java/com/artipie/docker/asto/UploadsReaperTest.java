@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Upload;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link UploadsReaper}.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class UploadsReaperTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Uploads used in tests.
+     */
+    private AstoUploads uploads;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.uploads = new AstoUploads(this.storage, new RepoName.Simple("reaped"));
+    }
+
+    @Test
+    void deletesAbandonedUpload() {
+        final Upload upload = this.uploads.start().toCompletableFuture().join();
+        final byte[] data = "abandoned".getBytes();
+        upload.append(Flowable.just(ByteBuffer.wrap(data))).toCompletableFuture().join();
+        final UploadsReaper reaper = new UploadsReaper(this.storage, Duration.ZERO);
+        reaper.reap().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Upload exists",
+            this.uploads.get(upload.uuid()).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Wrong number of deleted sessions",
+            reaper.sessions(),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Upload data is not counted",
+            reaper.bytes() >= data.length,
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void keepsRecentUpload() {
+        final Upload upload = this.uploads.start().toCompletableFuture().join();
+        new UploadsReaper(this.storage, Duration.ofHours(1)).reap().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.uploads.get(upload.uuid()).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void keepsUploadWithRecentActivity() {
+        final Upload upload = this.uploads.start().toCompletableFuture().join();
+        final Key root = new UploadKey(new RepoName.Simple("reaped"), upload.uuid());
+        this.storage.save(
+            new Key.From(root, UploadsReaper.STARTED),
+            new Content.From(Instant.now().minus(Duration.ofHours(2)).toString().getBytes())
+        ).join();
+        upload.append(Flowable.just(ByteBuffer.wrap("active".getBytes())))
+            .toCompletableFuture().join();
+        new UploadsReaper(this.storage, Duration.ofHours(1)).reap().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.uploads.get(upload.uuid()).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void deletesSessionIndexEntry() {
+        final Upload upload = this.uploads.start().toCompletableFuture().join();
+        new UploadsReaper(this.storage, Duration.ZERO).reap().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.exists(new SessionKey(new RepoName.Simple("reaped"), upload.uuid()))
+                .join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void removesSessionIndexEntryOnDelete() {
+        final Upload upload = this.uploads.start().toCompletableFuture().join();
+        upload.delete().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.list(SessionKey.ROOT).join().isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void skipsUploadWithMalformedTime() {
+        final Key root = new UploadKey(new RepoName.Simple("reaped"), "malformed");
+        this.storage.save(
+            new SessionKey(new RepoName.Simple("reaped"), "malformed"),
+            new Content.From(Instant.now().minus(Duration.ofHours(1)).toString().getBytes())
+        ).join();
+        this.storage.save(
+            new Key.From(root, UploadsReaper.STARTED), new Content.From("yesterday".getBytes())
+        ).join();
+        final Upload upload = this.uploads.start().toCompletableFuture().join();
+        new UploadsReaper(this.storage, Duration.ZERO).reap().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Malformed session is deleted",
+            this.storage.exists(new Key.From(root, UploadsReaper.STARTED)).join(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Other session is not deleted",
+            this.uploads.get(upload.uuid()).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+}
@@ -23,10 +23,22 @@
  */
 package com.artipie.docker.cache;
 
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
 import com.artipie.docker.Digest;
+import com.artipie.docker.Layers;
+import com.artipie.docker.TrustedBlobSource;
+import com.artipie.docker.asto.AstoBlobs;
+import com.artipie.docker.asto.AstoLayers;
+import com.artipie.docker.asto.BlobKey;
 import com.artipie.docker.fake.FakeLayers;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -34,7 +46,9 @@ import org.junit.jupiter.params.provider.CsvSource;
  * Tests for {@link CacheLayers}.
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 final class CacheLayersTest {
     @ParameterizedTest
     @CsvSource({
@@ -61,4 +75,72 @@ final class CacheLayersTest {
             new IsEqual<>(expected)
         );
     }
+
+    @ParameterizedTest
+    @CsvSource({
+        "empty,empty,false",
+        "empty,full,true",
+        "full,empty,true",
+        "faulty,full,true",
+        "full,faulty,true",
+        "faulty,empty,false",
+        "empty,faulty,false"
+    })
+    void shouldPullExpectedValue(
+        final String origin,
+        final String cache,
+        final boolean expected
+    ) {
+        MatcherAssert.assertThat(
+            new CacheLayers(
+                new FakeLayers(origin),
+                new FakeLayers(cache)
+            ).pull(new Digest.Sha256("123"))
+                .toCompletableFuture().join()
+                .isPresent(),
+            new IsEqual<>(expected)
+        );
+    }
+
+    @Test
+    void shouldCachePulledLayer() throws Exception {
+        final byte[] data = "pulled".getBytes();
+        final Storage origin = new InMemoryStorage();
+        final Digest digest = new AstoBlobs(origin).put(new TrustedBlobSource(data))
+            .toCompletableFuture().join().digest();
+        final Storage storage = new InMemoryStorage();
+        final Layers cache = new AstoLayers(new AstoBlobs(storage));
+        new CacheLayers(new AstoLayers(new AstoBlobs(origin)), cache).pull(digest)
+            .thenCompose(blob -> blob.get().content())
+            .thenCompose(content -> new PublisherAs(content).bytes())
+            .toCompletableFuture().join();
+        CachingBlobTest.await(storage, new BlobKey(digest));
+        MatcherAssert.assertThat(
+            cache.get(digest).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldPullLayerBeingCopiedFromOriginWithoutWaiting() {
+        final byte[] data = "copied".getBytes();
+        final Storage origin = new InMemoryStorage();
+        final Digest digest = new AstoBlobs(origin).put(new TrustedBlobSource(data))
+            .toCompletableFuture().join().digest();
+        final CopyJobs jobs = new CopyJobs();
+        final CompletableFuture<Void> copy = new CompletableFuture<>();
+        jobs.blob(digest, () -> copy);
+        final Optional<Blob> pulled = new CacheLayers(
+            new AstoLayers(new AstoBlobs(origin)),
+            new AstoLayers(new AstoBlobs(new InMemoryStorage())),
+            jobs
+        ).pull(digest).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            pulled.get().content()
+                .thenCompose(content -> new PublisherAs(content).bytes())
+                .toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        copy.complete(null);
+    }
 }
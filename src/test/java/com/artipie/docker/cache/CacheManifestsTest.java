@@ -23,8 +23,11 @@
  */
 package com.artipie.docker.cache;
 
+import com.artipie.asto.Content;
 import com.artipie.asto.LoggingStorage;
+import com.artipie.asto.Storage;
 import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
 import com.artipie.docker.Digest;
 import com.artipie.docker.ExampleStorage;
 import com.artipie.docker.Layers;
@@ -32,14 +35,25 @@ import com.artipie.docker.Manifests;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
+import com.artipie.docker.TrustedBlobSource;
 import com.artipie.docker.Uploads;
+import com.artipie.docker.asto.AstoBlobs;
 import com.artipie.docker.asto.AstoDocker;
+import com.artipie.docker.fake.FakeLayers;
 import com.artipie.docker.fake.FakeManifests;
+import com.artipie.docker.manifest.JsonManifestList;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
 import com.google.common.base.Stopwatch;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.json.Json;
+import javax.json.JsonObject;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Test;
@@ -52,6 +66,7 @@ import org.junit.jupiter.params.provider.CsvSource;
  * @since 0.3
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 final class CacheManifestsTest {
     @ParameterizedTest
     @CsvSource({
@@ -110,12 +125,160 @@ final class CacheManifestsTest {
         );
     }
 
+    @Test
+    void shouldCacheManifestListWithPrefetchedPlatformsOnly() throws Exception {
+        final Storage storage = new InMemoryStorage();
+        final Repo origin = new AstoDocker(storage).repo(new RepoName.Simple("multi"));
+        final Manifest amd = CacheManifestsTest.image(storage, origin, "amd64");
+        final Manifest arm = CacheManifestsTest.image(storage, origin, "arm64");
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("latest"));
+        origin.manifests().put(
+            ref,
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add("mediaType", JsonManifestList.DOCKER)
+                    .add(
+                        "manifests",
+                        Json.createArrayBuilder()
+                            .add(CacheManifestsTest.child(amd, "amd64"))
+                            .add(CacheManifestsTest.child(arm, "arm64"))
+                    )
+                    .build().toString().getBytes()
+            )
+        ).toCompletableFuture().join();
+        final Repo cache = new AstoDocker(new InMemoryStorage())
+            .repo(new RepoName.Simple("multi-cache"));
+        new CacheManifests(origin, cache, Collections.singleton("linux/amd64"))
+            .get(ref).toCompletableFuture().join();
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        while (cache.manifests().get(ref).toCompletableFuture().join().isEmpty()) {
+            final int timeout = 10;
+            if (stopwatch.elapsed(TimeUnit.SECONDS) > timeout) {
+                break;
+            }
+            final int pause = 100;
+            Thread.sleep(pause);
+        }
+        MatcherAssert.assertThat(
+            "Manifest list is cached",
+            cache.manifests().get(ref).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Prefetched platform manifest is cached",
+            cache.manifests().get(new ManifestRef.FromDigest(amd.digest()))
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Prefetched platform config is cached",
+            cache.layers().get(amd.config()).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Other platform config is not cached",
+            cache.layers().get(arm.config()).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldGetManifestFromOriginOnce() throws Exception {
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("1"));
+        final Repo origin = new AstoDocker(new ExampleStorage())
+            .repo(new RepoName.Simple("my-alpine"));
+        final AtomicInteger requests = new AtomicInteger();
+        final Repo cache = new AstoDocker(new InMemoryStorage())
+            .repo(new RepoName.Simple("once-cache"));
+        new CacheManifests(
+            new SimpleRepo(origin.layers(), new CountingManifests(origin.manifests(), requests)),
+            cache
+        ).get(ref).toCompletableFuture().join();
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        while (cache.manifests().get(ref).toCompletableFuture().join().isEmpty()) {
+            final int timeout = 10;
+            if (stopwatch.elapsed(TimeUnit.SECONDS) > timeout) {
+                break;
+            }
+            final int pause = 100;
+            Thread.sleep(pause);
+        }
+        MatcherAssert.assertThat(
+            "Manifest is cached",
+            cache.manifests().get(ref).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Manifest is requested from origin once",
+            requests.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldNotCopyManifestAlreadyCached() {
+        final Storage storage = new InMemoryStorage();
+        final Repo origin = new AstoDocker(storage).repo(new RepoName.Simple("origin"));
+        final Repo cache = new AstoDocker(storage).repo(new RepoName.Simple("cache"));
+        CacheManifestsTest.image(storage, origin, "cached");
+        CacheManifestsTest.image(storage, cache, "cached");
+        final CopyJobs jobs = new CopyJobs(1, 1);
+        final CompletableFuture<Void> running = new CompletableFuture<>();
+        jobs.submit("running", () -> running);
+        new CacheManifests(origin, cache, Collections.emptyList(), jobs)
+            .get(new ManifestRef.FromTag(new Tag.Valid("cached")))
+            .toCompletableFuture().join();
+        final AtomicInteger started = new AtomicInteger();
+        jobs.submit(
+            "probe",
+            () -> {
+                started.incrementAndGet();
+                return CompletableFuture.allOf();
+            }
+        );
+        running.complete(null);
+        MatcherAssert.assertThat(started.get(), new IsEqual<>(1));
+    }
+
+    private static Manifest image(final Storage storage, final Repo repo, final String arch) {
+        final Blob config = new AstoBlobs(storage)
+            .put(new TrustedBlobSource(arch.getBytes()))
+            .toCompletableFuture().join();
+        return repo.manifests().put(
+            new ManifestRef.FromTag(new Tag.Valid(arch)),
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add(
+                        "config",
+                        Json.createObjectBuilder().add("digest", config.digest().string())
+                    )
+                    .add("layers", Json.createArrayBuilder())
+                    .build().toString().getBytes()
+            )
+        ).toCompletableFuture().join();
+    }
+
+    private static JsonObject child(final Manifest manifest, final String arch) {
+        return Json.createObjectBuilder()
+            .add("digest", manifest.digest().string())
+            .add(
+                "platform",
+                Json.createObjectBuilder().add("architecture", arch).add("os", "linux")
+            )
+            .build();
+    }
+
     /**
      * Simple repo implementation.
      *
      * @since 0.3
      */
     private static final class SimpleRepo implements Repo {
+        /**
+         * Layers.
+         */
+        private final Layers lrs;
+
         /**
          * Manifests.
          */
@@ -127,12 +290,23 @@ final class CacheManifestsTest {
          * @param mnfs Manifests.
          */
         private SimpleRepo(final Manifests mnfs) {
+            this(new FakeLayers("empty"), mnfs);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param lrs Layers.
+         * @param mnfs Manifests.
+         */
+        private SimpleRepo(final Layers lrs, final Manifests mnfs) {
+            this.lrs = lrs;
             this.mnfs = mnfs;
         }
 
         @Override
         public Layers layers() {
-            throw new UnsupportedOperationException();
+            return this.lrs;
         }
 
         @Override
@@ -145,4 +319,54 @@ final class CacheManifestsTest {
             throw new UnsupportedOperationException();
         }
     }
+
+    /**
+     * Manifests counting get requests.
+     *
+     * @since 0.6
+     */
+    private static final class CountingManifests implements Manifests {
+
+        /**
+         * Origin manifests.
+         */
+        private final Manifests origin;
+
+        /**
+         * Get requests counter.
+         */
+        private final AtomicInteger requests;
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin manifests.
+         * @param requests Get requests counter.
+         */
+        CountingManifests(final Manifests origin, final AtomicInteger requests) {
+            this.origin = origin;
+            this.requests = requests;
+        }
+
+        @Override
+        public CompletionStage<Manifest> put(final ManifestRef ref, final Content content) {
+            return this.origin.put(ref, content);
+        }
+
+        @Override
+        public CompletionStage<Optional<Manifest>> get(final ManifestRef ref) {
+            this.requests.incrementAndGet();
+            return this.origin.get(ref);
+        }
+
+        @Override
+        public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+            return this.origin.tags(from, limit);
+        }
+
+        @Override
+        public CompletionStage<Void> delete(final ManifestRef ref) {
+            return this.origin.delete(ref);
+        }
+    }
 }
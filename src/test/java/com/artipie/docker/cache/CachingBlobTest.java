@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.cache;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.CheckedBlobSource;
+import com.artipie.docker.Digest;
+import com.artipie.docker.TrustedBlobSource;
+import com.artipie.docker.asto.AstoBlob;
+import com.artipie.docker.asto.AstoBlobs;
+import com.artipie.docker.asto.AstoLayers;
+import com.artipie.docker.asto.BlobKey;
+import io.reactivex.processors.PublishProcessor;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CachingBlob}.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class CachingBlobTest {
+
+    @Test
+    void shouldCacheContentWhileRead() throws Exception {
+        final byte[] data = "layer data".getBytes();
+        final Storage origin = new InMemoryStorage();
+        final Digest digest = new AstoBlobs(origin).put(new TrustedBlobSource(data))
+            .toCompletableFuture().join().digest();
+        final Storage cache = new InMemoryStorage();
+        MatcherAssert.assertThat(
+            "Sends content to reader",
+            new CachingBlob(
+                new AstoBlob(origin, digest), new AstoLayers(new AstoBlobs(cache)), new CopyJobs()
+            ).content()
+                .thenCompose(content -> new PublisherAs(content).bytes())
+                .toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        CachingBlobTest.await(cache, new BlobKey(digest));
+        MatcherAssert.assertThat(
+            "Writes content to cache",
+            new PublisherAs(cache.value(new BlobKey(digest)).join()).bytes()
+                .toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void shouldNotCacheContentNotMatchingDigest() {
+        final Digest digest = new Digest.Sha256("expected".getBytes());
+        final Storage origin = new InMemoryStorage();
+        origin.save(new BlobKey(digest), new Content.From("actual".getBytes())).join();
+        final Storage cache = new InMemoryStorage();
+        new CachingBlob(
+            new AstoBlob(origin, digest), new AstoLayers(new AstoBlobs(cache)), new CopyJobs()
+        ).content()
+            .thenCompose(content -> new PublisherAs(content).bytes())
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            cache.exists(new BlobKey(digest)).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldAbandonCopyWhenSameBlobIsBeingCached() {
+        final byte[] data = "in flight".getBytes();
+        final Storage origin = new InMemoryStorage();
+        final Digest digest = new AstoBlobs(origin).put(new TrustedBlobSource(data))
+            .toCompletableFuture().join().digest();
+        final Storage cache = new InMemoryStorage();
+        final AstoBlobs blobs = new AstoBlobs(cache);
+        final PublishProcessor<ByteBuffer> running = PublishProcessor.create();
+        final CompletableFuture<Blob> other = blobs.put(
+            new CheckedBlobSource(new Content.From(running), digest)
+        ).toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Sends content to reader",
+            new CachingBlob(new AstoBlob(origin, digest), new AstoLayers(blobs), new CopyJobs())
+                .content()
+                .thenCompose(content -> new PublisherAs(content).bytes())
+                .toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        running.onError(new IllegalStateException("Other write failed"));
+        other.handle((blob, err) -> blob).join();
+        MatcherAssert.assertThat(
+            "Does not keep copy to retry write",
+            cache.exists(new BlobKey(digest)).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldAbandonCopyExceedingLimit() {
+        final byte[] data = "large layer".getBytes();
+        final Storage origin = new InMemoryStorage();
+        final Digest digest = new AstoBlobs(origin).put(new TrustedBlobSource(data))
+            .toCompletableFuture().join().digest();
+        final Storage cache = new InMemoryStorage();
+        MatcherAssert.assertThat(
+            "Sends content to reader",
+            new CachingBlob(
+                new AstoBlob(origin, digest), new AstoLayers(new AstoBlobs(cache)),
+                new CopyJobs(), 1L
+            ).content()
+                .thenCompose(content -> new PublisherAs(content).bytes())
+                .toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            "Does not cache content",
+            cache.exists(new BlobKey(digest)).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    /**
+     * Wait for cache write in background to complete.
+     *
+     * @param storage Storage.
+     * @param key Key to wait for.
+     * @throws InterruptedException If interrupted.
+     */
+    static void await(final Storage storage, final Key key) throws InterruptedException {
+        // @checkstyle MagicNumberCheck (4 lines)
+        final long deadline = System.currentTimeMillis() + Duration.ofSeconds(5).toMillis();
+        while (!storage.exists(key).join() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.cache;
+
+import com.artipie.docker.Digest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CopyJobs}.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class CopyJobsTest {
+
+    @Test
+    void shouldLimitRunningJobs() {
+        final CopyJobs jobs = new CopyJobs(1, 10);
+        final CompletableFuture<Void> first = new CompletableFuture<>();
+        final AtomicInteger started = new AtomicInteger();
+        jobs.submit(
+            "first",
+            () -> {
+                started.incrementAndGet();
+                return first;
+            }
+        );
+        jobs.submit(
+            "second",
+            () -> {
+                started.incrementAndGet();
+                return CompletableFuture.allOf();
+            }
+        );
+        MatcherAssert.assertThat(
+            "Waits for running job",
+            started.get(),
+            new IsEqual<>(1)
+        );
+        first.complete(null);
+        MatcherAssert.assertThat(
+            "Starts next job when running job completes",
+            started.get(),
+            new IsEqual<>(2)
+        );
+    }
+
+    @Test
+    void shouldDropJobsWhenQueueIsFull() {
+        final CopyJobs jobs = new CopyJobs(1, 1);
+        final CompletableFuture<Void> running = new CompletableFuture<>();
+        final AtomicInteger started = new AtomicInteger();
+        jobs.submit("running", () -> running);
+        for (final String name : new String[] {"queued", "dropped"}) {
+            jobs.submit(
+                name,
+                () -> {
+                    started.incrementAndGet();
+                    return CompletableFuture.allOf();
+                }
+            );
+        }
+        running.complete(null);
+        MatcherAssert.assertThat(started.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldIgnoreJobWithSameName() {
+        final CopyJobs jobs = new CopyJobs(1, 10);
+        final CompletableFuture<Void> running = new CompletableFuture<>();
+        final AtomicInteger started = new AtomicInteger();
+        jobs.submit("running", () -> running);
+        for (int idx = 0; idx < 2; idx += 1) {
+            jobs.submit(
+                "same",
+                () -> {
+                    started.incrementAndGet();
+                    return CompletableFuture.allOf();
+                }
+            );
+        }
+        running.complete(null);
+        MatcherAssert.assertThat(started.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldKeepPlaceOfJobRunningLongerThanTimeout() {
+        final CopyJobs jobs = new CopyJobs(1, 10, Duration.ofMillis(1L));
+        final CompletableFuture<Void> stuck = new CompletableFuture<>();
+        final AtomicInteger started = new AtomicInteger();
+        jobs.submit("stuck", () -> stuck);
+        jobs.submit(
+            "next",
+            () -> {
+                started.incrementAndGet();
+                return CompletableFuture.allOf();
+            }
+        );
+        CompletableFuture.runAsync(
+            // @checkstyle MagicNumberCheck (1 line)
+            () -> { }, CompletableFuture.delayedExecutor(100L, TimeUnit.MILLISECONDS)
+        ).join();
+        MatcherAssert.assertThat(
+            "Starts next job after timeout of running job",
+            started.get(),
+            new IsEqual<>(0)
+        );
+        stuck.complete(null);
+        MatcherAssert.assertThat(
+            "Does not start next job when running job ends",
+            started.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldCopyBlobAfterItIsCachedByClient() {
+        final CopyJobs jobs = new CopyJobs();
+        final Digest digest = new Digest.Sha256("abc");
+        final CompletableFuture<Void> tee = new CompletableFuture<>();
+        final AtomicInteger copies = new AtomicInteger();
+        jobs.tee(digest, tee);
+        final CompletableFuture<Void> copy = jobs.blob(
+            digest,
+            () -> {
+                copies.incrementAndGet();
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Waits for blob being cached by client",
+            copies.get(),
+            new IsEqual<>(0)
+        );
+        MatcherAssert.assertThat(
+            "Reports blob being copied",
+            jobs.copying(digest).isPresent(),
+            new IsEqual<>(true)
+        );
+        tee.complete(null);
+        copy.join();
+        MatcherAssert.assertThat(
+            "Copies blob when client completes",
+            copies.get(),
+            new IsEqual<>(1)
+        );
+    }
+}
@@ -36,6 +36,7 @@ import org.junit.jupiter.params.provider.CsvSource;
  *
  * @since 0.3
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 final class MultiReadLayersTest {
     @ParameterizedTest
     @CsvSource({
@@ -60,4 +61,28 @@ final class MultiReadLayersTest {
             new IsEqual<>(present)
         );
     }
+
+    @ParameterizedTest
+    @CsvSource({
+        "empty,empty,false",
+        "empty,full,true",
+        "full,empty,true",
+        "faulty,full,true",
+        "full,faulty,true",
+        "faulty,empty,false",
+        "empty,faulty,false"
+    })
+    void shouldPullExpectedValue(final String one, final String two, final boolean present) {
+        MatcherAssert.assertThat(
+            new MultiReadLayers(
+                Arrays.asList(
+                    new FakeLayers(one),
+                    new FakeLayers(two)
+                )
+            ).pull(new Digest.FromString("123"))
+                .toCompletableFuture().join()
+                .isPresent(),
+            new IsEqual<>(present)
+        );
+    }
 }
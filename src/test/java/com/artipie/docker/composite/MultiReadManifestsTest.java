@@ -23,14 +23,21 @@
  */
 package com.artipie.docker.composite;
 
+import com.artipie.asto.ext.PublisherAs;
 import com.artipie.docker.Digest;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
 import com.artipie.docker.fake.FakeManifests;
+import com.artipie.docker.fake.FaultyGetManifests;
+import com.artipie.docker.fake.FullTagsManifests;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
 import java.util.Arrays;
 import java.util.Optional;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -38,7 +45,9 @@ import org.junit.jupiter.params.provider.CsvSource;
  * Tests for {@link MultiReadManifests}.
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 final class MultiReadManifestsTest {
 
     @ParameterizedTest
@@ -58,6 +67,7 @@ final class MultiReadManifestsTest {
         final String expected
     ) {
         final MultiReadManifests manifests = new MultiReadManifests(
+            new RepoName.Simple("test"),
             Arrays.asList(
                 new FakeManifests(origin, "one"),
                 new FakeManifests(cache, "two")
@@ -71,4 +81,38 @@ final class MultiReadManifestsTest {
             new IsEqual<>(Optional.ofNullable(expected))
         );
     }
+
+    @Test
+    void shouldMergeTags() {
+        final Tags tags = new MultiReadManifests(
+            new RepoName.Simple("merged"),
+            Arrays.asList(
+                new FullTagsManifests(
+                    new Tags.From(
+                        new RepoName.Simple("one"),
+                        Arrays.asList(new Tag.Valid("a"), new Tag.Valid("c")),
+                        Optional.empty()
+                    )
+                ),
+                new FaultyGetManifests(),
+                new FullTagsManifests(
+                    new Tags.From(
+                        new RepoName.Simple("two"),
+                        Arrays.asList(new Tag.Valid("b"), new Tag.Valid("c")),
+                        Optional.empty()
+                    )
+                )
+            )
+        ).tags(Optional.empty(), 2).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Wrong merged tags",
+            new PublisherAs(tags.json()).asciiString().toCompletableFuture().join(),
+            new IsEqual<>("{\"name\":\"merged\",\"tags\":[\"a\",\"b\"]}")
+        );
+        MatcherAssert.assertThat(
+            "Wrong next tag",
+            tags.next().map(Tag::value),
+            new IsEqual<>(Optional.of("b"))
+        );
+    }
 }
@@ -25,8 +25,10 @@ package com.artipie.docker.composite;
 
 import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
+import com.artipie.docker.TrustedBlobSource;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -76,21 +78,30 @@ final class ReadWriteLayersTest {
 
     @Test
     void shouldCallPutPassingCorrectData() {
-        final byte[] data = "data".getBytes();
         final Digest digest = new Digest.FromString("sha256:123");
-        this.layers.put(
-            new Content.From(data),
-            digest
-        ).toCompletableFuture().join();
+        final BlobSource source = new TrustedBlobSource(
+            new Content.From("data".getBytes()), digest
+        );
+        this.layers.put(source).toCompletableFuture().join();
         MatcherAssert.assertThat(
             "Digest from put method is wrong.",
-            this.putlayers.digest(),
+            this.putlayers.source().digest(),
             new IsEqual<>(digest)
         );
         MatcherAssert.assertThat(
-            "Size of content from put method is wrong.",
-            this.putlayers.content().size().get(),
-            new IsEqual<>((long) data.length)
+            "Source from put method is wrong.",
+            this.putlayers.source(),
+            new IsEqual<>(source)
+        );
+    }
+
+    @Test
+    void shouldCallDeleteOnWrite() {
+        final Digest digest = new Digest.FromString("sha256:321");
+        this.layers.delete(digest).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.putlayers.digest(),
+            new IsEqual<>(digest)
         );
     }
 
@@ -107,7 +118,7 @@ final class ReadWriteLayersTest {
         private volatile Digest digestcheck;
 
         @Override
-        public CompletionStage<Blob> put(final Content content, final Digest digest) {
+        public CompletionStage<Blob> put(final BlobSource source) {
             throw new UnsupportedOperationException();
         }
 
@@ -117,6 +128,16 @@ final class ReadWriteLayersTest {
             return CompletableFuture.completedFuture(Optional.empty());
         }
 
+        @Override
+        public CompletionStage<Optional<Blob>> pull(final Digest digest) {
+            return this.get(digest);
+        }
+
+        @Override
+        public CompletionStage<Void> delete(final Digest digest) {
+            throw new UnsupportedOperationException();
+        }
+
         public Digest digest() {
             return this.digestcheck;
         }
@@ -124,25 +145,25 @@ final class ReadWriteLayersTest {
 
     /**
      * Layers implementation that captures put method for checking
-     * correctness of parameters. Get method is unsupported.
+     * correctness of parameters. Delete method captures digest.
+     * Get method is unsupported.
      *
      * @since 0.5
      */
     private static class CapturePutLayers implements Layers {
         /**
-         * Layer digest.
+         * Layer source.
          */
-        private volatile Digest digestcheck;
+        private volatile BlobSource sourcecheck;
 
         /**
-         * Layer content.
+         * Deleted layer digest.
          */
-        private volatile Content contentcheck;
+        private volatile Digest digestcheck;
 
         @Override
-        public CompletionStage<Blob> put(final Content content, final Digest digest) {
-            this.digestcheck = digest;
-            this.contentcheck = content;
+        public CompletionStage<Blob> put(final BlobSource source) {
+            this.sourcecheck = source;
             return CompletableFuture.completedFuture(null);
         }
 
@@ -151,12 +172,23 @@ final class ReadWriteLayersTest {
             throw new UnsupportedOperationException();
         }
 
-        public Digest digest() {
-            return this.digestcheck;
+        @Override
+        public CompletionStage<Optional<Blob>> pull(final Digest digest) {
+            throw new UnsupportedOperationException();
         }
 
-        public Content content() {
-            return this.contentcheck;
+        @Override
+        public CompletionStage<Void> delete(final Digest digest) {
+            this.digestcheck = digest;
+            return CompletableFuture.allOf();
+        }
+
+        public BlobSource source() {
+            return this.sourcecheck;
+        }
+
+        public Digest digest() {
+            return this.digestcheck;
         }
     }
 }
@@ -25,8 +25,12 @@ package com.artipie.docker.composite;
 
 import com.artipie.asto.Content;
 import com.artipie.docker.Manifests;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -73,6 +77,16 @@ final class ReadWriteManifestsTest {
         );
     }
 
+    @Test
+    void shouldCallTagsWithCorrectFrom() {
+        final Optional<Tag> from = Optional.of(new Tag.Valid("latest"));
+        this.mnfs.tags(from, 1).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.getmnf.from(),
+            new IsEqual<>(from)
+        );
+    }
+
     @Test
     void shouldCallPutPassingCorrectData() {
         final byte[] data = "data".getBytes();
@@ -93,6 +107,16 @@ final class ReadWriteManifestsTest {
         );
     }
 
+    @Test
+    void shouldCallDeleteOnWrite() {
+        final ManifestRef ref = new ManifestRef.FromString("delete");
+        this.mnfs.delete(ref).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.putmnf.ref(),
+            new IsEqual<>(ref)
+        );
+    }
+
     /**
      * Manifests implementation that captures get method for checking
      * correctness of parameters. Put method is unsupported.
@@ -105,6 +129,11 @@ final class ReadWriteManifestsTest {
          */
         private volatile ManifestRef refcheck;
 
+        /**
+         * Tag to list tags from.
+         */
+        private volatile Optional<Tag> fromcheck;
+
         @Override
         public CompletionStage<Manifest> put(final ManifestRef ref, final Content content) {
             throw new UnsupportedOperationException();
@@ -116,14 +145,32 @@ final class ReadWriteManifestsTest {
             return CompletableFuture.completedFuture(Optional.empty());
         }
 
+        @Override
+        public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+            this.fromcheck = from;
+            return CompletableFuture.completedFuture(
+                new Tags.From(new RepoName.Simple("read"), Collections.emptyList(), from)
+            );
+        }
+
+        @Override
+        public CompletionStage<Void> delete(final ManifestRef ref) {
+            throw new UnsupportedOperationException();
+        }
+
         public ManifestRef ref() {
             return this.refcheck;
         }
+
+        public Optional<Tag> from() {
+            return this.fromcheck;
+        }
     }
 
     /**
      * Manifests implementation that captures put method for checking
-     * correctness of parameters. Get method is unsupported.
+     * correctness of parameters. Delete method captures reference as well.
+     * Get method is unsupported.
      *
      * @since 0.5
      */
@@ -150,6 +197,17 @@ final class ReadWriteManifestsTest {
             throw new UnsupportedOperationException();
         }
 
+        @Override
+        public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Void> delete(final ManifestRef ref) {
+            this.refcheck = ref;
+            return CompletableFuture.allOf();
+        }
+
         public ManifestRef ref() {
             return this.refcheck;
         }
@@ -23,8 +23,8 @@
  */
 package com.artipie.docker.fake;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
 import java.util.Optional;
@@ -39,7 +39,7 @@ import java.util.concurrent.CompletionStage;
 public final class EmptyGetLayers implements Layers {
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
+    public CompletionStage<Blob> put(final BlobSource source) {
         throw new UnsupportedOperationException();
     }
 
@@ -47,4 +47,14 @@ public final class EmptyGetLayers implements Layers {
     public CompletionStage<Optional<Blob>> get(final Digest digest) {
         return CompletableFuture.completedFuture(Optional.empty());
     }
+
+    @Override
+    public CompletionStage<Optional<Blob>> pull(final Digest digest) {
+        return this.get(digest);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final Digest digest) {
+        throw new UnsupportedOperationException();
+    }
 }
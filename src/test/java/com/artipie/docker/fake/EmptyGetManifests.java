@@ -25,6 +25,8 @@ package com.artipie.docker.fake;
 
 import com.artipie.asto.Content;
 import com.artipie.docker.Manifests;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
 import java.util.Optional;
@@ -47,4 +49,14 @@ public final class EmptyGetManifests implements Manifests {
     public CompletionStage<Optional<Manifest>> get(final ManifestRef ref) {
         return CompletableFuture.completedFuture(Optional.empty());
     }
+
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final ManifestRef ref) {
+        throw new UnsupportedOperationException();
+    }
 }
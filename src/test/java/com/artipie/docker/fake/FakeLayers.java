@@ -23,8 +23,8 @@
  */
 package com.artipie.docker.fake;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
 import java.util.Optional;
@@ -51,8 +51,8 @@ public final class FakeLayers implements Layers {
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
-        return this.layers.put(content, digest);
+    public CompletionStage<Blob> put(final BlobSource source) {
+        return this.layers.put(source);
     }
 
     @Override
@@ -60,6 +60,16 @@ public final class FakeLayers implements Layers {
         return this.layers.get(digest);
     }
 
+    @Override
+    public CompletionStage<Optional<Blob>> pull(final Digest digest) {
+        return this.layers.pull(digest);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final Digest digest) {
+        return this.layers.delete(digest);
+    }
+
     /**
      * Creates layers.
      *
@@ -25,6 +25,8 @@ package com.artipie.docker.fake;
 
 import com.artipie.asto.Content;
 import com.artipie.docker.Manifests;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
 import java.util.Optional;
@@ -61,6 +63,16 @@ public final class FakeManifests implements Manifests {
         return this.mnfs.get(ref);
     }
 
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        return this.mnfs.tags(from, limit);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final ManifestRef ref) {
+        return this.mnfs.delete(ref);
+    }
+
     /**
      * Creates manifests.
      *
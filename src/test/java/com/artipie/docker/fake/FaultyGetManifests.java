@@ -25,6 +25,8 @@ package com.artipie.docker.fake;
 
 import com.artipie.asto.Content;
 import com.artipie.docker.Manifests;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
 import java.util.Optional;
@@ -47,4 +49,14 @@ public final class FaultyGetManifests implements Manifests {
     public CompletionStage<Optional<Manifest>> get(final ManifestRef ref) {
         return CompletableFuture.failedFuture(new IllegalStateException());
     }
+
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        return CompletableFuture.failedFuture(new IllegalStateException());
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final ManifestRef ref) {
+        throw new UnsupportedOperationException();
+    }
 }
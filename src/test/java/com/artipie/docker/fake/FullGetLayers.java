@@ -23,9 +23,9 @@
  */
 package com.artipie.docker.fake;
 
-import com.artipie.asto.Content;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
 import com.artipie.docker.asto.AstoBlob;
@@ -41,7 +41,7 @@ import java.util.concurrent.CompletionStage;
 public final class FullGetLayers implements Layers {
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
+    public CompletionStage<Blob> put(final BlobSource source) {
         throw new UnsupportedOperationException();
     }
 
@@ -51,4 +51,14 @@ public final class FullGetLayers implements Layers {
             Optional.of(new AstoBlob(new InMemoryStorage(), digest))
         );
     }
+
+    @Override
+    public CompletionStage<Optional<Blob>> pull(final Digest digest) {
+        return this.get(digest);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final Digest digest) {
+        throw new UnsupportedOperationException();
+    }
 }
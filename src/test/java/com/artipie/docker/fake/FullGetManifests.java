@@ -26,6 +26,8 @@ package com.artipie.docker.fake;
 import com.artipie.asto.Content;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Manifests;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
 import com.artipie.docker.manifest.JsonManifest;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
@@ -86,4 +88,14 @@ public final class FullGetManifests implements Manifests {
             )
         );
     }
+
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletionStage<Void> delete(final ManifestRef ref) {
+        throw new UnsupportedOperationException();
+    }
 }
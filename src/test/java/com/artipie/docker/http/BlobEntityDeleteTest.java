@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.TrustedBlobSource;
+import com.artipie.docker.asto.AstoBlobs;
+import com.artipie.docker.asto.AstoDocker;
+import com.artipie.http.auth.Permissions;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.ResponseMatcher;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DockerSlice}.
+ * Blob Delete endpoint.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (2 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class BlobEntityDeleteTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Slice being tested.
+     */
+    private DockerSlice slice;
+
+    /**
+     * User with right permissions.
+     */
+    private TestAuthentication.User user;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.user = TestAuthentication.ALICE;
+        this.slice = new DockerSlice(
+            new AstoDocker(this.storage),
+            new Permissions.Single(this.user.name(), DockerSlice.WRITE),
+            new TestAuthentication()
+        );
+    }
+
+    @Test
+    void shouldDeleteLayer() {
+        final Blob blob = new AstoBlobs(this.storage).put(new TrustedBlobSource("layer".getBytes()))
+            .toCompletableFuture().join();
+        final String digest = blob.digest().string();
+        MatcherAssert.assertThat(
+            "Returns 202 status with digest",
+            this.slice.response(
+                new RequestLine(
+                    RqMethod.DELETE,
+                    String.format("/v2/test/blobs/%s", digest)
+                ).toString(),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new ResponseMatcher(
+                RsStatus.ACCEPTED,
+                new Header("Docker-Content-Digest", digest),
+                new Header("Content-Length", "0")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Layer is deleted",
+            new AstoBlobs(this.storage).blob(blob.digest())
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownDigest() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(
+                    RqMethod.DELETE,
+                    String.format(
+                        "/v2/test/blobs/%s",
+                        "sha256:0123456789012345678901234567890123456789012345678901234567890123"
+                    )
+                ).toString(),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new IsErrorsResponse(RsStatus.NOT_FOUND, "BLOB_UNKNOWN")
+        );
+    }
+
+    @Test
+    void shouldReturnUnauthorizedWhenNoAuth() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.DELETE, "/v2/test/blobs/sha256:123").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new IsUnauthorizedResponse()
+        );
+    }
+}
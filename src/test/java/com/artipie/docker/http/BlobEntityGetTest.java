@@ -27,6 +27,7 @@ import com.artipie.asto.Key;
 import com.artipie.asto.blocking.BlockingStorage;
 import com.artipie.docker.ExampleStorage;
 import com.artipie.docker.asto.AstoDocker;
+import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.auth.Permissions;
 import com.artipie.http.headers.Header;
@@ -96,7 +97,35 @@ class BlobEntityGetTest {
                 new BlockingStorage(new ExampleStorage()).value(expected),
                 new Header("Content-Length", "2803255"),
                 new Header("Docker-Content-Digest", digest),
-                new Header("Content-Type", "application/octet-stream")
+                new Header("Content-Type", "application/octet-stream"),
+                new Header("Accept-Ranges", "none")
+            )
+        );
+    }
+
+    @Test
+    void shouldReturnWholeLayerWhenRangeRequested() throws Exception {
+        final String digest = String.format(
+            "%s:%s",
+            "sha256",
+            "aad63a9339440e7c3e1fff2b988991b9bfb81280042fa7f39a5e327023056819"
+        );
+        final Response response = this.slice.response(
+            new RequestLine(
+                RqMethod.GET,
+                String.format("/v2/test/blobs/%s", digest)
+            ).toString(),
+            new Headers.From(this.user.headers(), new Header("Range", "bytes=0-99")),
+            Flowable.empty()
+        );
+        MatcherAssert.assertThat(
+            response,
+            new ResponseMatcher(
+                RsStatus.OK,
+                new Header("Content-Length", "2803255"),
+                new Header("Docker-Content-Digest", digest),
+                new Header("Content-Type", "application/octet-stream"),
+                new Header("Accept-Ranges", "none")
             )
         );
     }
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.asto.AstoDocker;
+import com.artipie.http.Response;
+import com.artipie.http.auth.Permissions;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.util.Collections;
+import org.cactoos.list.ListOf;
+import org.hamcrest.Matcher;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.AllOf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DockerSlice}.
+ * Catalog GET endpoint.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class CatalogEntityGetTest {
+
+    /**
+     * Slice being tested.
+     */
+    private DockerSlice slice;
+
+    /**
+     * User with right permissions.
+     */
+    private TestAuthentication.User user;
+
+    @BeforeEach
+    void setUp() {
+        final Storage storage = new InMemoryStorage();
+        for (final String name : new String[] {"my-alpine", "library/ubuntu", "busybox"}) {
+            storage.save(
+                new Key.From(
+                    "docker", "registry", "v2", "repositories", name,
+                    "_manifests", "tags", "latest", "current", "link"
+                ),
+                new Content.From("sha256:123".getBytes())
+            ).join();
+        }
+        this.user = TestAuthentication.ALICE;
+        this.slice = new DockerSlice(
+            new AstoDocker(storage),
+            new Permissions.Single(this.user.name(), DockerSlice.READ),
+            new TestAuthentication()
+        );
+    }
+
+    @Test
+    void shouldListAllRepositories() {
+        final String json = "{\"repositories\":[\"busybox\",\"library/ubuntu\",\"my-alpine\"]}";
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.GET, "/v2/_catalog").toString(),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                new ListOf<Matcher<? super Response>>(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasBody(json.getBytes()),
+                    new RsHasHeaders(CatalogEntityGetTest.json())
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldListRepositoriesPageWithLink() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.GET, "/v2/_catalog?n=1&last=busybox").toString(),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                new ListOf<Matcher<? super Response>>(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasBody("{\"repositories\":[\"library/ubuntu\"]}".getBytes()),
+                    new RsHasHeaders(
+                        CatalogEntityGetTest.json(),
+                        new Header(
+                            "Link", "</v2/_catalog?n=1&last=library/ubuntu>; rel=\"next\""
+                        )
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldReturnUnauthorizedWhenNoAuth() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.GET, "/v2/_catalog").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new IsUnauthorizedResponse()
+        );
+    }
+
+    private static Header json() {
+        return new Header("Content-Type", "application/json; charset=utf-8");
+    }
+}
@@ -26,6 +26,7 @@ package com.artipie.docker.http;
 import com.artipie.asto.Content;
 import com.artipie.asto.ext.PublisherAs;
 import com.artipie.docker.error.InvalidRepoNameException;
+import com.artipie.docker.error.ReadOnlyException;
 import com.artipie.docker.proxy.AuthClientSlice;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
@@ -40,6 +41,7 @@ import com.artipie.http.rs.StandardRs;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
@@ -153,6 +155,22 @@ class ErrorHandlingSliceTest {
         );
     }
 
+    @Test
+    void shouldHandleReadOnlyException() {
+        MatcherAssert.assertThat(
+            new ErrorHandlingSlice(
+                (line, headers, body) -> connection -> CompletableFuture.failedFuture(
+                    new CompletionException(new ReadOnlyException("read-only"))
+                )
+            ).response(
+                new RequestLine(RqMethod.DELETE, "/").toString(),
+                Headers.EMPTY,
+                Flowable.empty()
+            ),
+            new IsErrorsResponse(RsStatus.METHOD_NOT_ALLOWED, "UNSUPPORTED")
+        );
+    }
+
     @Test
     void shouldPassSliceError() {
         final RuntimeException exception = new IllegalStateException();
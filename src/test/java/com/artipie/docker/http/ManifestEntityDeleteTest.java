@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Docker;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.TrustedBlobSource;
+import com.artipie.docker.asto.AstoBlobs;
+import com.artipie.docker.asto.AstoDocker;
+import com.artipie.docker.manifest.Manifest;
+import com.artipie.docker.ref.ManifestRef;
+import com.artipie.http.auth.Permissions;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.ResponseMatcher;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.util.Collections;
+import javax.json.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DockerSlice}.
+ * Manifest DELETE endpoint.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (2 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ManifestEntityDeleteTest {
+
+    /**
+     * Docker used in tests.
+     */
+    private Docker docker;
+
+    /**
+     * Slice being tested.
+     */
+    private DockerSlice slice;
+
+    /**
+     * User with right permissions.
+     */
+    private TestAuthentication.User user;
+
+    @BeforeEach
+    void setUp() {
+        final Storage storage = new InMemoryStorage();
+        final Blob config = new AstoBlobs(storage)
+            .put(new TrustedBlobSource("config".getBytes()))
+            .toCompletableFuture().join();
+        this.docker = new AstoDocker(storage);
+        this.docker.repo(new RepoName.Simple("my-alpine")).manifests().put(
+            new ManifestRef.FromTag(new Tag.Valid("1")),
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add(
+                        "config",
+                        Json.createObjectBuilder().add("digest", config.digest().string())
+                    )
+                    .add("layers", Json.createArrayBuilder())
+                    .build().toString().getBytes()
+            )
+        ).toCompletableFuture().join();
+        this.user = TestAuthentication.ALICE;
+        this.slice = new DockerSlice(
+            this.docker,
+            new Permissions.Single(this.user.name(), DockerSlice.WRITE),
+            new TestAuthentication()
+        );
+    }
+
+    @Test
+    void shouldDeleteManifestByTag() {
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("1"));
+        final Manifest manifest = this.docker.repo(new RepoName.Simple("my-alpine"))
+            .manifests().get(ref).toCompletableFuture().join().orElseThrow();
+        MatcherAssert.assertThat(
+            "Returns 202 status",
+            this.slice.response(
+                new RequestLine(RqMethod.DELETE, "/v2/my-alpine/manifests/1").toString(),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new ResponseMatcher(RsStatus.ACCEPTED, new Header("Content-Length", "0"))
+        );
+        MatcherAssert.assertThat(
+            "Tag is deleted",
+            this.exists(ref),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Revision is kept",
+            this.exists(new ManifestRef.FromDigest(manifest.digest())),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldDeleteManifestByDigest() {
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("1"));
+        final Manifest manifest = this.docker.repo(new RepoName.Simple("my-alpine"))
+            .manifests().get(ref).toCompletableFuture().join().orElseThrow();
+        MatcherAssert.assertThat(
+            "Returns 202 status",
+            this.slice.response(
+                new RequestLine(
+                    RqMethod.DELETE,
+                    String.format("/v2/my-alpine/manifests/%s", manifest.digest().string())
+                ).toString(),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new ResponseMatcher(RsStatus.ACCEPTED, new Header("Content-Length", "0"))
+        );
+        MatcherAssert.assertThat(
+            "Revision is deleted",
+            this.exists(new ManifestRef.FromDigest(manifest.digest())),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Tag is deleted",
+            this.exists(ref),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownManifest() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.DELETE, "/v2/my-alpine/manifests/2").toString(),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new IsErrorsResponse(RsStatus.NOT_FOUND, "MANIFEST_UNKNOWN")
+        );
+    }
+
+    @Test
+    void shouldReturnUnauthorizedWhenNoAuth() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.DELETE, "/v2/my-alpine/manifests/1").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new IsUnauthorizedResponse()
+        );
+    }
+
+    private boolean exists(final ManifestRef ref) {
+        return this.docker.repo(new RepoName.Simple("my-alpine")).manifests().get(ref)
+            .toCompletableFuture().join().isPresent();
+    }
+}
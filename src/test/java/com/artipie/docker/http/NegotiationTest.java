@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.TrustedBlobSource;
+import com.artipie.docker.asto.AstoBlobs;
+import com.artipie.docker.asto.AstoManifests;
+import com.artipie.docker.manifest.ConversionCache;
+import com.artipie.docker.manifest.JsonManifestList;
+import com.artipie.docker.manifest.Manifest;
+import com.artipie.docker.ref.ManifestRef;
+import com.artipie.http.headers.Header;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import javax.json.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Negotiation}.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class NegotiationTest {
+
+    /**
+     * Docker image manifest type.
+     */
+    private static final String DOCKER =
+        "application/vnd.docker.distribution.manifest.v2+json";
+
+    /**
+     * OCI image manifest type.
+     */
+    private static final String OCI = "application/vnd.oci.image.manifest.v1+json";
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Repository manifests.
+     */
+    private AstoManifests manifests;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.manifests = new AstoManifests(
+            this.storage, new AstoBlobs(this.storage), new RepoName.Simple("negotiated")
+        );
+    }
+
+    @Test
+    void shouldSendAcceptedManifestAsIs() {
+        final Manifest manifest = this.manifest("as-is");
+        MatcherAssert.assertThat(
+            new Negotiation(
+                this.manifests, new ConversionCache(),
+                NegotiationTest.accept(
+                    String.format("%s, %s", NegotiationTest.OCI, NegotiationTest.DOCKER)
+                )
+            ).manifest(NegotiationTest.tag("as-is"), manifest).toCompletableFuture().join(),
+            new IsSame<>(manifest)
+        );
+    }
+
+    @Test
+    void shouldConvertWithoutRevisionAndFindByDigestOnOtherNode() {
+        final Manifest converted = new Negotiation(
+            this.manifests, new ConversionCache(),
+            NegotiationTest.accept(String.format("%s; q=0.9", NegotiationTest.OCI))
+        ).manifest(NegotiationTest.tag("converted"), this.manifest("converted"))
+            .toCompletableFuture().join();
+        final ManifestRef ref = new ManifestRef.FromDigest(converted.digest());
+        MatcherAssert.assertThat(
+            "Converts to accepted type",
+            converted.mediaType(),
+            new IsEqual<>(NegotiationTest.OCI)
+        );
+        MatcherAssert.assertThat(
+            "Stores converted manifest as revision",
+            this.manifests.get(ref).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Does not find converted manifest by digest",
+            new Negotiation(
+                this.manifests, new ConversionCache(), Collections.emptyList()
+            ).find(ref).toCompletableFuture().join().map(mnf -> mnf.digest().string()),
+            new IsEqual<>(Optional.of(converted.digest().string()))
+        );
+    }
+
+    @Test
+    void shouldNotFindConvertedWhenTagMoves() {
+        final Manifest converted = new Negotiation(
+            this.manifests, new ConversionCache(), NegotiationTest.accept(NegotiationTest.OCI)
+        ).manifest(NegotiationTest.tag("moved"), this.manifest("moved"))
+            .toCompletableFuture().join();
+        final Manifest other = this.manifest("other");
+        this.manifests.put(NegotiationTest.tag("moved"), other.content())
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new Negotiation(
+                this.manifests, new ConversionCache(), Collections.emptyList()
+            ).find(new ManifestRef.FromDigest(converted.digest()))
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldReuseConverted() {
+        final Manifest manifest = this.manifest("reused");
+        final ConversionCache cache = new ConversionCache();
+        final Iterable<Map.Entry<String, String>> headers =
+            NegotiationTest.accept(NegotiationTest.OCI);
+        final ManifestRef ref = NegotiationTest.tag("reused");
+        final Manifest first = new Negotiation(this.manifests, cache, headers)
+            .manifest(ref, manifest).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new Negotiation(this.manifests, cache, headers)
+                .manifest(ref, manifest).toCompletableFuture().join(),
+            new IsSame<>(first)
+        );
+    }
+
+    @Test
+    void shouldResolveListToPlatformManifest() {
+        final Manifest child = this.manifest("child");
+        final Manifest list = this.manifests.put(
+            NegotiationTest.tag("list"),
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add("mediaType", JsonManifestList.DOCKER)
+                    .add(
+                        "manifests",
+                        Json.createArrayBuilder().add(
+                            Json.createObjectBuilder()
+                                .add("digest", child.digest().string())
+                                .add(
+                                    "platform",
+                                    Json.createObjectBuilder()
+                                        .add("architecture", "amd64")
+                                        .add("os", "linux")
+                                )
+                        )
+                    )
+                    .build().toString().getBytes()
+            )
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new Negotiation(
+                this.manifests, new ConversionCache(),
+                NegotiationTest.accept(NegotiationTest.DOCKER)
+            ).manifest(NegotiationTest.tag("list"), list)
+                .toCompletableFuture().join().digest().string(),
+            new IsEqual<>(child.digest().string())
+        );
+    }
+
+    /**
+     * Put Docker image manifest with config blob to repository.
+     *
+     * @param conf Config blob content.
+     * @return Manifest added.
+     */
+    private Manifest manifest(final String conf) {
+        final Blob config = new AstoBlobs(this.storage)
+            .put(new TrustedBlobSource(conf.getBytes()))
+            .toCompletableFuture().join();
+        return this.manifests.put(
+            NegotiationTest.tag(conf),
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add("schemaVersion", 2)
+                    .add("mediaType", NegotiationTest.DOCKER)
+                    .add(
+                        "config",
+                        Json.createObjectBuilder()
+                            .add("mediaType", "application/vnd.docker.container.image.v1+json")
+                            .add("digest", config.digest().string())
+                    )
+                    .add("layers", Json.createArrayBuilder())
+                    .build().toString().getBytes()
+            )
+        ).toCompletableFuture().join();
+    }
+
+    /**
+     * Request headers with Accept header.
+     *
+     * @param value Accept header value.
+     * @return Request headers.
+     */
+    private static Iterable<Map.Entry<String, String>> accept(final String value) {
+        return Collections.singletonList(new Header("Accept", value));
+    }
+
+    /**
+     * Manifest reference by tag.
+     *
+     * @param tag Tag name.
+     * @return Manifest reference.
+     */
+    private static ManifestRef tag(final String tag) {
+        return new ManifestRef.FromTag(new Tag.Valid(tag));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.asto.AstoDocker;
+import com.artipie.http.Response;
+import com.artipie.http.auth.Permissions;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.util.Collections;
+import org.cactoos.list.ListOf;
+import org.hamcrest.Matcher;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.AllOf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link DockerSlice}.
+ * Tags list GET endpoint.
+ *
+ * @since 0.6
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class TagsEntityGetTest {
+
+    /**
+     * Slice being tested.
+     */
+    private DockerSlice slice;
+
+    /**
+     * User with right permissions.
+     */
+    private TestAuthentication.User user;
+
+    @BeforeEach
+    void setUp() {
+        final Storage storage = new InMemoryStorage();
+        for (final String tag : new String[] {"latest", "1.1", "1.0"}) {
+            storage.save(
+                new Key.From(
+                    "docker", "registry", "v2", "repositories", "my-alpine",
+                    "_manifests", "tags", tag, "current", "link"
+                ),
+                new Content.From("sha256:123".getBytes())
+            ).join();
+        }
+        this.user = TestAuthentication.ALICE;
+        this.slice = new DockerSlice(
+            new AstoDocker(storage),
+            new Permissions.Single(this.user.name(), DockerSlice.READ),
+            new TestAuthentication()
+        );
+    }
+
+    @Test
+    void shouldListAllTags() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.GET, "/v2/my-alpine/tags/list").toString(),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                new ListOf<Matcher<? super Response>>(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasBody(
+                        "{\"name\":\"my-alpine\",\"tags\":[\"1.0\",\"1.1\",\"latest\"]}".getBytes()
+                    ),
+                    new RsHasHeaders(TagsEntityGetTest.json())
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldListTagsPageWithLink() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.GET, "/v2/my-alpine/tags/list?n=1&last=1.0")
+                    .toString(),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                new ListOf<Matcher<? super Response>>(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasBody("{\"name\":\"my-alpine\",\"tags\":[\"1.1\"]}".getBytes()),
+                    new RsHasHeaders(
+                        TagsEntityGetTest.json(),
+                        new Header(
+                            "Link", "</v2/my-alpine/tags/list?n=1&last=1.1>; rel=\"next\""
+                        )
+                    )
+                )
+            )
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-1", "abc"})
+    void shouldReturnBadRequestForInvalidNumber(final String number) {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.GET, String.format("/v2/my-alpine/tags/list?n=%s", number))
+                    .toString(),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new IsErrorsResponse(RsStatus.BAD_REQUEST, "PAGINATION_NUMBER_INVALID")
+        );
+    }
+
+    @Test
+    void shouldReturnUnauthorizedWhenNoAuth() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(RqMethod.GET, "/v2/my-alpine/tags/list").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new IsUnauthorizedResponse()
+        );
+    }
+
+    private static Header json() {
+        return new Header("Content-Type", "application/json; charset=utf-8");
+    }
+}
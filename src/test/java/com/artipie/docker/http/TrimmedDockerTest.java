@@ -23,12 +23,19 @@
  */
 package com.artipie.docker.http;
 
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.docker.Catalog;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Layers;
 import com.artipie.docker.Manifests;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.Uploads;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.regex.Pattern;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Assertions;
@@ -46,7 +53,7 @@ class TrimmedDockerTest {
     /**
      * Fake docker.
      */
-    private static final Docker FAKE = FakeRepo::new;
+    private static final Docker FAKE = new FakeDocker();
 
     @Test
     void failsIfPrefixNotFound() {
@@ -73,6 +80,50 @@ class TrimmedDockerTest {
         );
     }
 
+    @Test
+    void addsPrefixToCatalog() {
+        MatcherAssert.assertThat(
+            new PublisherAs(
+                new TrimmedDocker(TrimmedDockerTest.FAKE, "my/prefix")
+                    .catalog(Optional.empty(), Integer.MAX_VALUE)
+                    .toCompletableFuture().join()
+                    .json()
+            ).asciiString().toCompletableFuture().join(),
+            new IsEqual<>("{\"repositories\":[\"my/prefix/one\",\"my/prefix/two/three\"]}")
+        );
+    }
+
+    @Test
+    void failsToListCatalogForPattern() {
+        Assertions.assertThrows(
+            UnsupportedOperationException.class,
+            () -> new TrimmedDocker(TrimmedDockerTest.FAKE, Pattern.compile("(.+)"))
+                .catalog(Optional.empty(), 1)
+        );
+    }
+
+    /**
+     * Fake docker.
+     * @since 0.6
+     */
+    static final class FakeDocker implements Docker {
+
+        @Override
+        public Repo repo(final RepoName name) {
+            return new FakeRepo(name);
+        }
+
+        @Override
+        public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+            return CompletableFuture.completedFuture(
+                new Catalog.From(
+                    Arrays.asList(new RepoName.Simple("one"), new RepoName.Simple("two/three")),
+                    Optional.empty()
+                )
+            );
+        }
+    }
+
     /**
      * Fake repo.
      * @since 0.4
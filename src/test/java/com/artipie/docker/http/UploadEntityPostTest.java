@@ -23,19 +23,27 @@
  */
 package com.artipie.docker.http;
 
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
 import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.TrustedBlobSource;
 import com.artipie.docker.asto.AstoDocker;
 import com.artipie.http.Response;
 import com.artipie.http.auth.Permissions;
 import com.artipie.http.hm.IsHeader;
 import com.artipie.http.hm.ResponseMatcher;
+import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsNot;
 import org.hamcrest.core.StringStartsWith;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,7 +54,7 @@ import org.junit.jupiter.api.Test;
  * Upload PUT endpoint.
  *
  * @since 0.2
- * @checkstyle ClassDataAbstractionCouplingCheck (2 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 @SuppressWarnings("PMD.AvoidDuplicateLiterals")
 class UploadEntityPostTest {
@@ -56,6 +64,11 @@ class UploadEntityPostTest {
      */
     private DockerSlice slice;
 
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
     /**
      * User with right permissions.
      */
@@ -64,8 +77,9 @@ class UploadEntityPostTest {
     @BeforeEach
     void setUp() {
         this.user = TestAuthentication.ALICE;
+        this.storage = new InMemoryStorage();
         this.slice = new DockerSlice(
-            new AstoDocker(new InMemoryStorage()),
+            new AstoDocker(this.storage),
             new Permissions.Single(this.user.name(), DockerSlice.WRITE),
             new TestAuthentication()
         );
@@ -93,6 +107,113 @@ class UploadEntityPostTest {
         );
     }
 
+    @Test
+    void shouldMountBlobFromAnotherRepository() {
+        final Digest digest = new AstoDocker(this.storage).repo(new RepoName.Simple("base"))
+            .layers().put(new TrustedBlobSource("base layer".getBytes()))
+            .toCompletableFuture().join().digest();
+        final Response response = this.slice.response(
+            new RequestLine(
+                RqMethod.POST,
+                String.format("/v2/test/blobs/uploads/?mount=%s&from=base", digest.string())
+            ).toString(),
+            this.user.headers(),
+            Flowable.empty()
+        );
+        MatcherAssert.assertThat(
+            response,
+            new ResponseMatcher(
+                RsStatus.CREATED,
+                new IsHeader(
+                    "Location",
+                    String.format("/v2/test/blobs/%s", digest.string())
+                ),
+                new IsHeader("Content-Length", "0"),
+                new IsHeader("Docker-Content-Digest", digest.string())
+            )
+        );
+    }
+
+    @Test
+    void shouldStartUploadWhenBlobToMountIsAbsent() {
+        final Response response = this.slice.response(
+            new RequestLine(
+                RqMethod.POST,
+                String.format(
+                    "/v2/test/blobs/uploads/?mount=%s&from=base",
+                    new Digest.Sha256("absent".getBytes()).string()
+                )
+            ).toString(),
+            this.user.headers(),
+            Flowable.empty()
+        );
+        MatcherAssert.assertThat(
+            response,
+            new ResponseMatcher(
+                RsStatus.ACCEPTED,
+                new IsHeader(
+                    "Location",
+                    new StringStartsWith(false, "/v2/test/blobs/uploads/")
+                ),
+                new IsHeader("Range", "0-0"),
+                new IsHeader("Content-Length", "0"),
+                new IsHeader("Docker-Upload-UUID", new IsNot<>(Matchers.emptyString()))
+            )
+        );
+    }
+
+    @Test
+    void shouldUploadBlobInSingleRequest() {
+        final byte[] data = "monolithic".getBytes();
+        final Digest digest = new Digest.Sha256(data);
+        final Response response = this.slice.response(
+            new RequestLine(
+                RqMethod.POST,
+                String.format("/v2/test/blobs/uploads/?digest=%s", digest.string())
+            ).toString(),
+            this.user.headers(),
+            Flowable.just(ByteBuffer.wrap(data))
+        );
+        MatcherAssert.assertThat(
+            "Response is not created",
+            response,
+            new ResponseMatcher(
+                RsStatus.CREATED,
+                new IsHeader(
+                    "Location",
+                    String.format("/v2/test/blobs/%s", digest.string())
+                ),
+                new IsHeader("Content-Length", "0"),
+                new IsHeader("Docker-Content-Digest", digest.string())
+            )
+        );
+        MatcherAssert.assertThat(
+            "Upload session is created",
+            this.storage.list(Key.ROOT).join().stream()
+                .map(Key::string)
+                .noneMatch(key -> key.contains("_uploads")),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldFailSingleRequestUploadWhenDigestDiffers() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(
+                    RqMethod.POST,
+                    String.format(
+                        "/v2/test/blobs/uploads/?digest=%s",
+                        new Digest.Sha256("expected".getBytes()).string()
+                    )
+                ).toString(),
+                this.user.headers(),
+                Flowable.just(ByteBuffer.wrap("actual".getBytes()))
+            ),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+    }
+
     @Test
     void shouldReturnUnauthorizedWhenNoAuth() {
         MatcherAssert.assertThat(
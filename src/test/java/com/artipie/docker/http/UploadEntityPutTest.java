@@ -24,6 +24,7 @@
 package com.artipie.docker.http;
 
 import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Docker;
@@ -124,6 +125,33 @@ class UploadEntityPutTest {
         );
     }
 
+    @Test
+    void shouldFinishUploadOfSeveralChunks() throws Exception {
+        final String name = "chunked";
+        final Upload upload = this.docker.repo(new RepoName.Valid(name)).uploads()
+            .start()
+            .toCompletableFuture().join();
+        upload.append(Flowable.just(ByteBuffer.wrap("da".getBytes())))
+            .toCompletableFuture().join();
+        upload.append(Flowable.just(ByteBuffer.wrap("ta".getBytes())))
+            .toCompletableFuture().join();
+        final String digest = new Digest.Sha256("data".getBytes()).string();
+        MatcherAssert.assertThat(
+            "Returns 201 status",
+            this.slice.response(
+                UploadEntityPutTest.requestLine(name, upload.uuid(), digest),
+                this.user.headers(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.CREATED)
+        );
+        MatcherAssert.assertThat(
+            "Puts joined chunks into storage",
+            new BlockingStorage(this.storage).value(new BlobKey(new Digest.FromString(digest))),
+            new IsEqual<>("data".getBytes())
+        );
+    }
+
     @Test
     void returnsBadRequestWhenDigestsDoNotMatch() {
         final String name = "repo";
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.manifest;
+
+import com.artipie.docker.Digest;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsSame;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ConversionCache}.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class ConversionCacheTest {
+
+    @Test
+    void shouldGetConvertedForSameTypesInAnyOrder() {
+        final ConversionCache cache = new ConversionCache();
+        final Manifest converted = new JsonManifest(new Digest.Sha256("def"), new byte[0]);
+        cache.put(new Digest.Sha256("abc"), Arrays.asList("type1", "type2"), converted);
+        MatcherAssert.assertThat(
+            cache.get(new Digest.Sha256("abc"), Arrays.asList("type2", "type1")),
+            new IsEqual<>(Optional.of(converted))
+        );
+    }
+
+    @Test
+    void shouldGetConvertedByItsDigest() {
+        final ConversionCache cache = new ConversionCache();
+        final Manifest converted = new JsonManifest(new Digest.Sha256("def"), new byte[0]);
+        cache.put(new Digest.Sha256("abc"), Arrays.asList("type"), converted);
+        final Map.Entry<Digest, Manifest> found =
+            cache.byDigest(new Digest.Sha256("def")).get();
+        MatcherAssert.assertThat(
+            "Finds original digest",
+            found.getKey().string(),
+            new IsEqual<>(new Digest.Sha256("abc").string())
+        );
+        MatcherAssert.assertThat(
+            "Finds converted manifest",
+            found.getValue(),
+            new IsSame<>(converted)
+        );
+    }
+
+    @Test
+    void shouldNotGetConvertedForOtherTypes() {
+        final ConversionCache cache = new ConversionCache();
+        cache.put(
+            new Digest.Sha256("abc"), Arrays.asList("type1"),
+            new JsonManifest(new Digest.Sha256("def"), new byte[0])
+        );
+        MatcherAssert.assertThat(
+            cache.get(new Digest.Sha256("abc"), Arrays.asList("type2")).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldEvictWhenFull() {
+        final ConversionCache cache = new ConversionCache(1);
+        cache.put(
+            new Digest.Sha256("one"), Arrays.asList("type"),
+            new JsonManifest(new Digest.Sha256("def"), new byte[0])
+        );
+        cache.put(
+            new Digest.Sha256("two"), Arrays.asList("type"),
+            new JsonManifest(new Digest.Sha256("def"), new byte[0])
+        );
+        MatcherAssert.assertThat(
+            cache.get(new Digest.Sha256("one"), Arrays.asList("type")).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+}
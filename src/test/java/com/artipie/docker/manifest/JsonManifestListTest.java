@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.manifest;
+
+import com.artipie.docker.Digest;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link JsonManifestList}.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class JsonManifestListTest {
+
+    @Test
+    void shouldReadMediaType() {
+        MatcherAssert.assertThat(
+            new JsonManifestList(
+                new Digest.Sha256("123"),
+                Json.createObjectBuilder()
+                    .add("mediaType", JsonManifestList.DOCKER)
+                    .add("manifests", Json.createArrayBuilder())
+                    .build().toString().getBytes()
+            ).mediaType(),
+            new IsEqual<>(JsonManifestList.DOCKER)
+        );
+    }
+
+    @Test
+    void shouldReadOciIndexTypeByDefault() {
+        MatcherAssert.assertThat(
+            new JsonManifestList(
+                new Digest.Sha256("123"),
+                "{\"schemaVersion\":2,\"manifests\":[]}".getBytes()
+            ).mediaType(),
+            new IsEqual<>(JsonManifestList.OCI)
+        );
+    }
+
+    @Test
+    void shouldReadChildManifests() {
+        final Manifest list = new JsonManifestList(
+            new Digest.Sha256("123"),
+            Json.createObjectBuilder()
+                .add("mediaType", JsonManifestList.DOCKER)
+                .add(
+                    "manifests",
+                    Json.createArrayBuilder()
+                        .add(
+                            Json.createObjectBuilder()
+                                .add("digest", "sha256:aaa")
+                                .add(
+                                    "platform",
+                                    Json.createObjectBuilder()
+                                        .add("architecture", "amd64")
+                                        .add("os", "linux")
+                                )
+                        )
+                        .add(
+                            Json.createObjectBuilder()
+                                .add("digest", "sha256:bbb")
+                                .add(
+                                    "platform",
+                                    Json.createObjectBuilder()
+                                        .add("architecture", "arm64")
+                                        .add("os", "linux")
+                                        .add("variant", "v8")
+                                )
+                        )
+                        .add(Json.createObjectBuilder().add("digest", "sha256:ccc"))
+                )
+                .build().toString().getBytes()
+        );
+        MatcherAssert.assertThat(
+            "Reads digests",
+            list.manifests().stream()
+                .map(ChildManifest::digest).map(Digest::string)
+                .collect(Collectors.toList()),
+            Matchers.contains("sha256:aaa", "sha256:bbb", "sha256:ccc")
+        );
+        MatcherAssert.assertThat(
+            "Reads platforms",
+            list.manifests().stream()
+                .map(ChildManifest::platform)
+                .collect(Collectors.toList()),
+            Matchers.contains(
+                Optional.of("linux/amd64"), Optional.of("linux/arm64/v8"), Optional.empty()
+            )
+        );
+    }
+
+    @Test
+    void shouldConvertToOciIndex() {
+        final Manifest converted = new JsonManifestList(
+            new Digest.Sha256("123"),
+            Json.createObjectBuilder()
+                .add("mediaType", JsonManifestList.DOCKER)
+                .add(
+                    "manifests",
+                    Json.createArrayBuilder().add(
+                        Json.createObjectBuilder().add("digest", "sha256:aaa")
+                    )
+                )
+                .build().toString().getBytes()
+        ).convert(Collections.singleton(JsonManifestList.OCI));
+        MatcherAssert.assertThat(
+            "Converts manifest type",
+            converted.mediaType(),
+            new IsEqual<>(JsonManifestList.OCI)
+        );
+        MatcherAssert.assertThat(
+            "Keeps child manifests",
+            converted.manifests().iterator().next().digest().string(),
+            new IsEqual<>("sha256:aaa")
+        );
+    }
+
+    @Test
+    void shouldHaveNoLayers() {
+        MatcherAssert.assertThat(
+            new JsonManifestList(
+                new Digest.Sha256("123"), "{\"manifests\":[]}".getBytes()
+            ).layers(),
+            Matchers.emptyIterable()
+        );
+    }
+
+    @Test
+    void shouldFailReadConfig() {
+        final Manifest list = new JsonManifestList(
+            new Digest.Sha256("123"), "{\"manifests\":[]}".getBytes()
+        );
+        Assertions.assertThrows(UnsupportedOperationException.class, list::config);
+    }
+
+    @Test
+    void shouldFailConvertToUnknownType() {
+        final Manifest list = new JsonManifestList(
+            new Digest.Sha256("123"), "{\"manifests\":[]}".getBytes()
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> list.convert(Collections.singleton("application/vnd.unknown+json"))
+        );
+    }
+}
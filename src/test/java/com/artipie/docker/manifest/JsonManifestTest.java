@@ -35,6 +35,7 @@ import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsIterableContaining;
+import org.hamcrest.core.IsSame;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -44,7 +45,7 @@ import org.junit.jupiter.api.Test;
  * @since 0.2
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
-@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
 class JsonManifestTest {
 
     @Test
@@ -83,6 +84,85 @@ class JsonManifestTest {
         );
     }
 
+    @Test
+    void shouldConvertDockerToOci() {
+        final JsonManifest manifest = new JsonManifest(
+            new Digest.Sha256("123"),
+            Json.createObjectBuilder()
+                .add("schemaVersion", 2)
+                .add("mediaType", "application/vnd.docker.distribution.manifest.v2+json")
+                .add(
+                    "config",
+                    Json.createObjectBuilder()
+                        .add("mediaType", "application/vnd.docker.container.image.v1+json")
+                        .add("digest", "sha256:abc")
+                )
+                .add(
+                    "layers",
+                    Json.createArrayBuilder().add(
+                        Json.createObjectBuilder()
+                            .add("mediaType", "application/vnd.docker.image.rootfs.diff.tar.gzip")
+                            .add("digest", "sha256:def")
+                    )
+                )
+                .build().toString().getBytes()
+        );
+        final Manifest converted = manifest.convert(
+            Collections.singleton("application/vnd.oci.image.manifest.v1+json")
+        );
+        final byte[] content = new PublisherAs(converted.content()).bytes()
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Converts manifest type",
+            converted.mediaType(),
+            new IsEqual<>("application/vnd.oci.image.manifest.v1+json")
+        );
+        MatcherAssert.assertThat(
+            "Converts descriptors types",
+            new String(content),
+            Matchers.allOf(
+                Matchers.containsString("application/vnd.oci.image.config.v1+json"),
+                Matchers.containsString("application/vnd.oci.image.layer.v1.tar+gzip")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Keeps referenced blobs",
+            Stream.concat(
+                Stream.of(converted.config()),
+                converted.layers().stream().map(Layer::digest)
+            ).map(Digest::string).collect(Collectors.toList()),
+            Matchers.contains("sha256:abc", "sha256:def")
+        );
+        MatcherAssert.assertThat(
+            "Addresses converted content by digest",
+            converted.digest().string(),
+            new IsEqual<>(new Digest.Sha256(content).string())
+        );
+    }
+
+    @Test
+    void shouldConvertOciToDocker() {
+        final JsonManifest manifest = new JsonManifest(
+            new Digest.Sha256("123"),
+            Json.createObjectBuilder()
+                .add("mediaType", "application/vnd.oci.image.manifest.v1+json")
+                .add(
+                    "config",
+                    Json.createObjectBuilder()
+                        .add("mediaType", "application/vnd.oci.image.config.v1+json")
+                        .add("digest", "sha256:abc")
+                )
+                .add("layers", Json.createArrayBuilder())
+                .build().toString().getBytes()
+        );
+        MatcherAssert.assertThat(
+            manifest.convert(
+                Arrays.asList("application/vnd.docker.distribution.manifest.v2+json")
+            ).mediaType(),
+            new IsEqual<>("application/vnd.docker.distribution.manifest.v2+json")
+        );
+    }
+
     @Test
     void shouldReadConfig() {
         final String digest = "sha256:def";
@@ -122,6 +202,23 @@ class JsonManifestTest {
         );
     }
 
+    @Test
+    void shouldReuseLayersParsedOnce() {
+        final JsonManifest manifest = new JsonManifest(
+            new Digest.Sha256("123"),
+            Json.createObjectBuilder().add(
+                "layers",
+                Json.createArrayBuilder().add(
+                    Json.createObjectBuilder().add("digest", "sha256:def")
+                )
+            ).build().toString().getBytes()
+        );
+        MatcherAssert.assertThat(
+            manifest.layers(),
+            new IsSame<>(manifest.layers())
+        );
+    }
+
     @Test
     void shouldReadLayerUrls() throws Exception {
         final String url = "https://artipie.com/";
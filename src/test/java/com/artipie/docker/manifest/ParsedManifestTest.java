@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.manifest;
+
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.docker.Digest;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ParsedManifest}.
+ *
+ * @since 0.6
+ */
+class ParsedManifestTest {
+
+    @Test
+    void shouldParseImageManifest() {
+        final Manifest manifest = new ParsedManifest(
+            new Digest.Sha256("123"),
+            "{\"config\":{\"digest\":\"sha256:abc\"},\"layers\":[]}".getBytes()
+        );
+        MatcherAssert.assertThat(
+            "Reads config",
+            manifest.config().string(),
+            new IsEqual<>("sha256:abc")
+        );
+        MatcherAssert.assertThat(
+            "Has no child manifests",
+            manifest.manifests(),
+            Matchers.emptyIterable()
+        );
+    }
+
+    @Test
+    void shouldParseManifestList() {
+        final byte[] json = "{\"manifests\":[{\"digest\":\"sha256:def\"}]}".getBytes();
+        final Manifest manifest = new ParsedManifest(new Digest.Sha256("456"), json);
+        MatcherAssert.assertThat(
+            "Reads child manifests",
+            manifest.manifests().iterator().next().digest().string(),
+            new IsEqual<>("sha256:def")
+        );
+        MatcherAssert.assertThat(
+            "Keeps content",
+            new PublisherAs(manifest.content()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(json)
+        );
+    }
+}
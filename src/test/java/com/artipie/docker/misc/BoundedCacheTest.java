@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BoundedCache}.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class BoundedCacheTest {
+
+    @Test
+    void shouldReturnCachedValue() {
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("one", 1);
+        MatcherAssert.assertThat(cache.get("one"), new IsEqual<>(Optional.of(1)));
+    }
+
+    @Test
+    void shouldForgetRemovedValue() {
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("removed", 1);
+        cache.remove("removed");
+        MatcherAssert.assertThat(cache.get("removed").isPresent(), new IsEqual<>(false));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() {
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("used", 1);
+        cache.put("unused", 2);
+        cache.get("used");
+        cache.put("new", 0);
+        MatcherAssert.assertThat(
+            "Unused value is not evicted",
+            cache.get("unused").isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Recently used value is evicted",
+            cache.get("used"),
+            new IsEqual<>(Optional.of(1))
+        );
+    }
+}
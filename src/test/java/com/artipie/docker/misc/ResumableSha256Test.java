@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link ResumableSha256}.
+ * @since 0.6
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class ResumableSha256Test {
+
+    @Test
+    void calculatesDigestOfEmptyData() {
+        MatcherAssert.assertThat(
+            new ResumableSha256().digest().hex(),
+            new IsEqual<>(DigestUtils.sha256Hex(new byte[0]))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 55, 56, 63, 64, 65, 127, 128, 1000, 100_000})
+    void calculatesDigestOfData(final int size) {
+        final byte[] data = ResumableSha256Test.random(size);
+        final ResumableSha256 sha = new ResumableSha256();
+        sha.update(ByteBuffer.wrap(data));
+        MatcherAssert.assertThat(
+            sha.digest().hex(),
+            new IsEqual<>(DigestUtils.sha256Hex(data))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 33, 64, 100, 4097})
+    void calculatesDigestAfterStateRestored(final int split) {
+        final byte[] data = ResumableSha256Test.random(5000);
+        final ResumableSha256 first = new ResumableSha256();
+        first.update(ByteBuffer.wrap(data, 0, split));
+        final ResumableSha256 second = new ResumableSha256(first.state());
+        second.update(ByteBuffer.wrap(data, split, data.length - split));
+        MatcherAssert.assertThat(
+            second.digest().hex(),
+            new IsEqual<>(DigestUtils.sha256Hex(data))
+        );
+    }
+
+    @Test
+    void doesNotChangeStateOnDigest() {
+        final ResumableSha256 sha = new ResumableSha256();
+        sha.update(ByteBuffer.wrap("abc".getBytes()));
+        sha.digest();
+        sha.update(ByteBuffer.wrap("def".getBytes()));
+        MatcherAssert.assertThat(
+            sha.digest().hex(),
+            new IsEqual<>(DigestUtils.sha256Hex("abcdef"))
+        );
+    }
+
+    @Test
+    void doesNotChangeBufferPosition() {
+        final ByteBuffer buf = ByteBuffer.wrap("some data".getBytes());
+        new ResumableSha256().update(buf);
+        MatcherAssert.assertThat(buf.position(), new IsEqual<>(0));
+    }
+
+    @Test
+    void countsLength() {
+        final ResumableSha256 sha = new ResumableSha256();
+        sha.update(ByteBuffer.wrap(ResumableSha256Test.random(70)));
+        sha.update(ByteBuffer.wrap(ResumableSha256Test.random(30)));
+        MatcherAssert.assertThat(sha.length(), new IsEqual<>(100L));
+    }
+
+    /**
+     * Generate random bytes.
+     *
+     * @param size Number of bytes.
+     * @return Bytes.
+     */
+    private static byte[] random(final int size) {
+        final byte[] data = new byte[size];
+        new Random().nextBytes(data);
+        return data;
+    }
+}
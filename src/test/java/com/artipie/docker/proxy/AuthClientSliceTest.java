@@ -25,16 +25,27 @@ package com.artipie.docker.proxy;
 
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.client.ClientSlices;
 import com.artipie.http.client.jetty.JettyClientSlices;
 import com.artipie.http.headers.Header;
+import com.artipie.http.headers.WwwAuthenticate;
 import com.artipie.http.hm.ResponseMatcher;
+import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
 import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsFull;
 import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -43,8 +54,19 @@ import org.junit.jupiter.api.Test;
  * @since 0.3
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 class AuthClientSliceTest {
 
+    /**
+     * Authentication challenge of remote registry.
+     */
+    private static final String CHALLENGE = String.join(
+        ",",
+        "Bearer realm=\"https://auth.docker.io/token\"",
+        "service=\"registry.docker.io\"",
+        "scope=\"repository:library/busybox:pull\""
+    );
+
     @Test
     void shouldNotModifyRequestAndResponseIfNoAuthRequired() {
         final String line = new RequestLine(RqMethod.GET, "/file.txt").toString();
@@ -65,4 +87,159 @@ class AuthClientSliceTest {
             new ResponseMatcher(status, body, header)
         );
     }
+
+    @Test
+    void shouldAuthorizeUpFrontWithCachedToken() {
+        final AtomicInteger requests = new AtomicInteger();
+        final AtomicInteger tokens = new AtomicInteger();
+        final Slice slice = new AuthClientSlice(
+            new FakeClientSlices(tokens, "{\"token\":\"abc\",\"expires_in\":300}"),
+            AuthClientSliceTest.registry(requests, "Bearer abc")
+        );
+        for (final String path : new String[] {"manifests/latest", "blobs/sha256:123"}) {
+            MatcherAssert.assertThat(
+                slice.response(
+                    new RequestLine(
+                        RqMethod.GET, String.format("/v2/library/busybox/%s", path)
+                    ).toString(),
+                    Headers.EMPTY,
+                    Flowable.empty()
+                ),
+                new RsHasStatus(RsStatus.OK)
+            );
+        }
+        MatcherAssert.assertThat(
+            "Requests token once",
+            tokens.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Sends second request to registry once",
+            requests.get(),
+            // @checkstyle MagicNumberCheck (1 line)
+            new IsEqual<>(3)
+        );
+    }
+
+    @Test
+    void shouldRefreshExpiringToken() {
+        final AtomicInteger requests = new AtomicInteger();
+        final AtomicInteger tokens = new AtomicInteger();
+        final Slice slice = new AuthClientSlice(
+            new FakeClientSlices(
+                tokens,
+                "{\"token\":\"xyz\",\"expires_in\":60,\"issued_at\":\"2020-01-01T00:00:00Z\"}"
+            ),
+            AuthClientSliceTest.registry(requests, "Bearer xyz")
+        );
+        for (int idx = 0; idx < 2; idx += 1) {
+            slice.response(
+                new RequestLine(RqMethod.GET, "/v2/library/busybox/manifests/1").toString(),
+                Headers.EMPTY,
+                Flowable.empty()
+            ).send((status, headers, body) -> CompletableFuture.allOf())
+                .toCompletableFuture().join();
+        }
+        MatcherAssert.assertThat(
+            "Requests token for each request",
+            tokens.get(),
+            new IsEqual<>(2)
+        );
+        MatcherAssert.assertThat(
+            "Authorizes second request up front",
+            requests.get(),
+            // @checkstyle MagicNumberCheck (1 line)
+            new IsEqual<>(3)
+        );
+    }
+
+    /**
+     * Remote registry requiring authorization.
+     *
+     * @param requests Requests counter.
+     * @param authorization Expected Authorization header value.
+     * @return Registry slice.
+     */
+    private static Slice registry(final AtomicInteger requests, final String authorization) {
+        return (line, headers, body) -> {
+            requests.incrementAndGet();
+            final Response res;
+            if (new RqHeaders(headers, "Authorization").contains(authorization)) {
+                res = new RsWithStatus(RsStatus.OK);
+            } else {
+                res = new RsWithHeaders(
+                    new RsWithStatus(RsStatus.UNAUTHORIZED),
+                    new WwwAuthenticate(AuthClientSliceTest.CHALLENGE)
+                );
+            }
+            return res;
+        };
+    }
+
+    /**
+     * Client slices serving tokens for any host.
+     *
+     * @since 0.6
+     */
+    private static final class FakeClientSlices implements ClientSlices {
+
+        /**
+         * Token requests counter.
+         */
+        private final AtomicInteger tokens;
+
+        /**
+         * Token response.
+         */
+        private final String response;
+
+        /**
+         * Ctor.
+         *
+         * @param tokens Token requests counter.
+         * @param response Token response.
+         */
+        FakeClientSlices(final AtomicInteger tokens, final String response) {
+            this.tokens = tokens;
+            this.response = response;
+        }
+
+        @Override
+        public Slice http(final String host) {
+            return this.slice();
+        }
+
+        @Override
+        public Slice http(final String host, final int port) {
+            return this.slice();
+        }
+
+        @Override
+        public Slice https(final String host) {
+            return this.slice();
+        }
+
+        @Override
+        public Slice https(final String host, final int port) {
+            return this.slice();
+        }
+
+        /**
+         * Slice responding with token.
+         *
+         * @return Slice.
+         */
+        private Slice slice() {
+            return (line, headers, body) -> {
+                this.tokens.incrementAndGet();
+                return new RsFull(
+                    RsStatus.OK,
+                    Headers.EMPTY,
+                    Flowable.just(
+                        ByteBuffer.wrap(this.response.getBytes(StandardCharsets.UTF_8))
+                    )
+                );
+            };
+        }
+    }
 }
@@ -23,18 +23,29 @@
  */
 package com.artipie.docker.proxy;
 
+import com.artipie.asto.Content;
+import com.artipie.asto.ext.PublisherAs;
 import com.artipie.docker.Blob;
 import com.artipie.docker.Digest;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.error.ReadOnlyException;
 import com.artipie.http.Headers;
+import com.artipie.http.Response;
 import com.artipie.http.headers.ContentLength;
 import com.artipie.http.rs.RsFull;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithStatus;
 import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -43,6 +54,7 @@ import org.junit.jupiter.api.Test;
  * @since 0.3
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 class ProxyLayersTest {
 
     @Test
@@ -88,4 +100,158 @@ class ProxyLayersTest {
         ).get(new Digest.FromString(digest)).toCompletableFuture().join();
         MatcherAssert.assertThat(found.isEmpty(), new IsEqual<>(true));
     }
+
+    @Test
+    void shouldFailDeleteAsReadOnly() {
+        final CompletionException thrown = Assertions.assertThrows(
+            CompletionException.class,
+            () -> new ProxyLayers(
+                (line, headers, body) -> {
+                    throw new IllegalStateException("No request expected");
+                },
+                new RepoName.Valid("read-only")
+            ).delete(new Digest.FromString("sha256:123")).toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            thrown.getCause(),
+            new IsInstanceOf(ReadOnlyException.class)
+        );
+    }
+
+    @Test
+    void shouldPullBlobWithSingleRequest() {
+        final byte[] data = "data".getBytes();
+        final String digest = "sha256:456";
+        final AtomicInteger requests = new AtomicInteger();
+        final Blob blob = new ProxyLayers(
+            (line, headers, body) -> {
+                requests.incrementAndGet();
+                if (!line.startsWith(String.format("GET /v2/test/blobs/%s ", digest))) {
+                    throw new IllegalArgumentException();
+                }
+                return new RsFull(
+                    RsStatus.OK,
+                    new Headers.From(new ContentLength(String.valueOf(data.length))),
+                    Flowable.just(ByteBuffer.wrap(data))
+                );
+            },
+            new RepoName.Valid("test")
+        ).pull(new Digest.FromString(digest)).toCompletableFuture().join().get();
+        MatcherAssert.assertThat(
+            "Has size",
+            blob.size().toCompletableFuture().join(),
+            new IsEqual<>((long) data.length)
+        );
+        MatcherAssert.assertThat(
+            "Has content",
+            blob.content().thenCompose(content -> new PublisherAs(content).bytes())
+                .toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            "Sends single request",
+            requests.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldPullChunkedBlobWithSingleRequest() {
+        final byte[] data = "chunked".getBytes();
+        final AtomicInteger requests = new AtomicInteger();
+        final Content content = new ProxyLayers(
+            (line, headers, body) -> {
+                requests.incrementAndGet();
+                return new RsFull(
+                    RsStatus.OK, Headers.EMPTY, Flowable.just(ByteBuffer.wrap(data))
+                );
+            },
+            new RepoName.Valid("test")
+        ).pull(new Digest.FromString("sha256:789")).toCompletableFuture().join().get()
+            .content().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Content is not received",
+            new PublisherAs(content).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            "Size is known",
+            content.size().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Sends more than one request",
+            requests.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldRequestUnknownSizeByHead() {
+        final long size = 123L;
+        final Blob blob = new ProxyLayers(
+            (line, headers, body) -> {
+                final Response res;
+                if (line.startsWith("HEAD ")) {
+                    res = new RsFull(
+                        RsStatus.OK,
+                        new Headers.From(new ContentLength(String.valueOf(size))),
+                        Flowable.empty()
+                    );
+                } else {
+                    res = new RsFull(RsStatus.OK, Headers.EMPTY, Flowable.empty());
+                }
+                return res;
+            },
+            new RepoName.Valid("test")
+        ).pull(new Digest.FromString("sha256:456")).toCompletableFuture().join().get();
+        MatcherAssert.assertThat(
+            blob.size().toCompletableFuture().join(),
+            new IsEqual<>(size)
+        );
+    }
+
+    @Test
+    void shouldReleaseConnectionWhenContentIsCancelled() {
+        final byte[] data = "part".getBytes();
+        final AtomicReference<CompletionStage<Void>> released = new AtomicReference<>();
+        final Blob blob = new ProxyLayers(
+            (line, headers, body) -> connection -> {
+                final CompletionStage<Void> sent = connection.accept(
+                    RsStatus.OK,
+                    new Headers.From(new ContentLength(String.valueOf(data.length * 2))),
+                    Flowable.just(ByteBuffer.wrap(data), ByteBuffer.wrap(data))
+                );
+                released.set(sent);
+                return sent;
+            },
+            new RepoName.Valid("test")
+        ).pull(new Digest.FromString("sha256:cancel")).toCompletableFuture().join().get();
+        Flowable.fromPublisher(blob.content().toCompletableFuture().join())
+            .take(1)
+            .blockingSubscribe();
+        MatcherAssert.assertThat(
+            released.get().toCompletableFuture().isDone(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldPullEmptyWhenNotFound() {
+        final String digest = "sha256:def";
+        final Optional<Blob> found = new ProxyLayers(
+            (line, headers, body) -> {
+                if (!line.startsWith(String.format("GET /v2/test/blobs/%s ", digest))) {
+                    throw new IllegalArgumentException();
+                }
+                return new RsFull(
+                    RsStatus.NOT_FOUND,
+                    Headers.EMPTY,
+                    Flowable.just(ByteBuffer.wrap("{}".getBytes()))
+                );
+            },
+            new RepoName.Valid("test")
+        ).pull(new Digest.FromString(digest)).toCompletableFuture().join();
+        MatcherAssert.assertThat(found.isEmpty(), new IsEqual<>(true));
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.proxy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TokenCache}.
+ *
+ * @since 0.6
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class TokenCacheTest {
+
+    @Test
+    void shouldRequestTokenOnceForConcurrentCallers() {
+        final TokenCache cache = new TokenCache();
+        final AtomicInteger requests = new AtomicInteger();
+        final CompletableFuture<TokenResponse> response = new CompletableFuture<>();
+        final Supplier<CompletionStage<TokenResponse>> request = () -> {
+            requests.incrementAndGet();
+            return response;
+        };
+        final CompletableFuture<String> first = cache.token("scope", request)
+            .toCompletableFuture();
+        final CompletableFuture<String> second = cache.token("scope", request)
+            .toCompletableFuture();
+        response.complete(new TokenResponse("{\"token\":\"shared\"}".getBytes()));
+        MatcherAssert.assertThat(
+            "Requests token once",
+            requests.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Shares token with all callers",
+            new String[] {first.join(), second.join()},
+            new IsEqual<>(new String[] {"shared", "shared"})
+        );
+    }
+
+    @Test
+    void shouldUseCachedToken() {
+        final TokenCache cache = new TokenCache();
+        final AtomicInteger requests = new AtomicInteger();
+        final Supplier<CompletionStage<TokenResponse>> request = () -> {
+            requests.incrementAndGet();
+            return CompletableFuture.completedFuture(
+                new TokenResponse("{\"token\":\"cached\"}".getBytes())
+            );
+        };
+        cache.token("cached", request).toCompletableFuture().join();
+        cache.token("cached", request).toCompletableFuture().join();
+        MatcherAssert.assertThat(requests.get(), new IsEqual<>(1));
+    }
+
+    @Test
+    void shouldRequestAgainAfterFailure() {
+        final TokenCache cache = new TokenCache();
+        final AtomicInteger requests = new AtomicInteger();
+        final Supplier<CompletionStage<TokenResponse>> request = () -> {
+            final CompletionStage<TokenResponse> res;
+            if (requests.incrementAndGet() == 1) {
+                res = CompletableFuture.failedFuture(new IllegalStateException("failed"));
+            } else {
+                res = CompletableFuture.completedFuture(
+                    new TokenResponse("{\"token\":\"retried\"}".getBytes())
+                );
+            }
+            return res;
+        };
+        cache.token("failed", request).toCompletableFuture()
+            .handle((token, err) -> token).join();
+        MatcherAssert.assertThat(
+            cache.token("failed", request).toCompletableFuture().join(),
+            new IsEqual<>("retried")
+        );
+    }
+
+    @Test
+    void shouldRequestAgainAfterEviction() {
+        final TokenCache cache = new TokenCache();
+        final AtomicInteger requests = new AtomicInteger();
+        final Supplier<CompletionStage<TokenResponse>> request = () -> CompletableFuture
+            .completedFuture(
+                new TokenResponse(
+                    String.format("{\"token\":\"t%d\"}", requests.incrementAndGet()).getBytes()
+                )
+            );
+        cache.token("evicted", request).toCompletableFuture().join();
+        cache.evict("evicted", "t1");
+        MatcherAssert.assertThat(
+            cache.token("evicted", request).toCompletableFuture().join(),
+            new IsEqual<>("t2")
+        );
+    }
+
+    @Test
+    void shouldKeepReplacedTokenOnEviction() {
+        final TokenCache cache = new TokenCache();
+        cache.token(
+            "replaced",
+            () -> CompletableFuture.completedFuture(
+                new TokenResponse("{\"token\":\"new\"}".getBytes())
+            )
+        ).toCompletableFuture().join();
+        cache.evict("replaced", "old");
+        MatcherAssert.assertThat(
+            cache.token(
+                "replaced",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("requested"))
+            ).toCompletableFuture().join(),
+            new IsEqual<>("new")
+        );
+    }
+
+    @Test
+    void shouldKeepLimitedNumberOfChallenges() {
+        final TokenCache cache = new TokenCache(1);
+        cache.remember("/v2/first", "Bearer realm=\"first\"");
+        cache.remember("/v2/second", "Bearer realm=\"second\"");
+        MatcherAssert.assertThat(
+            "Keeps least recently used challenge",
+            cache.challenge("/v2/first").isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Does not keep recent challenge",
+            cache.challenge("/v2/second").isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+}
@@ -23,6 +23,9 @@
  */
 package com.artipie.docker.proxy;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Test;
@@ -41,4 +44,43 @@ class TokenResponseTest {
             new IsEqual<>("a.B.c")
         );
     }
+
+    @Test
+    void shouldReadExpiresIn() {
+        MatcherAssert.assertThat(
+            new TokenResponse("{\"token\": \"t\", \"expires_in\": 300}".getBytes())
+                .expiresIn(),
+            // @checkstyle MagicNumberCheck (1 line)
+            new IsEqual<>(Duration.ofMinutes(5))
+        );
+    }
+
+    @Test
+    void shouldDefaultExpiresIn() {
+        MatcherAssert.assertThat(
+            new TokenResponse("{\"token\": \"t\"}".getBytes()).expiresIn(),
+            new IsEqual<>(Duration.ofMinutes(1))
+        );
+    }
+
+    @Test
+    void shouldReadIssuedAt() {
+        MatcherAssert.assertThat(
+            new TokenResponse(
+                "{\"token\": \"t\", \"issued_at\": \"2020-08-17T10:15:30.5+01:00\"}"
+                    .getBytes()
+            ).issuedAt(),
+            new IsEqual<>(Optional.of(Instant.parse("2020-08-17T09:15:30.5Z")))
+        );
+    }
+
+    @Test
+    void shouldIgnoreMalformedIssuedAt() {
+        MatcherAssert.assertThat(
+            new TokenResponse("{\"token\": \"t\", \"issued_at\": \"today\"}".getBytes())
+                .issuedAt()
+                .isPresent(),
+            new IsEqual<>(false)
+        );
+    }
 }